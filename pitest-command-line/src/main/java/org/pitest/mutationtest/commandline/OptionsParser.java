@@ -28,6 +28,7 @@ import static org.pitest.mutationtest.config.ConfigOption.EXPORT_LINE_COVERAGE;
 import static org.pitest.mutationtest.config.ConfigOption.FAIL_WHEN_NOT_MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.FEATURES;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_INPUT_LOCATION;
+import static org.pitest.mutationtest.config.ConfigOption.INDEXED_COVERAGE;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_OUTPUT_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_GROUPS;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDE_LAUNCH_CLASSPATH;
@@ -39,6 +40,8 @@ import static org.pitest.mutationtest.config.ConfigOption.MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_ENGINE;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_UNIT_SIZE;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_SCHEMATA;
+import static org.pitest.mutationtest.config.ConfigOption.UNITS_PER_MINION;
 import static org.pitest.mutationtest.config.ConfigOption.OUTPUT_FORMATS;
 import static org.pitest.mutationtest.config.ConfigOption.PLUGIN_CONFIGURATION;
 import static org.pitest.mutationtest.config.ConfigOption.REPORT_DIR;
@@ -113,6 +116,8 @@ public class OptionsParser {
   private final OptionSpec<String>                   excludedGroupsSpec;
   private final OptionSpec<String>                   includedGroupsSpec;
   private final OptionSpec<Integer>                  mutationUnitSizeSpec;
+  private final OptionSpec<Integer>                  unitsPerMinionSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> mutantSchemataSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> timestampedReportsSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> detectInlinedCode;
   private final ArgumentAcceptingOptionSpec<Integer> mutationThreshHoldSpec;
@@ -120,6 +125,7 @@ public class OptionsParser {
   private final ArgumentAcceptingOptionSpec<Integer> maxSurvivingSpec;
   private final OptionSpec<String>                   mutationEngine;
   private final ArgumentAcceptingOptionSpec<Boolean> exportLineCoverageSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> indexedCoverageSpec;
   private final OptionSpec<String>                   javaExecutable;
   private final OptionSpec<KeyValuePair>             pluginPropertiesSpec;
 
@@ -240,6 +246,13 @@ public class OptionsParser {
         .describedAs(
             "whether or not to dump per test line coverage data to disk");
 
+    this.indexedCoverageSpec = parserAccepts(INDEXED_COVERAGE)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to hold coverage in a compact per class index");
+
     this.includeLaunchClasspathSpec = parserAccepts(INCLUDE_LAUNCH_CLASSPATH)
         .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
         .describedAs("whether or not to analyse launch classpath");
@@ -285,6 +298,20 @@ public class OptionsParser {
             "Maximum number of mutations to include within a single unit of analysis")
             .defaultsTo(MUTATION_UNIT_SIZE.getDefault(Integer.class));
 
+    this.unitsPerMinionSpec = parserAccepts(UNITS_PER_MINION)
+        .withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs(
+            "Maximum number of units of analysis a minion may run before it is replaced")
+            .defaultsTo(UNITS_PER_MINION.getDefault(Integer.class));
+
+    this.mutantSchemataSpec = parserAccepts(MUTANT_SCHEMATA)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to combine the mutants of each class into a single class switched at runtime");
+
     this.historyInputSpec = parserAccepts(HISTORY_INPUT_LOCATION)
         .withRequiredArg().ofType(File.class)
         .describedAs("File to read history from for incremental analysis");
@@ -385,6 +412,9 @@ public class OptionsParser {
     data.setFailWhenNoMutations(this.failWhenNoMutations.value(userArgs));
     data.setCodePaths(this.codePaths.values(userArgs));
     data.setMutationUnitSize(this.mutationUnitSizeSpec.value(userArgs));
+    data.setUnitsPerMinion(this.unitsPerMinionSpec.value(userArgs));
+    data.setMutantSchemata(userArgs.has(this.mutantSchemataSpec)
+        && userArgs.valueOf(this.mutantSchemataSpec));
 
     data.setHistoryInputLocation(this.historyInputSpec.value(userArgs));
     data.setHistoryOutputLocation(this.historyOutputSpec.value(userArgs));
@@ -397,6 +427,8 @@ public class OptionsParser {
 
     data.setExportLineCoverage(userArgs.has(this.exportLineCoverageSpec)
         && userArgs.valueOf(this.exportLineCoverageSpec));
+    data.setIndexedCoverage(userArgs.has(this.indexedCoverageSpec)
+        && userArgs.valueOf(this.indexedCoverageSpec));
 
     setClassPath(userArgs, data);
 
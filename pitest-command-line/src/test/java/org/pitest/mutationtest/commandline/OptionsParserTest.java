@@ -357,6 +357,31 @@ public class OptionsParserTest {
     assertEquals(50, actual.getMutationUnitSize());
   }
 
+  @Test
+  public void shouldParseUnitsPerMinion() {
+    final ReportOptions actual = parseAddingRequiredArgs("--unitsPerMinion",
+        "10");
+    assertEquals(10, actual.getUnitsPerMinion());
+  }
+
+  @Test
+  public void shouldParseMutantSchemataFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantSchemata");
+    assertTrue(actual.useMutantSchemata());
+  }
+
+  @Test
+  public void shouldNotUseMutantSchemataWhenFlagNotSet() {
+    final ReportOptions actual = parseAddingRequiredArgs();
+    assertFalse(actual.useMutantSchemata());
+  }
+
+  @Test
+  public void shouldDefaultUnitsPerMinionToOne() {
+    final ReportOptions actual = parseAddingRequiredArgs();
+    assertEquals(1, actual.getUnitsPerMinion());
+  }
+
   @Test
   public void shouldDefaultMutationUnitSizeToCorrectValue() {
     final ReportOptions actual = parseAddingRequiredArgs("");
@@ -444,6 +469,18 @@ public class OptionsParserTest {
     assertFalse(actual.shouldExportLineCoverage());
   }
 
+  @Test
+  public void shouldParseIndexedCoverageFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--indexedCoverage");
+    assertTrue(actual.useIndexedCoverage());
+  }
+
+  @Test
+  public void shouldNotUseIndexedCoverageWhenFlagNotSet() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.useIndexedCoverage());
+  }
+
   @Test
   public void shouldIncludeLaunchClasspathByDefault() {
     final ReportOptions actual = parseAddingRequiredArgs("");
@@ -1,9 +1,13 @@
 package org.pitest.bytecode.analysis;
 
 import org.pitest.functional.F;
+import org.pitest.functional.Option;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodMutater;
+import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class AnalysisFunctions {
   public static F<MethodTree, Predicate<MutationDetails>> matchMutationsInMethod() {
@@ -20,4 +24,20 @@ public class AnalysisFunctions {
       }
     };
   }
+
+  /**
+   * Tree of the method containing a mutant. Where the mutater can do so only
+   * that method is generated, otherwise the whole class.
+   */
+  public static Option<MethodTree> mutatedMethod(final Mutater m,
+      final MutationIdentifier id) {
+    final byte[] bytes;
+    if (m instanceof MethodMutater) {
+      bytes = ((MethodMutater) m).getMutatedMethod(id).getBytes();
+    } else {
+      bytes = m.getMutation(id).getBytes();
+    }
+    return ClassTree.fromBytes(bytes).methods()
+        .findFirst(MethodMatchers.forLocation(id.getLocation()));
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2010 Henry Coles
+ * Copyright 2018 Henry Coles
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -12,18 +12,20 @@
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
  * See the License for the specific language governing permissions and limitations under the License.
  */
+package org.pitest.coverage;
 
-package org.pitest.testapi.foreignclassloader;
+import java.util.List;
 
-import org.pitest.functional.SideEffect2;
-import org.pitest.testapi.Description;
-import org.pitest.testapi.ResultCollector;
+/**
+ * A coverage database that is populated from the results sent by the coverage
+ * minions.
+ */
+public interface CoverageCollector extends CoverageDatabase {
+
+  void calculateClassCoverage(CoverageResult cr);
 
-public class Start implements SideEffect2<ResultCollector, Description> {
+  boolean allTestsGreen();
 
-  @Override
-  public void apply(final ResultCollector rc, final Description description) {
-    rc.notifyStart(description);
-  }
+  List<BlockCoverage> createCoverage();
 
 }
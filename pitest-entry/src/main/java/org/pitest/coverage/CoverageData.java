@@ -16,8 +16,10 @@
 package org.pitest.coverage;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,11 +36,10 @@ import org.pitest.functional.F;
 import org.pitest.functional.F2;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
-import org.pitest.functional.predicate.Predicate;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
-public class CoverageData implements CoverageDatabase {
+public class CoverageData implements CoverageCollector {
 
   private static final Logger                                 LOG           = Log
       .getLogger();
@@ -50,6 +51,8 @@ public class CoverageData implements CoverageDatabase {
   private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<BlockLocation, Set<Integer>>();
   private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<ClassName, Map<ClassLine, Set<TestInfo>>>();
   private final Map<String, Collection<ClassInfo>>            classesForFile;
+  // built on first use, as coverage is queried one class at a time
+  private Map<ClassName, List<Entry<BlockLocation, Set<TestInfo>>>> blocksByClass;
 
   private final CodeSource                                    code;
 
@@ -75,6 +78,7 @@ public class CoverageData implements CoverageDatabase {
     }
   }
 
+  @Override
   public boolean allTestsGreen() {
     return !this.hasFailedTest;
   }
@@ -93,11 +97,11 @@ public class CoverageData implements CoverageDatabase {
   public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
     final Set<TestInfo> tis = new TreeSet<TestInfo>(
         new TestInfoNameComparator());
-    tis.addAll(FCollection.filter(this.blockCoverage.entrySet(), isFor(clazz))
-        .flatMap(toTests()));
+    tis.addAll(FCollection.flatMap(blocksFor(clazz), toTests()));
     return tis;
   }
 
+  @Override
   public void calculateClassCoverage(final CoverageResult cr) {
 
     checkForFailedTest(cr);
@@ -106,6 +110,35 @@ public class CoverageData implements CoverageDatabase {
     for (BlockLocation each : cr.getCoverage()) {
       addTestsToBlockMap(ti, each);
     }
+    clearBlockIndex();
+  }
+
+  private synchronized void clearBlockIndex() {
+    this.blocksByClass = null;
+  }
+
+  private synchronized List<Entry<BlockLocation, Set<TestInfo>>> blocksFor(
+      final ClassName clazz) {
+    if (this.blocksByClass == null) {
+      this.blocksByClass = new HashMap<ClassName, List<Entry<BlockLocation, Set<TestInfo>>>>();
+      for (final Entry<BlockLocation, Set<TestInfo>> each : this.blockCoverage
+          .entrySet()) {
+        final ClassName owner = each.getKey().getLocation().getClassName();
+        List<Entry<BlockLocation, Set<TestInfo>>> blocks = this.blocksByClass
+            .get(owner);
+        if (blocks == null) {
+          blocks = new ArrayList<Entry<BlockLocation, Set<TestInfo>>>();
+          this.blocksByClass.put(owner, blocks);
+        }
+        blocks.add(each);
+      }
+    }
+    final List<Entry<BlockLocation, Set<TestInfo>>> blocks = this.blocksByClass
+        .get(clazz);
+    if (blocks == null) {
+      return Collections.emptyList();
+    }
+    return blocks;
   }
 
   private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
@@ -127,6 +160,7 @@ public class CoverageData implements CoverageDatabase {
     return generateCoverageNumber(coverage);
   }
 
+  @Override
   public List<BlockCoverage> createCoverage() {
     return FCollection.map(this.blockCoverage.entrySet(), toBlockCoverage());
   }
@@ -184,7 +218,7 @@ public class CoverageData implements CoverageDatabase {
     };
   }
 
-  private static F<ClassInfo, String> keyFromClassInfo() {
+  static F<ClassInfo, String> keyFromClassInfo() {
 
     return new F<ClassInfo, String>() {
       @Override
@@ -195,7 +229,7 @@ public class CoverageData implements CoverageDatabase {
     };
   }
 
-  private static String keyFromSourceAndPackage(final String sourceFile,
+  static String keyFromSourceAndPackage(final String sourceFile,
       final String packageName) {
 
     return packageName + " " + sourceFile;
@@ -262,7 +296,9 @@ public class CoverageData implements CoverageDatabase {
 
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+  // guarded as line coverage is calculated lazily, while tests may be assigned
+  // to mutations from many threads
+  private synchronized Map<ClassLine, Set<TestInfo>> getTestsForClassName(
       final ClassName clazz) {
     // Use any test that provided some coverage of the class
     // This fails to consider tests that only accessed a static variable
@@ -278,8 +314,7 @@ public class CoverageData implements CoverageDatabase {
 
   private Map<ClassLine, Set<TestInfo>> convertBlockCoverageToLineCoverageForClass(
       ClassName clazz) {
-    List<Entry<BlockLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.blockCoverage.entrySet(), isFor(clazz));
+    List<Entry<BlockLocation, Set<TestInfo>>> tests = blocksFor(clazz);
 
     Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<ClassLine, Set<TestInfo>>(
         0);
@@ -339,14 +374,4 @@ public class CoverageData implements CoverageDatabase {
     };
   }
 
-  private Predicate<Entry<BlockLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return new Predicate<Entry<BlockLocation, Set<TestInfo>>>() {
-      @Override
-      public Boolean apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return a.getKey().isFor(clazz);
-      }
-    };
-  }
-
 }
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.coverage;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+
+/**
+ * Coverage database for large code bases.
+ *
+ * Each test is interned to an int id when its result arrives and blocks hold
+ * the ids of the tests that visited them in a compact {@link TestIdSet}. Blocks
+ * are indexed by class so the tests for a class or line are found without
+ * scanning the coverage of the whole code base. The per class and per line
+ * views are built on first request and then cached.
+ *
+ * Answers queries identically to {@link CoverageData}.
+ */
+public class IndexedCoverageData implements CoverageCollector {
+
+  private static final Logger                    LOG           = Log
+      .getLogger();
+
+  private final List<TestInfo>                   tests         = new ArrayList<TestInfo>();
+  private final Map<String, Integer>             testIds       = new HashMap<String, Integer>();
+  private final Map<BlockLocation, TestIdSet>    blockCoverage = new LinkedHashMap<BlockLocation, TestIdSet>();
+  private final Map<ClassName, ClassIndex>       classes       = new HashMap<ClassName, ClassIndex>();
+  private final Map<String, Collection<ClassInfo>> classesForFile;
+
+  private final CodeSource                       code;
+
+  private final LineMap                          lm;
+
+  private boolean                                hasFailedTest = false;
+
+  public IndexedCoverageData(final CodeSource code, final LineMap lm) {
+    this.code = code;
+    this.lm = lm;
+    this.classesForFile = FCollection.bucket(this.code.getCode(),
+        CoverageData.keyFromClassInfo());
+  }
+
+  @Override
+  public void calculateClassCoverage(final CoverageResult cr) {
+    checkForFailedTest(cr);
+    final int testId = intern(cr);
+    for (final BlockLocation each : cr.getCoverage()) {
+      final ClassIndex index = indexFor(each.getLocation().getClassName());
+      TestIdSet ids = this.blockCoverage.get(each);
+      if (ids == null) {
+        ids = new TestIdSet();
+        this.blockCoverage.put(each, ids);
+        index.addBlock(each);
+      }
+      ids.add(testId);
+      index.invalidate();
+    }
+  }
+
+  @Override
+  public boolean allTestsGreen() {
+    return !this.hasFailedTest;
+  }
+
+  @Override
+  public Collection<ClassInfo> getClassInfo(final Collection<ClassName> classes) {
+    return this.code.getClassInfo(classes);
+  }
+
+  @Override
+  public int getNumberOfCoveredLines(final Collection<ClassName> mutatedClass) {
+    int count = 0;
+    for (final ClassName each : mutatedClass) {
+      count = count + getNumberOfCoveredLines(each);
+    }
+    return count;
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
+    final ClassIndex index = this.classes.get(clazz);
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    return index.getTests();
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
+    final ClassIndex index = this.classes.get(classLine.getClassName());
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    final BitSet ids = index.getLines().get(classLine.getLineNumber());
+    if (ids == null) {
+      return Collections.emptyList();
+    }
+    return toTests(ids);
+  }
+
+  @Override
+  public BigInteger getCoverageIdForClass(final ClassName clazz) {
+    final ClassIndex index = this.classes.get(clazz);
+    if ((index == null) || index.getLines().isEmpty()) {
+      return BigInteger.ZERO;
+    }
+
+    final BitSet ids = new BitSet();
+    for (final BitSet each : index.getLines().values()) {
+      ids.or(each);
+    }
+
+    final Set<ClassName> testClasses = new HashSet<ClassName>();
+    FCollection.mapTo(toTests(ids), TestInfo.toDefiningClassName(),
+        testClasses);
+
+    BigInteger coverageNumber = BigInteger.ZERO;
+    for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
+      coverageNumber = coverageNumber.add(each.getDeepHash());
+    }
+    return coverageNumber;
+  }
+
+  @Override
+  public List<BlockCoverage> createCoverage() {
+    final List<BlockCoverage> coverage = new ArrayList<BlockCoverage>(
+        this.blockCoverage.size());
+    for (final Entry<BlockLocation, TestIdSet> each : this.blockCoverage
+        .entrySet()) {
+      final BitSet ids = new BitSet();
+      each.getValue().orInto(ids);
+      coverage.add(new BlockCoverage(each.getKey(), FCollection.map(
+          toTests(ids), TestInfo.toName())));
+    }
+    return coverage;
+  }
+
+  @Override
+  public Collection<ClassInfo> getClassesForFile(final String sourceFile,
+      final String packageName) {
+    final Collection<ClassInfo> value = this.classesForFile.get(CoverageData
+        .keyFromSourceAndPackage(sourceFile, packageName));
+    if (value == null) {
+      return Collections.<ClassInfo> emptyList();
+    } else {
+      return value;
+    }
+  }
+
+  @Override
+  public CoverageSummary createSummary() {
+    int lines = 0;
+    for (final ClassInfo each : this.code.getClassInfo(this.code
+        .getCodeUnderTestNames())) {
+      lines = lines + each.getNumberOfCodeLines();
+    }
+    return new CoverageSummary(lines,
+        getNumberOfCoveredLines(this.code.getCodeUnderTestNames()));
+  }
+
+  private int getNumberOfCoveredLines(final ClassName clazz) {
+    final ClassIndex index = this.classes.get(clazz);
+    if (index == null) {
+      return 0;
+    }
+    return index.getLines().size();
+  }
+
+  private int intern(final CoverageResult cr) {
+    final Description description = cr.getTestUnitDescription();
+    final Integer existing = this.testIds.get(description.getQualifiedName());
+    if (existing != null) {
+      return existing;
+    }
+
+    final Option<ClassName> testee = this.code.findTestee(description
+        .getFirstTestClass());
+    final int id = this.tests.size();
+    this.tests.add(new TestInfo(description.getFirstTestClass(), description
+        .getQualifiedName(), cr.getExecutionTime(), testee, cr
+        .getNumberOfCoveredBlocks()));
+    this.testIds.put(description.getQualifiedName(), id);
+    return id;
+  }
+
+  private ClassIndex indexFor(final ClassName clazz) {
+    ClassIndex index = this.classes.get(clazz);
+    if (index == null) {
+      index = new ClassIndex(clazz);
+      this.classes.put(clazz, index);
+    }
+    return index;
+  }
+
+  private List<TestInfo> toTests(final BitSet ids) {
+    final List<TestInfo> tis = new ArrayList<TestInfo>(ids.cardinality());
+    for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1)) {
+      tis.add(this.tests.get(i));
+    }
+    Collections.sort(tis, new TestInfoNameComparator());
+    return tis;
+  }
+
+  private void checkForFailedTest(final CoverageResult cr) {
+    if (!cr.isGreenTest()) {
+      this.hasFailedTest = true;
+      LOG.severe(cr.getTestUnitDescription()
+          + " did not pass without mutation.");
+    }
+  }
+
+  private class ClassIndex {
+    private final ClassName                 clazz;
+    private final List<BlockLocation>       blocks = new ArrayList<BlockLocation>();
+    private Map<BlockLocation, Set<Integer>> blocksToLines;
+    private Collection<TestInfo>            tests;
+    private Map<Integer, BitSet>            lines;
+
+    ClassIndex(final ClassName clazz) {
+      this.clazz = clazz;
+    }
+
+    void addBlock(final BlockLocation block) {
+      this.blocks.add(block);
+    }
+
+    void invalidate() {
+      this.tests = null;
+      this.lines = null;
+    }
+
+    Collection<TestInfo> getTests() {
+      if (this.tests == null) {
+        final BitSet ids = new BitSet();
+        for (final BlockLocation each : this.blocks) {
+          IndexedCoverageData.this.blockCoverage.get(each).orInto(ids);
+        }
+        this.tests = Collections.unmodifiableList(toTests(ids));
+      }
+      return this.tests;
+    }
+
+    Map<Integer, BitSet> getLines() {
+      if (this.lines == null) {
+        final Map<Integer, BitSet> linesToTests = new LinkedHashMap<Integer, BitSet>();
+        for (final BlockLocation each : this.blocks) {
+          final TestIdSet ids = IndexedCoverageData.this.blockCoverage
+              .get(each);
+          for (final int line : getLinesForBlock(each)) {
+            BitSet lineIds = linesToTests.get(line);
+            if (lineIds == null) {
+              lineIds = new BitSet();
+              linesToTests.put(line, lineIds);
+            }
+            ids.orInto(lineIds);
+          }
+        }
+        this.lines = linesToTests;
+      }
+      return this.lines;
+    }
+
+    private Set<Integer> getLinesForBlock(final BlockLocation block) {
+      if (this.blocksToLines == null) {
+        this.blocksToLines = IndexedCoverageData.this.lm.mapLines(this.clazz);
+      }
+      final Set<Integer> blockLines = this.blocksToLines.get(block);
+      if (blockLines == null) {
+        return Collections.emptySet();
+      }
+      return blockLines;
+    }
+  }
+
+}
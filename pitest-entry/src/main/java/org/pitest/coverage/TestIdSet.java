@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.coverage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Set of interned test ids.
+ *
+ * Most blocks are covered by a handful of tests, so ids are held in a sorted
+ * array until the set becomes dense enough that a bitmap is smaller. Tests are
+ * interned in the order their results arrive so ids are usually added in
+ * ascending order and the array can simply be appended to.
+ */
+final class TestIdSet {
+
+  private static final int INITIAL_CAPACITY = 4;
+  private static final int BITS_PER_ID      = Integer.SIZE;
+  private static final int MIN_BITMAP_SIZE  = 16;
+
+  private int[]            ids              = new int[INITIAL_CAPACITY];
+  private int              size;
+  private BitSet           bits;
+
+  void add(final int id) {
+    if (this.bits != null) {
+      this.bits.set(id);
+      return;
+    }
+
+    if ((this.size == 0) || (this.ids[this.size - 1] < id)) {
+      append(id);
+    } else {
+      final int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+      if (index >= 0) {
+        return;
+      }
+      insert(-index - 1, id);
+    }
+
+    if (shouldConvertToBitmap()) {
+      convertToBitmap();
+    }
+  }
+
+  boolean contains(final int id) {
+    if (this.bits != null) {
+      return this.bits.get(id);
+    }
+    return Arrays.binarySearch(this.ids, 0, this.size, id) >= 0;
+  }
+
+  int size() {
+    if (this.bits != null) {
+      return this.bits.cardinality();
+    }
+    return this.size;
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Adds every id in this set to the supplied bitmap
+   */
+  void orInto(final BitSet target) {
+    if (this.bits != null) {
+      target.or(this.bits);
+    } else {
+      for (int i = 0; i != this.size; i++) {
+        target.set(this.ids[i]);
+      }
+    }
+  }
+
+  boolean isBitmap() {
+    return this.bits != null;
+  }
+
+  private void append(final int id) {
+    ensureCapacity();
+    this.ids[this.size] = id;
+    this.size++;
+  }
+
+  private void insert(final int index, final int id) {
+    ensureCapacity();
+    System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+    this.ids[index] = id;
+    this.size++;
+  }
+
+  private void ensureCapacity() {
+    if (this.size == this.ids.length) {
+      this.ids = Arrays.copyOf(this.ids, this.ids.length * 2);
+    }
+  }
+
+  private boolean shouldConvertToBitmap() {
+    final int largestId = this.ids[this.size - 1];
+    return (this.size >= MIN_BITMAP_SIZE)
+        && ((this.size * BITS_PER_ID) > (largestId + 1));
+  }
+
+  private void convertToBitmap() {
+    this.bits = new BitSet(this.ids[this.size - 1] + 1);
+    for (int i = 0; i != this.size; i++) {
+      this.bits.set(this.ids[i]);
+    }
+    this.ids = null;
+    this.size = 0;
+  }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.coverage.execute;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Persists the coverage recorded for each test class between runs so that
+ * only the tests affected by a change need to be re-run.
+ *
+ * The cache is kept in a file beside the history file. It is headed by a
+ * fingerprint of the settings that affect coverage and of the names of the
+ * code under test, and is discarded as a whole when either has changed, as
+ * tests may then visit classes that were not instrumented when the coverage
+ * was recorded.
+ */
+public class CoverageCache {
+
+  private static final Logger LOG     = Log.getLogger();
+
+  private static final String SUFFIX  = ".coverage";
+  private static final int    VERSION = 2;
+
+  private final File          input;
+  private final File          output;
+  private final String        settings;
+
+  CoverageCache(final File input, final File output, final String settings) {
+    this.input = input;
+    this.output = output;
+    this.settings = settings;
+  }
+
+  public static CoverageCache none() {
+    return new CoverageCache(null, null, "");
+  }
+
+  /**
+   * @param historyInput
+   *          history input location. May be null.
+   * @param historyOutput
+   *          history output location. May be null.
+   * @param settings
+   *          description of the settings the coverage is recorded with
+   */
+  public static CoverageCache besideHistory(final File historyInput,
+      final File historyOutput, final String settings) {
+    return new CoverageCache(beside(historyInput), beside(historyOutput),
+        settings);
+  }
+
+  private static File beside(final File historyFile) {
+    if (historyFile == null) {
+      return null;
+    }
+    return new File(historyFile.getPath() + SUFFIX);
+  }
+
+  boolean isEnabled() {
+    return (this.input != null) || (this.output != null);
+  }
+
+  Map<ClassName, TestClassCoverage> read(
+      final Collection<ClassName> codeUnderTest) {
+    if ((this.input == null) || !this.input.exists()
+        || (this.input.length() == 0)) {
+      return Collections.emptyMap();
+    }
+
+    try {
+      final DataInputStream is = new DataInputStream(new GZIPInputStream(
+          new BufferedInputStream(new FileInputStream(this.input))));
+      try {
+        return readEntries(is, fingerprint(codeUnderTest));
+      } finally {
+        is.close();
+      }
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous coverage");
+      return Collections.emptyMap();
+    }
+  }
+
+  void write(final Collection<ClassName> codeUnderTest,
+      final Collection<TestClassCoverage> coverage) {
+    if (this.output == null) {
+      return;
+    }
+
+    final File parent = this.output.getAbsoluteFile().getParentFile();
+    parent.mkdirs();
+    try {
+      final DataOutputStream os = new DataOutputStream(new GZIPOutputStream(
+          new BufferedOutputStream(new FileOutputStream(this.output))));
+      try {
+        writeEntries(os, fingerprint(codeUnderTest), coverage);
+      } finally {
+        os.close();
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private String fingerprint(final Collection<ClassName> codeUnderTest) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      digest.update(this.settings.getBytes("UTF-8"));
+      for (final String each : sortedNames(codeUnderTest)) {
+        digest.update((byte) '\n');
+        digest.update(each.getBytes("UTF-8"));
+      }
+      return new BigInteger(1, digest.digest()).toString(16);
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static Collection<String> sortedNames(
+      final Collection<ClassName> classes) {
+    final Collection<String> names = new TreeSet<String>();
+    for (final ClassName each : classes) {
+      names.add(each.asJavaName());
+    }
+    return names;
+  }
+
+  private static Map<ClassName, TestClassCoverage> readEntries(
+      final DataInputStream is, final String fingerprint) throws IOException {
+    final Map<ClassName, TestClassCoverage> entries = new HashMap<ClassName, TestClassCoverage>();
+    if (is.readInt() != VERSION) {
+      LOG.fine("Ignoring coverage recorded by a different version");
+      return entries;
+    }
+
+    if (!is.readUTF().equals(fingerprint)) {
+      LOG.info("Settings or code under test have changed, so previous coverage will not be reused");
+      return entries;
+    }
+
+    final int count = is.readInt();
+    for (int i = 0; i != count; i++) {
+      final TestClassCoverage each = readEntry(is);
+      entries.put(each.getTestClass(), each);
+    }
+    return entries;
+  }
+
+  private static TestClassCoverage readEntry(final DataInputStream is)
+      throws IOException {
+    final ClassName testClass = ClassName.fromString(is.readUTF());
+    final BigInteger hash = readHash(is);
+
+    final int coveredClasses = is.readInt();
+    final Map<ClassName, BigInteger> covered = new LinkedHashMap<ClassName, BigInteger>();
+    for (int i = 0; i != coveredClasses; i++) {
+      covered.put(ClassName.fromString(is.readUTF()), readHash(is));
+    }
+
+    final int numberOfResults = is.readInt();
+    final List<CoverageResult> results = new ArrayList<CoverageResult>(
+        numberOfResults);
+    for (int i = 0; i != numberOfResults; i++) {
+      results.add(readResult(is));
+    }
+
+    return new TestClassCoverage(testClass, hash, covered, results);
+  }
+
+  private static CoverageResult readResult(final DataInputStream is)
+      throws IOException {
+    final String name = is.readUTF();
+    final String testClass = is.readBoolean() ? is.readUTF() : null;
+    final int time = is.readInt();
+    final boolean isGreen = is.readBoolean();
+
+    final int numberOfBlocks = is.readInt();
+    final List<BlockLocation> blocks = new ArrayList<BlockLocation>(
+        numberOfBlocks);
+    for (int i = 0; i != numberOfBlocks; i++) {
+      final Location location = Location.location(
+          ClassName.fromString(is.readUTF()),
+          MethodName.fromString(is.readUTF()), is.readUTF());
+      blocks.add(BlockLocation.blockLocation(location, is.readInt()));
+    }
+
+    return new CoverageResult(new Description(name, testClass), time, isGreen,
+        blocks);
+  }
+
+  private static BigInteger readHash(final DataInputStream is)
+      throws IOException {
+    return new BigInteger(is.readUTF(), 16);
+  }
+
+  private static void writeEntries(final DataOutputStream os,
+      final String fingerprint, final Collection<TestClassCoverage> coverage)
+      throws IOException {
+    os.writeInt(VERSION);
+    os.writeUTF(fingerprint);
+    os.writeInt(coverage.size());
+    for (final TestClassCoverage each : coverage) {
+      os.writeUTF(each.getTestClass().asJavaName());
+      writeHash(os, each.getHash());
+
+      os.writeInt(each.getCoveredClasses().size());
+      for (final Entry<ClassName, BigInteger> covered : each
+          .getCoveredClasses().entrySet()) {
+        os.writeUTF(covered.getKey().asJavaName());
+        writeHash(os, covered.getValue());
+      }
+
+      os.writeInt(each.getResults().size());
+      for (final CoverageResult result : each.getResults()) {
+        writeResult(os, result);
+      }
+    }
+  }
+
+  private static void writeResult(final DataOutputStream os,
+      final CoverageResult result) throws IOException {
+    final Description description = result.getTestUnitDescription();
+    os.writeUTF(description.getName());
+    os.writeBoolean(description.getFirstTestClass() != null);
+    if (description.getFirstTestClass() != null) {
+      os.writeUTF(description.getFirstTestClass());
+    }
+    os.writeInt(result.getExecutionTime());
+    os.writeBoolean(result.isGreenTest());
+
+    os.writeInt(result.getCoverage().size());
+    for (final BlockLocation each : result.getCoverage()) {
+      final Location location = each.getLocation();
+      os.writeUTF(location.getClassName().asJavaName());
+      os.writeUTF(location.getMethodName().name());
+      os.writeUTF(location.getMethodDesc());
+      os.writeInt(each.getBlock());
+    }
+  }
+
+  private static void writeHash(final DataOutputStream os,
+      final BigInteger hash) throws IOException {
+    os.writeUTF(hash.toString(16));
+  }
+
+}
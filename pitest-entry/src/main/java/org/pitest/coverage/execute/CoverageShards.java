@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.pitest.functional.F;
+import org.pitest.functional.Option;
+
+/**
+ * Splits test classes between coverage minions so that each receives a
+ * similar estimated amount of work.
+ *
+ * Uses the longest processing time first heuristic - test classes are sorted
+ * by descending cost and each is assigned to the least loaded shard. Classes
+ * without a known cost are assumed to cost the average of those that have
+ * one. The assignment is deterministic for a given input.
+ */
+final class CoverageShards {
+
+  private CoverageShards() {
+  }
+
+  static List<List<String>> partition(final Collection<String> testClasses,
+      final F<String, Option<Long>> cost, final int maxShards) {
+    final int numberOfShards = Math.max(1,
+        Math.min(maxShards, testClasses.size()));
+
+    final List<Weighted> weighted = estimate(testClasses, cost);
+    Collections.sort(weighted, byDescendingCost());
+
+    final List<List<String>> shards = new ArrayList<List<String>>(
+        numberOfShards);
+    final long[] loads = new long[numberOfShards];
+    for (int i = 0; i != numberOfShards; i++) {
+      shards.add(new ArrayList<String>());
+    }
+
+    for (final Weighted each : weighted) {
+      final int target = leastLoaded(loads);
+      shards.get(target).add(each.name);
+      loads[target] = loads[target] + each.cost;
+    }
+
+    return shards;
+  }
+
+  private static List<Weighted> estimate(final Collection<String> testClasses,
+      final F<String, Option<Long>> cost) {
+    final List<Weighted> weighted = new ArrayList<Weighted>(testClasses.size());
+    long total = 0;
+    int known = 0;
+    for (final String each : testClasses) {
+      final Option<Long> c = cost.apply(each);
+      if (c.hasSome()) {
+        total = total + c.value();
+        known++;
+      }
+    }
+
+    final long unknownCost = known == 0 ? 1 : Math.max(1, total / known);
+    for (final String each : testClasses) {
+      final Option<Long> c = cost.apply(each);
+      weighted.add(new Weighted(each, c.hasSome() ? c.value() : unknownCost));
+    }
+    return weighted;
+  }
+
+  private static int leastLoaded(final long[] loads) {
+    int least = 0;
+    for (int i = 1; i != loads.length; i++) {
+      if (loads[i] < loads[least]) {
+        least = i;
+      }
+    }
+    return least;
+  }
+
+  private static Comparator<Weighted> byDescendingCost() {
+    return new Comparator<Weighted>() {
+      @Override
+      public int compare(final Weighted a, final Weighted b) {
+        if (a.cost != b.cost) {
+          return a.cost > b.cost ? -1 : 1;
+        }
+        return a.name.compareTo(b.name);
+      }
+    };
+  }
+
+  private static class Weighted {
+    final String name;
+    final long   cost;
+
+    Weighted(final String name, final long cost) {
+      this.name = name;
+      this.cost = cost;
+    }
+  }
+
+}
@@ -17,25 +17,37 @@ package org.pitest.coverage.execute;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageCollector;
 import org.pitest.coverage.CoverageData;
 import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.IndexedCoverageData;
 import org.pitest.coverage.analysis.LineMapper;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.HistoryStore;
 import org.pitest.process.LaunchOptions;
 import org.pitest.process.ProcessArgs;
 import org.pitest.testapi.Configuration;
@@ -57,11 +69,42 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   private final File             workingDir;
   private final CoverageExporter exporter;
   private final boolean          showProgress;
+  private final int              numberOfThreads;
+  private final HistoryStore     history;
+  private final boolean          indexedCoverage;
+  private final CoverageCache    cache;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1, null, false, CoverageCache.none());
+  }
+
+  /**
+   * @param numberOfThreads
+   *          maximum number of coverage minions to run in parallel
+   * @param history
+   *          initialised history store used to balance test classes between
+   *          minions. May be null.
+   * @param indexedCoverage
+   *          if true coverage is held in an {@link IndexedCoverageData}
+   *          rather than a {@link CoverageData}
+   * @param cache
+   *          coverage recorded by previous runs. Only test classes affected by
+   *          changes since then are run
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfThreads, final HistoryStore history,
+      final boolean indexedCoverage, final CoverageCache cache) {
+    this.numberOfThreads = Math.max(1, numberOfThreads);
+    this.history = history;
+    this.indexedCoverage = indexedCoverage;
+    this.cache = cache;
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -72,7 +115,7 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   @Override
-  public CoverageData calculateCoverage() {
+  public CoverageCollector calculateCoverage() {
     try {
       final long t0 = System.currentTimeMillis();
 
@@ -80,11 +123,12 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       final Collection<ClassInfo> tests = this.code.getTests();
       this.timings.registerEnd(Timings.Stage.SCAN_CLASS_PATH);
 
-      final CoverageData coverage = new CoverageData(this.code, new LineMapper(
-          this.code));
+      final CoverageCollector coverage = createCoverageCollector();
 
       this.timings.registerStart(Timings.Stage.COVERAGE);
-      gatherCoverageData(tests, coverage);
+      final Map<ClassName, BigInteger> hashes = currentHashes();
+      final Option<List<TestClassCoverage>> recorded = gatherCoverageData(
+          tests, coverage, hashes);
       this.timings.registerEnd(Timings.Stage.COVERAGE);
 
       final long time = (System.currentTimeMillis() - t0) / 1000;
@@ -93,6 +137,10 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
 
       verifyBuildSuitableForMutationTesting(coverage);
 
+      if (recorded.hasSome()) {
+        this.cache.write(hashes.keySet(), recorded.value());
+      }
+
       this.exporter.recordCoverage(coverage.createCoverage());
 
       return coverage;
@@ -104,34 +152,157 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
-  private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
+  private CoverageCollector createCoverageCollector() {
+    final LineMapper lm = new LineMapper(this.code);
+    if (this.indexedCoverage) {
+      return new IndexedCoverageData(this.code, lm);
+    }
+    return new CoverageData(this.code, lm);
+  }
+
+  private static void verifyBuildSuitableForMutationTesting(
+      final CoverageCollector coverage) {
     if (!coverage.allTestsGreen()) {
       throw new PitHelpError(Help.FAILING_TESTS);
     }
   }
 
-  private void gatherCoverageData(final Collection<ClassInfo> tests,
-      final CoverageData coverage) throws IOException, InterruptedException,
-      ExecutionException {
+  private Option<List<TestClassCoverage>> gatherCoverageData(
+      final Collection<ClassInfo> tests, final CoverageCollector coverage,
+      final Map<ClassName, BigInteger> hashes) throws IOException,
+      InterruptedException, ExecutionException {
+    if (!this.cache.isEnabled()) {
+      runTests(tests, coverage);
+      return Option.none();
+    }
+
+    final Map<ClassName, TestClassCoverage> previous = this.cache
+        .read(hashes.keySet());
+    final List<TestClassCoverage> unchanged = new ArrayList<TestClassCoverage>();
+    final List<ClassInfo> changed = new ArrayList<ClassInfo>();
+    for (final ClassInfo each : tests) {
+      final TestClassCoverage cached = previous.get(each.getName());
+      if ((cached != null) && cached.isUnchanged(each.getDeepHash(), hashes)) {
+        unchanged.add(cached);
+      } else {
+        changed.add(each);
+      }
+    }
+
+    if (!unchanged.isEmpty()) {
+      LOG.info("Reusing previous coverage for " + unchanged.size() + " of "
+          + tests.size() + " test classes");
+    }
+
+    for (final TestClassCoverage each : unchanged) {
+      for (final CoverageResult result : each.getResults()) {
+        coverage.calculateClassCoverage(result);
+      }
+    }
+
+    final List<CoverageResult> fresh = runTests(changed, coverage);
+    return record(unchanged, changed, fresh, hashes);
+  }
+
+  private static Option<List<TestClassCoverage>> record(
+      final List<TestClassCoverage> unchanged, final List<ClassInfo> changed,
+      final List<CoverageResult> fresh, final Map<ClassName, BigInteger> hashes) {
+    final Map<ClassName, List<CoverageResult>> resultsByClass = new LinkedHashMap<ClassName, List<CoverageResult>>();
+    for (final ClassInfo each : changed) {
+      resultsByClass.put(each.getName(), new ArrayList<CoverageResult>());
+    }
+
+    for (final CoverageResult each : fresh) {
+      final String testClass = each.getTestUnitDescription()
+          .getFirstTestClass();
+      final List<CoverageResult> results = testClass == null ? null
+          : resultsByClass.get(ClassName.fromString(testClass));
+      if (results == null) {
+        // test ran via a suite or another class, so cannot tell which
+        // test class must be re-run to reproduce it
+        LOG.fine("Not caching coverage as " + each.getTestUnitDescription()
+            + " could not be attributed to a test class");
+        return Option.none();
+      }
+      results.add(each);
+    }
+
+    final List<TestClassCoverage> recorded = new ArrayList<TestClassCoverage>(
+        unchanged);
+    for (final ClassInfo each : changed) {
+      recorded.add(TestClassCoverage.record(each.getName(),
+          each.getDeepHash(), resultsByClass.get(each.getName()), hashes));
+    }
+    return Option.some(recorded);
+  }
+
+  // the deep hash of each class under test, keyed by name. Only needed when
+  // coverage is cached
+  private Map<ClassName, BigInteger> currentHashes() {
+    final Map<ClassName, BigInteger> hashes = new HashMap<ClassName, BigInteger>();
+    if (!this.cache.isEnabled()) {
+      return hashes;
+    }
+    for (final ClassInfo each : this.code.getCode()) {
+      hashes.put(each.getName(), each.getDeepHash());
+    }
+    return hashes;
+  }
+
+  private List<CoverageResult> runTests(final Collection<ClassInfo> tests,
+      final CoverageCollector coverage) throws IOException,
+      InterruptedException, ExecutionException {
+    final List<CoverageResult> results = new ArrayList<CoverageResult>();
+    if (tests.isEmpty() && this.cache.isEnabled()) {
+      return results;
+    }
 
     final List<String> filteredTests = FCollection
         .map(tests, classInfoToName());
 
-    final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
+    final SideEffect1<CoverageResult> handler = resultProcessor(coverage,
+        results);
+
+    final List<List<String>> shards = CoverageShards.partition(filteredTests,
+        historicCost(), this.numberOfThreads);
+
+    if (shards.size() > 1) {
+      LOG.fine("Splitting " + filteredTests.size() + " test classes between "
+          + shards.size() + " coverage minions");
+    }
+
+    final List<CoverageProcess> processes = new ArrayList<CoverageProcess>();
+    try {
+      for (final List<String> each : shards) {
+        final CoverageProcess process = createProcess(each, handler);
+        process.start();
+        processes.add(process);
+      }
+
+      for (final CoverageProcess each : processes) {
+        checkExitCode(each.waitToDie());
+      }
+    } finally {
+      for (final CoverageProcess each : processes) {
+        each.destroy();
+      }
+    }
+    return results;
+  }
 
+  private CoverageProcess createProcess(final List<String> tests,
+      final SideEffect1<CoverageResult> handler) throws IOException {
     final SocketFinder sf = new SocketFinder();
     final ServerSocket socket = sf.getNextAvailableServerSocket();
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
+    return new CoverageProcess(ProcessArgs
         .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
         .andLaunchOptions(this.launchOptions).andStderr(logInfo())
         .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
-
-    process.start();
-
-    ExitCode exitCode = process.waitToDie();
+        socket, tests, handler);
+  }
 
+  private static void checkExitCode(final ExitCode exitCode) {
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
       throw new PitError(
@@ -145,6 +316,22 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  private F<String, Option<Long>> historicCost() {
+    final Map<ClassName, ClassHistory> previous = this.history == null ? Collections
+        .<ClassName, ClassHistory> emptyMap() : this.history
+        .getHistoricClassPath();
+    return new F<String, Option<Long>>() {
+      @Override
+      public Option<Long> apply(final String testClass) {
+        final ClassHistory h = previous.get(ClassName.fromString(testClass));
+        if ((h == null) || (h.getTestTime() == 0)) {
+          return Option.none();
+        }
+        return Option.some(Long.valueOf(h.getTestTime()));
+      }
+    };
+  }
+
   private static F<ClassInfo, String> classInfoToName() {
     return new F<ClassInfo, String>() {
       @Override
@@ -182,15 +369,19 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private SideEffect1<CoverageResult> resultProcessor(
-      final CoverageData coverage) {
+      final CoverageCollector coverage, final List<CoverageResult> results) {
     return new SideEffect1<CoverageResult>() {
       private final String[] spinner = new String[] { "\u0008/", "\u0008-",
           "\u0008\\", "\u0008|" };
       int i = 0;
 
+      // results from all coverage minions are funneled through here
       @Override
-      public void apply(final CoverageResult cr) {
+      public synchronized void apply(final CoverageResult cr) {
         coverage.calculateClassCoverage(cr);
+        if (DefaultCoverageGenerator.this.cache.isEnabled()) {
+          results.add(cr);
+        }
         if (DefaultCoverageGenerator.this.showProgress) {
           System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
         }
@@ -1,9 +1,10 @@
 package org.pitest.coverage.execute;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.pitest.classinfo.ClassName;
@@ -17,14 +18,15 @@ import org.pitest.util.Id;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 
-import sun.pitest.CodeCoverageStore;
-
 final class Receive implements ReceiveStrategy {
 
-  private final Map<Integer, ClassName>     classIdToName = new ConcurrentHashMap<Integer, ClassName>();
-  private final Map<Long, BlockLocation>    probeToBlock  = new ConcurrentHashMap<Long, BlockLocation>();
+  private final Map<Integer, ClassName>       classIdToName = new ConcurrentHashMap<Integer, ClassName>();
+  // blocks indexed by class wide probe id
+  private final Map<Integer, BlockLocation[]> classProbes   = new ConcurrentHashMap<Integer, BlockLocation[]>();
+
+  private final SideEffect1<CoverageResult>   handler;
 
-  private final SideEffect1<CoverageResult> handler;
+  private byte[]                              bitmap        = new byte[256];
 
   Receive(final SideEffect1<CoverageResult> handler) {
     this.handler = handler;
@@ -57,36 +59,62 @@ final class Receive implements ReceiveStrategy {
     final int last = is.readInt();
     Location loc = Location.location(this.classIdToName.get(classId),
         MethodName.fromString(methodName), methodSig);
+    final BlockLocation[] blocks = probesForClass(classId, last + 1);
     for (int i = first; i != (last + 1); i++) {
       // nb, convert from classwide id to method scoped index within
       // BlockLocation
-      this.probeToBlock.put(CodeCoverageStore.encode(classId, i),
-          new BlockLocation(loc, i - first));
+      blocks[i] = new BlockLocation(loc, i - first);
     }
   }
 
-  private void handleTestEnd(final SafeDataInputStream is) {
-    final Description d = is.read(Description.class);
-    final int numberOfResults = is.readInt();
+  private BlockLocation[] probesForClass(final int classId, final int size) {
+    BlockLocation[] blocks = this.classProbes.get(classId);
+    if (blocks == null) {
+      blocks = new BlockLocation[size];
+    } else if (blocks.length < size) {
+      blocks = Arrays.copyOf(blocks, size);
+    }
+    this.classProbes.put(classId, blocks);
+    return blocks;
+  }
 
-    final Set<BlockLocation> hits = new HashSet<BlockLocation>(numberOfResults);
+  private void handleTestEnd(final SafeDataInputStream is) {
+    final Description d = is.readDescription();
+    final int numberOfClasses = is.readInt();
 
-    for (int i = 0; i != numberOfResults; i++) {
-      readProbeHit(is, hits);
+    final List<BlockLocation> hits = new ArrayList<BlockLocation>();
+    for (int i = 0; i != numberOfClasses; i++) {
+      readClassHits(is, hits);
     }
 
     this.handler.apply(createCoverageResult(is, d, hits));
   }
 
-  private void readProbeHit(final SafeDataInputStream is,
-      final Set<BlockLocation> hits) {
-    final long encoded = is.readLong();
-    BlockLocation location = probeToBlock(encoded);
-    hits.add(location);
+  private void readClassHits(final SafeDataInputStream is,
+      final List<BlockLocation> hits) {
+    final int classId = is.readInt();
+    final int length = is.readInt();
+    if (this.bitmap.length < length) {
+      this.bitmap = new byte[Math.max(length, this.bitmap.length * 2)];
+    }
+    is.readFully(this.bitmap, length);
+
+    final BlockLocation[] blocks = this.classProbes.get(classId);
+    for (int i = 0; i != length; i++) {
+      int bits = this.bitmap[i] & 0xff;
+      while (bits != 0) {
+        final int probe = (i << 3) + Integer.numberOfTrailingZeros(bits);
+        addBlock(blocks, probe, hits);
+        bits = bits & (bits - 1);
+      }
+    }
   }
 
-  private BlockLocation probeToBlock(long encoded) {
-    return this.probeToBlock.get(encoded);
+  private static void addBlock(final BlockLocation[] blocks, final int probe,
+      final List<BlockLocation> hits) {
+    if ((blocks != null) && (probe < blocks.length) && (blocks[probe] != null)) {
+      hits.add(blocks[probe]);
+    }
   }
 
   private CoverageResult createCoverageResult(final SafeDataInputStream is,
@@ -98,4 +126,4 @@ final class Receive implements ReceiveStrategy {
     return cr;
   }
 
-}
\ No newline at end of file
+}
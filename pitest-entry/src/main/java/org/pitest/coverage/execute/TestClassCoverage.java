@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.coverage.execute;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+
+/**
+ * Coverage recorded for the tests in a single test class, together with the
+ * hashes of the test class and of each class its tests visited at the time
+ * the coverage was recorded.
+ */
+final class TestClassCoverage {
+
+  private final ClassName                  testClass;
+  private final BigInteger                 hash;
+  private final Map<ClassName, BigInteger> coveredClasses;
+  private final List<CoverageResult>       results;
+
+  TestClassCoverage(final ClassName testClass, final BigInteger hash,
+      final Map<ClassName, BigInteger> coveredClasses,
+      final List<CoverageResult> results) {
+    this.testClass = testClass;
+    this.hash = hash;
+    this.coveredClasses = coveredClasses;
+    this.results = results;
+  }
+
+  static TestClassCoverage record(final ClassName testClass,
+      final BigInteger hash, final List<CoverageResult> results,
+      final Map<ClassName, BigInteger> currentHashes) {
+    final Map<ClassName, BigInteger> covered = new LinkedHashMap<ClassName, BigInteger>();
+    for (final CoverageResult each : results) {
+      for (final BlockLocation block : each.getCoverage()) {
+        final ClassName clazz = block.getLocation().getClassName();
+        if (!covered.containsKey(clazz)) {
+          covered.put(clazz, hashOf(clazz, currentHashes));
+        }
+      }
+    }
+    return new TestClassCoverage(testClass, hash, covered, results);
+  }
+
+  /**
+   * The recorded coverage can be reused if neither the test class nor any of
+   * the classes its tests visited have changed since it was recorded. Changes
+   * to classes the tests use but that were not instrumented are not detected.
+   */
+  boolean isUnchanged(final BigInteger currentHash,
+      final Map<ClassName, BigInteger> currentHashes) {
+    if (!this.hash.equals(currentHash)) {
+      return false;
+    }
+    for (final Entry<ClassName, BigInteger> each : this.coveredClasses
+        .entrySet()) {
+      if (!each.getValue().equals(hashOf(each.getKey(), currentHashes))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  ClassName getTestClass() {
+    return this.testClass;
+  }
+
+  BigInteger getHash() {
+    return this.hash;
+  }
+
+  Map<ClassName, BigInteger> getCoveredClasses() {
+    return this.coveredClasses;
+  }
+
+  List<CoverageResult> getResults() {
+    return this.results;
+  }
+
+  private static BigInteger hashOf(final ClassName clazz,
+      final Map<ClassName, BigInteger> hashes) {
+    final BigInteger hash = hashes.get(clazz);
+    if (hash == null) {
+      return BigInteger.ZERO;
+    }
+    return hash;
+  }
+
+}
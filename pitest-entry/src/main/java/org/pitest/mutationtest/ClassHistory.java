@@ -7,10 +7,17 @@ public class ClassHistory {
 
   private final HierarchicalClassId id;
   private final String              coverageId;
+  private final int                 testTime;
 
   public ClassHistory(final HierarchicalClassId id, final String coverageId) {
+    this(id, coverageId, 0);
+  }
+
+  public ClassHistory(final HierarchicalClassId id, final String coverageId,
+      final int testTime) {
     this.id = id;
     this.coverageId = coverageId;
+    this.testTime = testTime;
   }
 
   public HierarchicalClassId getId() {
@@ -21,6 +28,15 @@ public class ClassHistory {
     return this.coverageId;
   }
 
+  /**
+   * @return total execution time in ms of the tests defined in this class
+   *         during the coverage run that produced this history, or 0 if the
+   *         class defined no tests
+   */
+  public int getTestTime() {
+    return this.testTime;
+  }
+
   public ClassName getName() {
     return this.id.getName();
   }
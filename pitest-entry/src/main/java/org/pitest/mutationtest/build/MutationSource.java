@@ -19,10 +19,11 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import org.pitest.bytecode.analysis.ClassTree;
-import org.pitest.classinfo.CachingByteArraySource;
+import org.pitest.classinfo.ClassAnalysisCache;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
+import org.pitest.functional.F;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
@@ -32,18 +33,43 @@ public class MutationSource {
 
   private static final Logger        LOG = Log.getLogger();
 
+  private static final F<byte[], ClassTree> TO_TREE = toTree();
+
   private final MutationConfig       mutationConfig;
   private final TestPrioritiser      testPrioritiser;
   private final ClassByteArraySource source;
+  private final ClassAnalysisCache   classes;
   private final MutationInterceptor interceptor;
 
   public MutationSource(final MutationConfig mutationConfig,
       final TestPrioritiser testPrioritiser,
       final ClassByteArraySource source,
       final MutationInterceptor interceptor) {
+    this(mutationConfig, testPrioritiser, new ClassAnalysisCache(source, 200),
+        interceptor);
+  }
+
+  private MutationSource(final MutationConfig mutationConfig,
+      final TestPrioritiser testPrioritiser,
+      final ClassAnalysisCache classes,
+      final MutationInterceptor interceptor) {
+    this(mutationConfig, testPrioritiser, classes, classes, interceptor);
+  }
+
+  /**
+   * Bytes for the mutater are read from the supplied source, while the trees
+   * passed to the interceptor are taken from classes, which may be shared
+   * with other sources and analyses. Neither source is cached further.
+   */
+  public MutationSource(final MutationConfig mutationConfig,
+      final TestPrioritiser testPrioritiser,
+      final ClassByteArraySource source,
+      final ClassAnalysisCache classes,
+      final MutationInterceptor interceptor) {
     this.mutationConfig = mutationConfig;
     this.testPrioritiser = testPrioritiser;
-    this.source = new CachingByteArraySource(source, 200);
+    this.source = source;
+    this.classes = classes;
     this.interceptor = interceptor;
   }
 
@@ -57,8 +83,7 @@ public class MutationSource {
     if (availableMutations.isEmpty()) {
       return availableMutations;
     } else {
-      ClassTree tree = ClassTree
-          .fromBytes(this.source.getBytes(clazz.asJavaName()).value());
+      ClassTree tree = this.classes.analyse(clazz, TO_TREE).value();
 
       interceptor.begin(tree);
       Collection<MutationDetails> updatedMutations = interceptor
@@ -71,6 +96,15 @@ public class MutationSource {
     }
   }
   
+  private static F<byte[], ClassTree> toTree() {
+    return new F<byte[], ClassTree>() {
+      @Override
+      public ClassTree apply(final byte[] bytes) {
+        return ClassTree.fromBytes(bytes);
+      }
+    };
+  }
+
   private void assignTestsToMutations(
       final Collection<MutationDetails> availableMutations) {
     for (final MutationDetails mutation : availableMutations) {
@@ -19,8 +19,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
@@ -31,19 +38,33 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  private final List<MutationSource> mutationSources;
+  private final MutationAnalyser     analyser;
+  private final WorkerFactory        workerFactory;
+  private final MutationGrouper      grouper;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, Collections.singletonList(mutationSource),
+        grouper);
+  }
+
+  /**
+   * @param mutationSources
+   *          sources to find mutations with, each of which is used by a
+   *          single thread. Mutations for different classes are found
+   *          concurrently when more than one is supplied.
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final List<MutationSource> mutationSources, final MutationGrouper grouper) {
 
-    this.mutationSource = mutationSource;
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
@@ -53,8 +74,7 @@ public class MutationTestBuilder {
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<MutationAnalysisUnit>();
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+    final List<MutationDetails> mutations = findMutations(codeClasses);
 
     Collections.sort(mutations, comparator());
 
@@ -82,6 +102,91 @@ public class MutationTestBuilder {
     return tus;
   }
 
+  /**
+   * Lazily creates units for the classes a batch at a time, so that units for
+   * the first classes can be run while those for later classes are still
+   * being created. Units are ordered by priority within each batch.
+   */
+  public Iterable<MutationAnalysisUnit> createMutationTestUnits(
+      final Collection<ClassName> codeClasses, final int classesPerBatch) {
+    return new Iterable<MutationAnalysisUnit>() {
+      @Override
+      public Iterator<MutationAnalysisUnit> iterator() {
+        return new BatchIterator(codeClasses.iterator(), classesPerBatch);
+      }
+    };
+  }
+
+  private List<MutationDetails> findMutations(
+      final Collection<ClassName> codeClasses) {
+    if ((this.mutationSources.size() == 1) || (codeClasses.size() < 2)) {
+      return FCollection.flatMap(codeClasses,
+          classToMutations(this.mutationSources.get(0)));
+    }
+
+    final List<ClassName> classes = new ArrayList<ClassName>(codeClasses);
+    final List<Collection<MutationDetails>> found = new ArrayList<Collection<MutationDetails>>(
+        Collections.<Collection<MutationDetails>> nCopies(classes.size(), null));
+    final AtomicInteger next = new AtomicInteger();
+
+    final int threads = Math.min(this.mutationSources.size(), classes.size());
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<?>> futures = new ArrayList<Future<?>>();
+      for (final MutationSource each : this.mutationSources.subList(0, threads)) {
+        futures.add(executor.submit(findMutationsInTurn(each, classes, found,
+            next)));
+      }
+      for (final Future<?> each : futures) {
+        each.get();
+      }
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      throw rethrow(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // results are combined in the order of the classes, as they would be
+    // if found on a single thread
+    final List<MutationDetails> mutations = new ArrayList<MutationDetails>();
+    for (final Collection<MutationDetails> each : found) {
+      mutations.addAll(each);
+    }
+    return mutations;
+  }
+
+  // errors are passed on as they would be if found on the calling thread
+  private static RuntimeException rethrow(final Throwable t) {
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    return Unchecked.translateCheckedException(t);
+  }
+
+  /**
+   * Each thread takes the next class not yet claimed, so slow classes do not
+   * hold up a fixed share of the others
+   */
+  private static Runnable findMutationsInTurn(final MutationSource source,
+      final List<ClassName> classes,
+      final List<Collection<MutationDetails>> found, final AtomicInteger next) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        int i = next.getAndIncrement();
+        while (i < classes.size()) {
+          found.set(i, source.createMutations(classes.get(i)));
+          i = next.getAndIncrement();
+        }
+      }
+    };
+  }
+
   private Comparator<MutationDetails> comparator() {
     return new Comparator<MutationDetails>() {
 
@@ -93,11 +198,12 @@ public class MutationTestBuilder {
     };
   }
 
-  private F<ClassName, Iterable<MutationDetails>> classToMutations() {
+  private static F<ClassName, Iterable<MutationDetails>> classToMutations(
+      final MutationSource source) {
     return new F<ClassName, Iterable<MutationDetails>>() {
       @Override
       public Iterable<MutationDetails> apply(final ClassName a) {
-        return MutationTestBuilder.this.mutationSource.createMutations(a);
+        return source.createMutations(a);
       }
 
     };
@@ -118,6 +224,48 @@ public class MutationTestBuilder {
         this.workerFactory);
   }
 
+  private class BatchIterator implements Iterator<MutationAnalysisUnit> {
+    private final Iterator<ClassName>      classes;
+    private final int                      classesPerBatch;
+    private Iterator<MutationAnalysisUnit> batch = Collections
+                                                     .<MutationAnalysisUnit> emptyList()
+                                                     .iterator();
+
+    BatchIterator(final Iterator<ClassName> classes, final int classesPerBatch) {
+      this.classes = classes;
+      this.classesPerBatch = Math.max(1, classesPerBatch);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!this.batch.hasNext() && this.classes.hasNext()) {
+        this.batch = createMutationTestUnits(nextClasses()).iterator();
+      }
+      return this.batch.hasNext();
+    }
+
+    @Override
+    public MutationAnalysisUnit next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return this.batch.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    private List<ClassName> nextClasses() {
+      final List<ClassName> next = new ArrayList<ClassName>();
+      while (this.classes.hasNext() && (next.size() != this.classesPerBatch)) {
+        next.add(this.classes.next());
+      }
+      return next;
+    }
+  }
+
   private static F<MutationResult, MutationDetails> resultToDetails() {
     return new F<MutationResult, MutationDetails>() {
       @Override
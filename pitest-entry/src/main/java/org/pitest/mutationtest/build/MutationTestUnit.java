@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationStatusMap;
@@ -27,7 +28,7 @@ import org.pitest.mutationtest.execute.MutationTestProcess;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 
-public class MutationTestUnit implements MutationAnalysisUnit {
+public class MutationTestUnit implements StealableAnalysisUnit {
 
   private static final Logger               LOG = Log.getLogger();
 
@@ -35,31 +36,60 @@ public class MutationTestUnit implements MutationAnalysisUnit {
   private final WorkerFactory               workerFactory;
 
   private final Collection<ClassName>       testClasses;
+  private final long                        estimatedCost;
+
+  private UnclaimedMutations                unclaimed;
 
   public MutationTestUnit(final Collection<MutationDetails> availableMutations,
       final Collection<ClassName> testClasses, final WorkerFactory workerFactor) {
     this.availableMutations = availableMutations;
     this.testClasses = testClasses;
     this.workerFactory = workerFactor;
+    this.estimatedCost = UnclaimedMutations.estimateCost(availableMutations);
   }
 
   @Override
   public MutationMetaData call() throws Exception {
     final MutationStatusMap mutations = new MutationStatusMap();
 
-    mutations.setStatusForMutations(this.availableMutations,
-        DetectionStatus.NOT_STARTED);
+    Collection<MutationDetails> claimed = unclaimed().claim();
+    while (!claimed.isEmpty()) {
+      mutations.setStatusForMutations(claimed, DetectionStatus.NOT_STARTED);
+
+      mutations.markUncoveredMutations();
 
-    mutations.markUncoveredMutations();
+      runTestsInSeperateProcess(mutations);
 
-    runTestsInSeperateProcess(mutations);
+      claimed = unclaimed().claim();
+    }
 
     return reportResults(mutations);
   }
-  
+
+  /**
+   * Units are prioritised by the estimated time needed to run the tests for
+   * all their mutations
+   */
   @Override
   public int priority() {
-    return this.availableMutations.size();
+    return (int) Math.min(Integer.MAX_VALUE - 1, this.estimatedCost);
+  }
+
+  @Override
+  public Option<MutationAnalysisUnit> stealWork() {
+    final Collection<MutationDetails> stolen = unclaimed().steal();
+    if (stolen.isEmpty()) {
+      return Option.none();
+    }
+    return Option.<MutationAnalysisUnit> some(new MutationTestUnit(stolen,
+        this.testClasses, this.workerFactory));
+  }
+
+  private synchronized UnclaimedMutations unclaimed() {
+    if (this.unclaimed == null) {
+      this.unclaimed = new UnclaimedMutations(this.availableMutations);
+    }
+    return this.unclaimed;
   }
 
   private void runTestsInSeperateProcess(final MutationStatusMap mutations)
@@ -1,29 +1,33 @@
-/*
- * Copyright 2010 Henry Coles
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing,
- * software distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and limitations under the License.
- */
-
-package org.pitest.testapi.foreignclassloader;
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.build;
 
-import org.pitest.functional.SideEffect2;
-import org.pitest.testapi.Description;
-import org.pitest.testapi.ResultCollector;
+import org.pitest.functional.Option;
 
-public class Skipped implements SideEffect2<ResultCollector, Description> {
+/**
+ * A unit of mutation analysis that can give up part of its remaining work to
+ * an idle thread while it runs
+ */
+public interface StealableAnalysisUnit extends MutationAnalysisUnit {
 
-  @Override
-  public void apply(final ResultCollector rc, final Description description) {
-    rc.notifySkipped(description);
-  }
+  /**
+   * Removes part of the work the unit has not yet started
+   *
+   * @return a unit performing the removed work, or none if there is too little
+   *         left to be worth sharing
+   */
+  Option<MutationAnalysisUnit> stealWork();
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Mutations of a unit that have not yet been handed to a minion.
+ *
+ * The cost of each mutation is estimated as the time taken by the tests
+ * assigned to it, which is the time needed if it survives. The owning unit
+ * claims the mutations from the front in chunks, while idle threads may steal
+ * half of what remains from the back. Units estimated to cost less than two
+ * minimum chunks are claimed in one go, so are still run in a single minion.
+ */
+class UnclaimedMutations {
+
+  // estimated cost in ms of the smallest chunk worth launching a minion for
+  static final long                         MIN_CHUNK_COST    = 30000;
+
+  // allows for the time taken to create and insert each mutant
+  private static final long                 COST_PER_MUTATION = 1;
+
+  private final LinkedList<MutationDetails> remaining;
+  private long                              remainingCost;
+
+  UnclaimedMutations(final Collection<MutationDetails> mutations) {
+    this.remaining = new LinkedList<MutationDetails>(mutations);
+    this.remainingCost = estimateCost(mutations);
+  }
+
+  static long estimateCost(final Collection<MutationDetails> mutations) {
+    long cost = 0;
+    for (final MutationDetails each : mutations) {
+      cost = cost + estimateCost(each);
+    }
+    return cost;
+  }
+
+  private static long estimateCost(final MutationDetails mutation) {
+    long cost = COST_PER_MUTATION;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost = cost + each.getTime();
+    }
+    return cost;
+  }
+
+  /**
+   * Claims the next chunk for the owning unit
+   *
+   * @return the claimed mutations, empty once all have been claimed or stolen
+   */
+  synchronized List<MutationDetails> claim() {
+    if (this.remainingCost < (2 * MIN_CHUNK_COST)) {
+      final List<MutationDetails> all = new ArrayList<MutationDetails>(
+          this.remaining);
+      this.remaining.clear();
+      this.remainingCost = 0;
+      return all;
+    }
+
+    final long target = this.remainingCost / 2;
+    final List<MutationDetails> chunk = new ArrayList<MutationDetails>();
+    long cost = 0;
+    while (cost < target) {
+      final MutationDetails next = this.remaining.removeFirst();
+      cost = cost + estimateCost(next);
+      chunk.add(next);
+    }
+    this.remainingCost = this.remainingCost - cost;
+    return chunk;
+  }
+
+  /**
+   * Removes half the remaining mutations by cost from the back, if enough
+   * remain to split
+   */
+  synchronized List<MutationDetails> steal() {
+    if (this.remainingCost < (2 * MIN_CHUNK_COST)) {
+      return Collections.emptyList();
+    }
+
+    final long target = this.remainingCost / 2;
+    final LinkedList<MutationDetails> stolen = new LinkedList<MutationDetails>();
+    long cost = 0;
+    while (cost < target) {
+      final MutationDetails next = this.remaining.removeLast();
+      cost = cost + estimateCost(next);
+      stolen.addFirst(next);
+    }
+    this.remainingCost = this.remainingCost - cost;
+    return stolen;
+  }
+
+}
@@ -11,8 +11,11 @@ import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.engine.MutationDetails;
-import org.pitest.mutationtest.execute.MutationTestProcess;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
+import org.pitest.mutationtest.execute.SingleUseMutationTestProcess;
 import org.pitest.process.ProcessArgs;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.Log;
@@ -26,17 +29,53 @@ public class WorkerFactory {
   private final TimeoutLengthStrategy timeoutStrategy;
   private final boolean               verbose;
   private final MutationConfig        config;
+  private final MinionPool            pool;
+  private final boolean               useSchemata;
 
   public WorkerFactory(final File baseDir, final Configuration pitConfig,
       final MutationConfig mutationConfig,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
       final String classPath) {
+    this(baseDir, pitConfig, mutationConfig, timeoutStrategy, verbose,
+        classPath, 1);
+  }
+
+  /**
+   * @param unitsPerMinion
+   *          maximum number of mutation test units a minion may run before it
+   *          is replaced. Values greater than one keep minions alive in a
+   *          pool between units.
+   */
+  public WorkerFactory(final File baseDir, final Configuration pitConfig,
+      final MutationConfig mutationConfig,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final String classPath, final int unitsPerMinion) {
+    this(baseDir, pitConfig, mutationConfig, timeoutStrategy, verbose,
+        classPath, unitsPerMinion, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true minions combine the mutants of each class into a single
+   *          class where possible, rather than hot swapping each mutant
+   */
+  public WorkerFactory(final File baseDir, final Configuration pitConfig,
+      final MutationConfig mutationConfig,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final String classPath, final int unitsPerMinion,
+      final boolean useSchemata) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.classPath = classPath;
     this.baseDir = baseDir;
     this.config = mutationConfig;
+    this.useSchemata = useSchemata;
+    if (unitsPerMinion > 1) {
+      this.pool = new MinionPool(createProcessArgs(), unitsPerMinion);
+    } else {
+      this.pool = null;
+    }
   }
 
   public MutationTestProcess createWorker(
@@ -44,19 +83,34 @@ public class WorkerFactory {
       final Collection<ClassName> testClasses) {
     final MinionArguments fileArgs = new MinionArguments(remainingMutations,
         testClasses, this.config.getEngine(), this.timeoutStrategy,
-        Log.isVerbose(), this.pitConfig);
+        Log.isVerbose(), this.pitConfig, this.pool != null, this.useSchemata);
 
-    final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
-        .andLaunchOptions(this.config.getLaunchOptions())
-        .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
-        .andStderr(printWith("stderr "));
+    if (this.pool != null) {
+      return new PooledMutationTestProcess(this.pool, fileArgs);
+    }
 
     final SocketFinder sf = new SocketFinder();
-    final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
+    final MutationTestProcess worker = new SingleUseMutationTestProcess(
+        sf.getNextAvailableServerSocket(), createProcessArgs(), fileArgs);
     return worker;
   }
 
+  /**
+   * Stops any minions kept alive between units
+   */
+  public void shutdown() {
+    if (this.pool != null) {
+      this.pool.shutdown();
+    }
+  }
+
+  private ProcessArgs createProcessArgs() {
+    return ProcessArgs.withClassPath(this.classPath)
+        .andLaunchOptions(this.config.getLaunchOptions())
+        .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
+        .andStderr(printWith("stderr "));
+  }
+
   private SideEffect1<String> captureStdOutIfVerbose() {
     if (this.verbose) {
       return Prelude.printWith("stdout ");
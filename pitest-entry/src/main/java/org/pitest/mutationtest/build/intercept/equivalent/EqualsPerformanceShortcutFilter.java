@@ -12,6 +12,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.FrameNode;
 import org.objectweb.asm.tree.LineNumberNode;
+import org.pitest.bytecode.analysis.AnalysisFunctions;
 import org.pitest.bytecode.analysis.ClassTree;
 import org.pitest.bytecode.analysis.InstructionMatchers;
 import org.pitest.bytecode.analysis.MethodMatchers;
@@ -100,8 +101,7 @@ public class EqualsPerformanceShortcutFilter implements MutationInterceptor {
       return false;
     }
     
-    ClassTree mutant = ClassTree.fromBytes(m.getMutation(a.getId()).getBytes());
-    MethodTree mutantEquals = mutant.methods().findFirst(MethodMatchers.forLocation(tree.asLocation())).value();
+    MethodTree mutantEquals = AnalysisFunctions.mutatedMethod(m, a.getId()).value();
     
     return ALWAYS_FALSE.matches(mutantEquals.instructions());
   }
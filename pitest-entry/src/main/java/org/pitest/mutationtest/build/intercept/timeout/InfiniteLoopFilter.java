@@ -1,5 +1,6 @@
 package org.pitest.mutationtest.build.intercept.timeout;
 
+import static org.pitest.bytecode.analysis.AnalysisFunctions.mutatedMethod;
 import static org.pitest.bytecode.analysis.InstructionMatchers.isA;
 import static org.pitest.bytecode.analysis.MethodMatchers.forLocation;
 
@@ -81,8 +82,7 @@ public abstract class InfiniteLoopFilter implements MutationInterceptor {
   }
 
   private boolean isInfiniteLoop(MutationDetails each, Mutater m) {
-    ClassTree mutantClass = ClassTree.fromBytes(m.getMutation(each.getId()).getBytes());
-    Option<MethodTree> mutantMethod = mutantClass.methods().findFirst(forLocation(each.getId().getLocation()));
+    Option<MethodTree> mutantMethod = mutatedMethod(m, each.getId());
     return infiniteLoopMatcher().matches(mutantMethod.value().instructions());
   }
   
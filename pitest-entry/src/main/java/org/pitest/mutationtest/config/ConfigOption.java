@@ -139,6 +139,18 @@ public enum ConfigOption {
    */
   MUTATION_UNIT_SIZE("mutationUnitSize", 0),
 
+  /**
+   * Maximum number of mutation test units a minion may run before it is
+   * replaced. Values greater than one reuse minions between units.
+   */
+  UNITS_PER_MINION("unitsPerMinion", 1),
+
+  /**
+   * Combine the mutants of each class into a single class and switch between
+   * them at runtime, rather than hot swapping each mutant
+   */
+  MUTANT_SCHEMATA("mutantSchemata", false),
+
   /**
    * Do/don't attempt to detect inlined code from finally blocks
    */
@@ -179,6 +191,12 @@ public enum ConfigOption {
    */
   EXPORT_LINE_COVERAGE("exportLineCoverage", false),
 
+  /**
+   * Hold coverage in a compact per class index. Reduces memory use and lookup
+   * time for large code bases
+   */
+  INDEXED_COVERAGE("indexedCoverage", false),
+
   /**
    * Include launch classpath in analysis
    */
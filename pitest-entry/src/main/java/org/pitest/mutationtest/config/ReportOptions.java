@@ -18,10 +18,6 @@ import static org.pitest.functional.prelude.Prelude.not;
 import static org.pitest.functional.prelude.Prelude.or;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -37,20 +33,15 @@ import org.pitest.classpath.PathFilter;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
-import org.pitest.functional.Option;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
-import org.pitest.mutationtest.incremental.FileWriterFactory;
-import org.pitest.mutationtest.incremental.NullWriterFactory;
-import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.testapi.execute.Pitest;
 import org.pitest.util.Glob;
 import org.pitest.util.ResultOutputStrategy;
-import org.pitest.util.Unchecked;
 
 // FIXME move all logic to SettingsFactory and turn into simple bean
 
@@ -113,6 +104,9 @@ public class ReportOptions {
   private boolean                        shouldCreateTimestampedReports = true;
   private boolean                        detectInlinedCode              = false;
   private boolean                        exportLineCoverage             = false;
+  private boolean                        indexedCoverage                = false;
+  private int                            unitsPerMinion                 = 1;
+  private boolean                        mutantSchemata                 = false;
   private int                            mutationThreshold;
   private int                            coverageThreshold;
 
@@ -451,31 +445,6 @@ public class ReportOptions {
     this.detectInlinedCode = b;
   }
 
-  public WriterFactory createHistoryWriter() {
-    if (this.historyOutputLocation == null) {
-      return new NullWriterFactory();
-    }
-
-    return new FileWriterFactory(this.historyOutputLocation);
-  }
-
-  public Option<Reader> createHistoryReader() {
-    if (this.historyInputLocation == null) {
-      return Option.none();
-    }
-
-    try {
-      if (this.historyInputLocation.exists()
-          && (this.historyInputLocation.length() > 0)) {
-        return Option.<Reader> some(new InputStreamReader(new FileInputStream(
-            this.historyInputLocation), "UTF-8"));
-      }
-      return Option.none();
-    } catch (final IOException ex) {
-      throw Unchecked.translateCheckedException(ex);
-    }
-  }
-
   public void setHistoryInputLocation(final File historyInputLocation) {
     this.historyInputLocation = historyInputLocation;
   }
@@ -500,6 +469,30 @@ public class ReportOptions {
     return this.exportLineCoverage;
   }
 
+  public void setIndexedCoverage(final boolean value) {
+    this.indexedCoverage = value;
+  }
+
+  public boolean useIndexedCoverage() {
+    return this.indexedCoverage;
+  }
+
+  public int getUnitsPerMinion() {
+    return this.unitsPerMinion;
+  }
+
+  public void setUnitsPerMinion(final int unitsPerMinion) {
+    this.unitsPerMinion = unitsPerMinion;
+  }
+
+  public void setMutantSchemata(final boolean value) {
+    this.mutantSchemata = value;
+  }
+
+  public boolean useMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
   public int getMutationThreshold() {
     return this.mutationThreshold;
   }
@@ -582,9 +575,12 @@ public class ReportOptions {
         + verbose + ", failWhenNoMutations=" + failWhenNoMutations
         + ", outputs=" + outputs + ", groupConfig=" + groupConfig
         + ", mutationUnitSize=" + mutationUnitSize
+        + ", unitsPerMinion=" + unitsPerMinion
+        + ", mutantSchemata=" + mutantSchemata
         + ", shouldCreateTimestampedReports=" + shouldCreateTimestampedReports
         + ", detectInlinedCode=" + detectInlinedCode + ", exportLineCoverage="
-        + exportLineCoverage + ", mutationThreshold=" + mutationThreshold
+        + exportLineCoverage + ", indexedCoverage=" + indexedCoverage
+        + ", mutationThreshold=" + mutationThreshold
         + ", coverageThreshold=" + coverageThreshold + ", mutationEngine="
         + mutationEngine + ", javaExecutable=" + javaExecutable
         + ", includeLaunchClasspath=" + includeLaunchClasspath
@@ -9,6 +9,7 @@ import java.util.List;
 
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.coverage.CoverageExporter;
+import org.pitest.coverage.execute.CoverageCache;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.export.DefaultCoverageExporter;
 import org.pitest.coverage.export.NullCoverageExporter;
@@ -63,6 +64,25 @@ public class SettingsFactory {
     }
   }
 
+  public CoverageCache createCoverageCache() {
+    return CoverageCache.besideHistory(this.options.getHistoryInputLocation(),
+        this.options.getHistoryOutputLocation(), coverageSettings());
+  }
+
+  // the settings other than the code itself that affect which classes are
+  // instrumented and how the tests are run while coverage is gathered
+  private String coverageSettings() {
+    return "targetClasses=" + this.options.getTargetClasses()
+        + ", excludedClasses=" + this.options.getExcludedClasses()
+        + ", excludedMethods=" + this.options.getExcludedMethods()
+        + ", testPlugin=" + testFrameworkPluginFactory().getClass().getName()
+        + ", groupConfig=" + this.options.getGroupConfig()
+        + ", excludedRunners=" + this.options.getExcludedRunners()
+        + ", jvmArgs=" + this.options.getJvmArgs()
+        + ", dependencyDistance="
+        + this.options.getDependencyAnalysisMaxDistance();
+  }
+
   public MutationEngineFactory createEngine() {
     for (final MutationEngineFactory each : this.plugins.findMutationEngines()) {
       if (each.name().equals(this.options.getMutationEngine())) {
@@ -117,13 +137,16 @@ public class SettingsFactory {
   }
 
   public Configuration getTestFrameworkPlugin() {
+    return testFrameworkPluginFactory().createTestFrameworkConfiguration(
+        this.options.getGroupConfig(),
+        new ClassPathByteArraySource(this.options.getClassPath()),
+        this.options.getExcludedRunners());
+  }
 
+  private TestPluginFactory testFrameworkPluginFactory() {
     final Collection<? extends TestPluginFactory> testPlugins = this.plugins
         .findTestFrameworkPlugins();
-    return firstOrDefault(testPlugins, new LegacyTestFrameworkPlugin())
-        .createTestFrameworkConfiguration(this.options.getGroupConfig(),
-            new ClassPathByteArraySource(this.options.getClassPath()),
-            this.options.getExcludedRunners());
+    return firstOrDefault(testPlugins, new LegacyTestFrameworkPlugin());
   }
 
   @SuppressWarnings("unchecked")
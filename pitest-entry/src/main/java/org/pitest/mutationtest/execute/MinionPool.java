@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+import org.pitest.util.SocketFinder;
+
+/**
+ * Keeps mutation minions alive between mutation test units so that the cost
+ * of launching a JVM, loading classes and warming up the JIT is paid once per
+ * minion rather than once per unit.
+ *
+ * A minion is returned to the pool only if it exits its unit cleanly. Minions
+ * that time out, run out of memory or fail are discarded, as are those that
+ * have run the maximum number of units, which limits how long any state left
+ * behind by earlier mutants can persist.
+ */
+public class MinionPool {
+
+  private static final Logger      LOG  = Log.getLogger();
+
+  private final ProcessArgs        processArgs;
+  private final int                maxUnitsPerMinion;
+  private final Deque<PooledMinion> idle = new ArrayDeque<PooledMinion>();
+  private final Set<PooledMinion>  live = new HashSet<PooledMinion>();
+
+  private boolean                  shutdown;
+
+  public MinionPool(final ProcessArgs processArgs, final int maxUnitsPerMinion) {
+    this.processArgs = processArgs;
+    this.maxUnitsPerMinion = maxUnitsPerMinion;
+  }
+
+  PooledMinion acquire() throws IOException {
+    synchronized (this) {
+      if (!this.idle.isEmpty()) {
+        return this.idle.pop();
+      }
+    }
+
+    final PooledMinion minion = new PooledMinion(
+        new SocketFinder().getNextAvailableServerSocket(), this.processArgs);
+    synchronized (this) {
+      this.live.add(minion);
+    }
+    minion.start();
+    return minion;
+  }
+
+  void release(final PooledMinion minion, final ExitCode exitCode) {
+    synchronized (this) {
+      if (!this.shutdown && exitCode.isOk()
+          && (minion.getUnitsRun() < this.maxUnitsPerMinion)) {
+        this.idle.push(minion);
+        return;
+      }
+      this.live.remove(minion);
+    }
+    LOG.fine("Retiring minion after " + minion.getUnitsRun()
+        + " units with exit code " + exitCode);
+    minion.destroy();
+  }
+
+  public void shutdown() {
+    final List<PooledMinion> toDestroy;
+    synchronized (this) {
+      this.shutdown = true;
+      toDestroy = new ArrayList<PooledMinion>(this.live);
+      this.live.clear();
+      this.idle.clear();
+    }
+    for (final PooledMinion each : toDestroy) {
+      each.destroy();
+    }
+  }
+
+}
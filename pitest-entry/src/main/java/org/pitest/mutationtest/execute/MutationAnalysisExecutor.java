@@ -1,30 +1,63 @@
 package org.pitest.mutationtest.execute;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.StealableAnalysisUnit;
 import org.pitest.util.Log;
 import org.pitest.util.Unchecked;
 
+/**
+ * Runs units of mutation analysis in a thread pool, passing the results of
+ * each unit to the listeners as soon as the unit completes.
+ *
+ * Completed results are handed to the calling thread through a bounded queue,
+ * and the listeners are called only from that thread. While the queue is full
+ * the pool threads wait before starting further units, so results cannot pile
+ * up faster than the listeners consume them.
+ *
+ * Units are taken from the supplied iterable by a separate thread as the pool
+ * is ready for them, so they may still be being created while earlier units
+ * run. Only a few units are held waiting to start at any one time.
+ *
+ * When a thread finishes a unit and no units are waiting to start, it steals
+ * part of the remaining work of a running {@link StealableAnalysisUnit} and
+ * runs it as a new unit.
+ */
 public class MutationAnalysisExecutor {
 
-  private static final Logger                LOG = Log.getLogger();
+  private static final Logger                           LOG = Log.getLogger();
 
-  private final List<MutationResultListener> listeners;
-  private final ThreadPoolExecutor           executor;
+  private final List<MutationResultListener>            listeners;
+  private final ThreadPoolExecutor                      executor;
+  private final BlockingQueue<Future<MutationMetaData>> completed;
+  private final List<StealableAnalysisUnit>             running;
+  // units started or queued whose results have not yet been passed on
+  private final AtomicInteger                           pending;
+  // limits the units taken from the iterable that have not yet started
+  private final Semaphore                               waiting;
 
   public MutationAnalysisExecutor(int numberOfThreads,
       List<MutationResultListener> listeners) {
@@ -32,29 +65,36 @@ public class MutationAnalysisExecutor {
     this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
         10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
         Executors.defaultThreadFactory());
+    this.completed = new ArrayBlockingQueue<Future<MutationMetaData>>(
+        Math.max(1, numberOfThreads));
+    this.running = Collections
+        .synchronizedList(new ArrayList<StealableAnalysisUnit>());
+    this.pending = new AtomicInteger();
+    this.waiting = new Semaphore(Math.max(1, numberOfThreads));
   }
 
   // entry point for mutation testing
-  public void run(final List<MutationAnalysisUnit> testUnits) {
-
-    LOG.fine("Running " + testUnits.size() + " units");
+  public void run(final Iterable<MutationAnalysisUnit> testUnits) {
 
     signalRunStartToAllListeners();
 
-    List<Future<MutationMetaData>> results = new ArrayList<Future<MutationMetaData>>(
-        testUnits.size());
-
-    for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
-    }
-
-    this.executor.shutdown();
+    // the submitter places itself on the completed queue when done, so is
+    // counted as pending until then
+    this.pending.incrementAndGet();
+    final Thread submitter = new Thread(new QueuedTask(submitAll(testUnits)),
+        "pit-unit-submitter");
+    submitter.setDaemon(true);
+    submitter.start();
 
     try {
-      processResult(results);
+      processResults();
+      // stolen work may be submitted until the last result arrives
+      this.executor.shutdown();
     } catch (InterruptedException e) {
+      stop(submitter);
       throw Unchecked.translateCheckedException(e);
     } catch (ExecutionException e) {
+      stop(submitter);
       throw Unchecked.translateCheckedException(e);
     }
 
@@ -62,10 +102,39 @@ public class MutationAnalysisExecutor {
 
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
-      throws InterruptedException, ExecutionException {
-    for (Future<MutationMetaData> f : results) {
-      MutationMetaData r = f.get();
+  private Callable<MutationMetaData> submitAll(
+      final Iterable<MutationAnalysisUnit> testUnits) {
+    return new Callable<MutationMetaData>() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        int count = 0;
+        for (final MutationAnalysisUnit unit : testUnits) {
+          MutationAnalysisExecutor.this.waiting.acquire();
+          submit(new CompletingTask(unit, true));
+          count++;
+        }
+        LOG.fine("Submitted " + count + " units");
+        return new MutationMetaData(Collections.<MutationResult> emptyList());
+      }
+    };
+  }
+
+  private void stop(final Thread submitter) {
+    // interrupts any threads waiting to hand over results
+    this.executor.shutdownNow();
+    submitter.interrupt();
+  }
+
+  private void submit(final CompletingTask task) {
+    this.pending.incrementAndGet();
+    this.executor.execute(task);
+  }
+
+  private void processResults() throws InterruptedException,
+      ExecutionException {
+    while (this.pending.get() != 0) {
+      MutationMetaData r = this.completed.take().get();
+      this.pending.decrementAndGet();
       for (MutationResultListener l : this.listeners) {
         for (final ClassMutationResults cr : r.toClassResults()) {
           l.handleMutationResult(cr);
@@ -94,4 +163,75 @@ public class MutationAnalysisExecutor {
         });
   }
 
+  private void stealWork() {
+    final List<StealableAnalysisUnit> candidates;
+    synchronized (this.running) {
+      candidates = new ArrayList<StealableAnalysisUnit>(this.running);
+    }
+    for (final StealableAnalysisUnit each : candidates) {
+      final Option<MutationAnalysisUnit> stolen = each.stealWork();
+      if (stolen.hasSome()) {
+        submit(new CompletingTask(stolen.value(), false));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Places itself on the completed queue once run, whether or not it succeeded
+   */
+  private class QueuedTask extends FutureTask<MutationMetaData> {
+
+    QueuedTask(final Callable<MutationMetaData> callable) {
+      super(callable);
+    }
+
+    @Override
+    protected void done() {
+      try {
+        MutationAnalysisExecutor.this.completed.put(this);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+  }
+
+  private class CompletingTask extends QueuedTask {
+
+    private final MutationAnalysisUnit unit;
+    // true if the unit was taken from the iterable rather than stolen
+    private final boolean              submitted;
+
+    CompletingTask(final MutationAnalysisUnit unit, final boolean submitted) {
+      super(unit);
+      this.unit = unit;
+      this.submitted = submitted;
+    }
+
+    @Override
+    public void run() {
+      if (this.submitted) {
+        MutationAnalysisExecutor.this.waiting.release();
+      }
+      if (this.unit instanceof StealableAnalysisUnit) {
+        MutationAnalysisExecutor.this.running
+            .add((StealableAnalysisUnit) this.unit);
+      }
+      super.run();
+    }
+
+    @Override
+    protected void done() {
+      MutationAnalysisExecutor.this.running.remove(this.unit);
+      // stolen work is submitted before this result is counted as passed on
+      if (MutationAnalysisExecutor.this.executor.getQueue().isEmpty()
+          && !MutationAnalysisExecutor.this.executor.isShutdown()) {
+        stealWork();
+      }
+      super.done();
+    }
+
+  }
+
 }
@@ -42,12 +42,12 @@ public class MutationTestCommunicationThread extends CommunicationThread {
 
     @Override
     public void apply(final SafeDataOutputStream dos) {
-      dos.write(this.arguments);
+      MinionProtocol.writeArguments(dos, this.arguments);
       dos.flush();
     }
   }
 
-  private static class Receive implements ReceiveStrategy {
+  static class Receive implements ReceiveStrategy {
 
     private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
 
@@ -68,15 +68,14 @@ public class MutationTestCommunicationThread extends CommunicationThread {
     }
 
     private void handleReport(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
-      final MutationStatusTestPair value = is
-          .read(MutationStatusTestPair.class);
+      final MutationIdentifier mutation = MinionProtocol.readMutationId(is);
+      final MutationStatusTestPair value = MinionProtocol.readStatus(is);
       this.idMap.put(mutation, value);
       LOG.fine(mutation + " " + value);
     }
 
     private void handleDescribe(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = MinionProtocol.readMutationId(is);
       this.idMap.put(mutation, new MutationStatusTestPair(1,
           DetectionStatus.STARTED));
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * A mutation minion that is kept alive between mutation test units. Each call
+ * to run sends a new set of arguments over the socket opened when the minion
+ * started and blocks until the minion reports that it is done.
+ */
+class PooledMinion {
+
+  private static final Logger   LOG = Log.getLogger();
+
+  private final ServerSocket    socket;
+  private final WrappingProcess process;
+
+  private Socket                connection;
+  private SafeDataInputStream   is;
+  private SafeDataOutputStream  os;
+  private int                   unitsRun;
+
+  PooledMinion(final ServerSocket socket, final ProcessArgs processArgs) {
+    this.socket = socket;
+    this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
+        MutationTestMinion.class);
+  }
+
+  void start() throws IOException {
+    this.process.start();
+    this.connection = this.socket.accept();
+    this.is = new SafeDataInputStream(new BufferedInputStream(
+        this.connection.getInputStream()));
+    this.os = new SafeDataOutputStream(this.connection.getOutputStream());
+  }
+
+  ExitCode run(final MinionArguments arguments, final ReceiveStrategy receive) {
+    try {
+      if (this.unitsRun != 0) {
+        this.os.writeBoolean(true);
+      }
+      MinionProtocol.writeArguments(this.os, arguments);
+      this.os.flush();
+      this.unitsRun++;
+      return receiveResults(receive);
+    } catch (final RuntimeException e) {
+      LOG.log(Level.WARNING, "Error while communicating with minion", e);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  int getUnitsRun() {
+    return this.unitsRun;
+  }
+
+  /**
+   * Asks the minion to exit then kills the process in case it does not
+   */
+  void destroy() {
+    try {
+      if (this.os != null) {
+        this.os.writeBoolean(false);
+        this.os.flush();
+      }
+    } catch (final RuntimeException e) {
+      LOG.fine("Minion already gone");
+    } finally {
+      closeSockets();
+      this.process.destroy();
+    }
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, this.is);
+      control = this.is.readByte();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+  private void closeSockets() {
+    try {
+      if (this.connection != null) {
+        this.connection.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Couldn't close socket", e);
+    }
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.ExitCode;
+
+/**
+ * Runs mutations in a minion borrowed from a {@link MinionPool}.
+ */
+public class PooledMutationTestProcess implements MutationTestProcess {
+
+  private final MinionPool                                      pool;
+  private final MinionArguments                                 arguments;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+
+  private PooledMinion                                          minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final MinionArguments arguments) {
+    this.pool = pool;
+    this.arguments = arguments;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.minion = this.pool.acquire();
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final ExitCode exitCode = this.minion.run(this.arguments,
+        new MutationTestCommunicationThread.Receive(this.idMap));
+    this.pool.release(this.minion, exitCode);
+    return exitCode;
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+}
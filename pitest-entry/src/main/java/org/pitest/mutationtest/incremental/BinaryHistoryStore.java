@@ -0,0 +1,613 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * History store using a compact binary file.
+ *
+ * The file holds a header followed by length prefixed records, the class
+ * path first and then one record per mutation result. When the store is
+ * closed an index of the results, sorted by the hash of their mutation
+ * identifier, is appended. A later run memory maps the file and decodes the
+ * class path, but decodes each result only when it is looked up. Files
+ * without an index, for example from a run that was killed, are read in
+ * full.
+ *
+ * Results are encoded as they are recorded and written in batches by a
+ * background thread. The new history is written beside the output location
+ * and moved into place on close, so the input and output may be the same
+ * file.
+ *
+ * History files written by {@link XStreamHistoryStore} can still be read.
+ */
+public class BinaryHistoryStore implements HistoryStore {
+
+  private static final Logger                             LOG               = Log
+                                                                              .getLogger();
+
+  static final int                                        MAGIC             = 0x50495448;
+  static final int                                        VERSION           = 2;
+
+  private static final byte                               CLASS             = 1;
+  private static final byte                               RESULT            = 2;
+  private static final byte                               INDEX             = 3;
+
+  private static final int                                HEADER_SIZE       = 8;
+  // type and length
+  private static final int                                RECORD_START      = 5;
+  // index offset and magic
+  private static final int                                TRAILER_SIZE      = 8;
+  // hash and offset
+  private static final int                                INDEX_ENTRY       = 8;
+
+  private static final int                                BATCH_SIZE        = 64 * 1024;
+
+  private final Option<File>                              input;
+  private final Option<File>                              output;
+
+  private final Map<ClassName, ClassHistory>              previousClassPath = new HashMap<ClassName, ClassHistory>();
+  private Map<MutationIdentifier, MutationStatusTestPair> previousResults   = Collections
+                                                                                .emptyMap();
+
+  private ExecutorService                                 writer;
+  private OutputStream                                    out;
+  private ByteArrayOutputStream                           batch;
+  private int                                             written;
+  private long[]                                          index             = new long[1024];
+  private int                                             indexSize;
+  private volatile IOException                            writeFailure;
+  private boolean                                         closed;
+
+  public BinaryHistoryStore(final Option<File> input, final Option<File> output) {
+    this.input = input;
+    this.output = output;
+  }
+
+  @Override
+  public void initialize() {
+    if (this.input.hasNone() || !this.input.value().exists()
+        || (this.input.value().length() == 0)) {
+      return;
+    }
+
+    try {
+      if (hasBinaryHeader(this.input.value())) {
+        read(this.input.value());
+      } else {
+        readXml(this.input.value());
+      }
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous history " + e.getMessage());
+    } catch (final RuntimeException e) {
+      // the buffer signals truncated or corrupt files with runtime exceptions
+      LOG.warning("Could not read previous history " + e);
+      this.previousClassPath.clear();
+      this.previousResults = Collections.emptyMap();
+    }
+  }
+
+  @Override
+  public synchronized void recordClassPath(
+      final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    if (this.output.hasNone()) {
+      return;
+    }
+    final Map<ClassName, Integer> testTimes = TestTimes.byDefiningClass(ids,
+        coverageInfo);
+    for (final HierarchicalClassId each : ids) {
+      final ClassHistory history = new ClassHistory(each, coverageInfo
+          .getCoverageIdForClass(each.getName()).toString(16),
+          TestTimes.timeFor(testTimes, each.getName()));
+      append(CLASS, encode(history));
+    }
+  }
+
+  @Override
+  public synchronized void recordResult(final MutationResult result) {
+    if (this.output.hasNone()) {
+      return;
+    }
+    ensureOpen();
+    final MutationIdentifier id = result.getDetails().getId();
+    addToIndex(id.hashCode(), this.written);
+    append(RESULT, encode(id, result.getStatusTestPair()));
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  /**
+   * Writes the index and moves the new history into place. Must be called
+   * once all results have been recorded. If nothing was recorded an empty
+   * history is written, so that of a previous run is not left in place.
+   */
+  public synchronized void close() {
+    if (this.output.hasNone() || this.closed) {
+      return;
+    }
+    this.closed = true;
+    ensureOpen();
+
+    final int indexOffset = this.written;
+    final long[] sorted = Arrays.copyOf(this.index, this.indexSize);
+    Arrays.sort(sorted);
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream(4
+        + (sorted.length * INDEX_ENTRY));
+    final DataOutputStream dos = new DataOutputStream(bos);
+    try {
+      dos.writeInt(sorted.length);
+      for (final long each : sorted) {
+        dos.writeInt((int) (each >> 32));
+        dos.writeInt((int) each);
+      }
+      append(INDEX, bos.toByteArray());
+      final DataOutputStream trailer = new DataOutputStream(this.batch);
+      trailer.writeInt(indexOffset);
+      trailer.writeInt(MAGIC);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    writeBatch();
+    this.writer.shutdown();
+    try {
+      this.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      this.out.close();
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    this.out = null;
+
+    if (this.writeFailure != null) {
+      LOG.warning("Could not write history " + this.writeFailure.getMessage());
+    } else {
+      moveIntoPlace(temporaryFile(this.output.value()), this.output.value());
+    }
+  }
+
+  private void append(final byte type, final byte[] record) {
+    ensureOpen();
+
+    final DataOutputStream dos = new DataOutputStream(this.batch);
+    try {
+      dos.writeByte(type);
+      dos.writeInt(record.length);
+      dos.write(record);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    this.written = this.written + RECORD_START + record.length;
+
+    if (this.batch.size() >= BATCH_SIZE) {
+      writeBatch();
+    }
+  }
+
+  private void ensureOpen() {
+    if (this.out != null) {
+      return;
+    }
+    final File file = temporaryFile(this.output.value());
+    file.getAbsoluteFile().getParentFile().mkdirs();
+    try {
+      this.out = new BufferedOutputStream(new FileOutputStream(file));
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    this.writer = Executors.newSingleThreadExecutor(daemonThreads());
+    this.batch = new ByteArrayOutputStream(BATCH_SIZE * 2);
+    final DataOutputStream dos = new DataOutputStream(this.batch);
+    try {
+      dos.writeInt(MAGIC);
+      dos.writeInt(VERSION);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    this.written = HEADER_SIZE;
+  }
+
+  private void writeBatch() {
+    final byte[] bytes = this.batch.toByteArray();
+    this.batch.reset();
+    final OutputStream os = this.out;
+    this.writer.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (BinaryHistoryStore.this.writeFailure != null) {
+          return;
+        }
+        try {
+          os.write(bytes);
+        } catch (final IOException e) {
+          BinaryHistoryStore.this.writeFailure = e;
+        }
+      }
+    });
+  }
+
+  private void addToIndex(final int hash, final int offset) {
+    if (this.indexSize == this.index.length) {
+      this.index = Arrays.copyOf(this.index, this.index.length * 2);
+    }
+    // sorting the packed values sorts by hash
+    this.index[this.indexSize] = ((long) hash << 32) | (offset & 0xffffffffL);
+    this.indexSize++;
+  }
+
+  private static void moveIntoPlace(final File from, final File to) {
+    if (!from.renameTo(to) && !(to.delete() && from.renameTo(to))) {
+      LOG.warning("Could not replace history file " + to
+          + ". History was written to " + from);
+    }
+  }
+
+  static File temporaryFile(final File output) {
+    return new File(output.getPath() + ".tmp");
+  }
+
+  private static ThreadFactory daemonThreads() {
+    return new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread t = new Thread(r, "pit-history-writer");
+        t.setDaemon(true);
+        return t;
+      }
+    };
+  }
+
+  private static boolean hasBinaryHeader(final File file) throws IOException {
+    final DataInputStream dis = new DataInputStream(new FileInputStream(file));
+    try {
+      return (file.length() >= HEADER_SIZE) && (dis.readInt() == MAGIC);
+    } finally {
+      dis.close();
+    }
+  }
+
+  private void readXml(final File file) throws IOException {
+    LOG.info("Reading history written in xml. It will be written in binary.");
+    final XStreamHistoryStore xml = new XStreamHistoryStore(
+        new NullWriterFactory(), Option.<Reader> some(new InputStreamReader(
+            new FileInputStream(file), "UTF-8")));
+    xml.initialize();
+    this.previousClassPath.putAll(xml.getHistoricClassPath());
+    this.previousResults = xml.getHistoricResults();
+  }
+
+  private void read(final File file) throws IOException {
+    final ByteBuffer buffer = map(file);
+    if (buffer.getInt(4) != VERSION) {
+      LOG.warning("Ignoring history written by a different version of pitest");
+      return;
+    }
+
+    int position = HEADER_SIZE;
+    while ((position < buffer.limit()) && (buffer.get(position) == CLASS)) {
+      final ClassHistory each = decodeClass(record(buffer, position));
+      this.previousClassPath.put(each.getName(), each);
+      position = next(buffer, position);
+    }
+
+    final Option<ByteBuffer> index = findIndex(buffer);
+    if (index.hasSome()) {
+      this.previousResults = new IndexedResults(buffer, index.value());
+    } else {
+      LOG.info("History has no index. Reading all results.");
+      this.previousResults = readAllResults(buffer, position);
+    }
+  }
+
+  private static ByteBuffer map(final File file) throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      // the mapping remains valid once the channel is closed
+      return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+          raf.length());
+    } finally {
+      raf.close();
+    }
+  }
+
+  private static Option<ByteBuffer> findIndex(final ByteBuffer buffer) {
+    final int limit = buffer.limit();
+    if ((limit < (HEADER_SIZE + TRAILER_SIZE))
+        || (buffer.getInt(limit - 4) != MAGIC)) {
+      return Option.none();
+    }
+    final int indexOffset = buffer.getInt(limit - TRAILER_SIZE);
+    if ((indexOffset < HEADER_SIZE) || (indexOffset >= limit)
+        || (buffer.get(indexOffset) != INDEX)) {
+      return Option.none();
+    }
+    final ByteBuffer index = slice(buffer, indexOffset + RECORD_START,
+        buffer.getInt(indexOffset + 1));
+    return Option.some(index);
+  }
+
+  private static Map<MutationIdentifier, MutationStatusTestPair> readAllResults(
+      final ByteBuffer buffer, final int start) throws IOException {
+    final Map<MutationIdentifier, MutationStatusTestPair> results = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+    int position = start;
+    while ((position + RECORD_START) <= buffer.limit()) {
+      if (buffer.get(position) == RESULT) {
+        final DataInputStream dis = record(buffer, position);
+        results.put(decodeId(dis), decodeStatus(dis));
+      }
+      position = next(buffer, position);
+    }
+    return results;
+  }
+
+  private static int next(final ByteBuffer buffer, final int position) {
+    return position + RECORD_START + buffer.getInt(position + 1);
+  }
+
+  private static DataInputStream record(final ByteBuffer buffer,
+      final int position) {
+    final int length = buffer.getInt(position + 1);
+    final byte[] bytes = new byte[length];
+    slice(buffer, position + RECORD_START, length).get(bytes);
+    return new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  // a view that can be read without affecting other readers of the buffer
+  private static ByteBuffer slice(final ByteBuffer buffer, final int position,
+      final int length) {
+    if ((position + length) > buffer.limit()) {
+      throw new BufferUnderflowException();
+    }
+    final ByteBuffer view = buffer.duplicate();
+    view.position(position);
+    view.limit(position + length);
+    return view.slice();
+  }
+
+  private static byte[] encode(final ClassHistory history) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final DataOutputStream dos = new DataOutputStream(bos);
+    try {
+      final HierarchicalClassId id = history.getId();
+      dos.writeUTF(id.getName().asJavaName());
+      dos.writeLong(id.getId().getHash());
+      dos.writeUTF(id.getHierarchicalHash());
+      dos.writeUTF(history.getCoverageId());
+      dos.writeInt(history.getTestTime());
+      dos.writeInt(id.getMethodHashes().size());
+      for (final Entry<String, Long> each : id.getMethodHashes().entrySet()) {
+        dos.writeUTF(each.getKey());
+        dos.writeLong(each.getValue());
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    return bos.toByteArray();
+  }
+
+  private static ClassHistory decodeClass(final DataInputStream dis)
+      throws IOException {
+    final ClassName name = ClassName.fromString(dis.readUTF());
+    final long hash = dis.readLong();
+    final String hierarchicalHash = dis.readUTF();
+    final String coverageId = dis.readUTF();
+    final int testTime = dis.readInt();
+    final int numberOfMethods = dis.readInt();
+    final Map<String, Long> methodHashes = new HashMap<String, Long>(
+        numberOfMethods);
+    for (int i = 0; i != numberOfMethods; i++) {
+      methodHashes.put(dis.readUTF(), dis.readLong());
+    }
+    final HierarchicalClassId id = new HierarchicalClassId(
+        new ClassIdentifier(hash, name), hierarchicalHash, methodHashes);
+    return new ClassHistory(id, coverageId, testTime);
+  }
+
+  private static byte[] encode(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final DataOutputStream dos = new DataOutputStream(bos);
+    try {
+      final Location location = id.getLocation();
+      dos.writeUTF(location.getClassName().asJavaName());
+      dos.writeUTF(location.getMethodName().name());
+      dos.writeUTF(location.getMethodDesc());
+      dos.writeUTF(id.getMutator());
+      dos.writeInt(id.getIndexes().size());
+      for (final int each : id.getIndexes()) {
+        dos.writeInt(each);
+      }
+      dos.writeByte(status.getStatus().ordinal());
+      dos.writeInt(status.getNumberOfTestsRun());
+      dos.writeBoolean(status.getKillingTest().hasSome());
+      if (status.getKillingTest().hasSome()) {
+        dos.writeUTF(status.getKillingTest().value());
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    return bos.toByteArray();
+  }
+
+  private static MutationIdentifier decodeId(final DataInputStream dis)
+      throws IOException {
+    final Location location = Location.location(
+        ClassName.fromString(dis.readUTF()),
+        MethodName.fromString(dis.readUTF()), dis.readUTF());
+    final String mutator = dis.readUTF();
+    final int numberOfIndexes = dis.readInt();
+    final List<Integer> indexes = new ArrayList<Integer>(numberOfIndexes);
+    for (int i = 0; i != numberOfIndexes; i++) {
+      indexes.add(dis.readInt());
+    }
+    return new MutationIdentifier(location, indexes, mutator);
+  }
+
+  private static MutationStatusTestPair decodeStatus(final DataInputStream dis)
+      throws IOException {
+    final DetectionStatus status = DetectionStatus.values()[dis.readByte()];
+    final int numberOfTestsRun = dis.readInt();
+    final String killingTest = dis.readBoolean() ? dis.readUTF() : null;
+    return new MutationStatusTestPair(numberOfTestsRun, status, killingTest);
+  }
+
+  /**
+   * Results from a mapped history file, decoded as they are looked up
+   */
+  private static class IndexedResults extends
+      AbstractMap<MutationIdentifier, MutationStatusTestPair> {
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer index;
+    private final int        size;
+
+    IndexedResults(final ByteBuffer buffer, final ByteBuffer index) {
+      this.buffer = buffer;
+      this.index = index;
+      this.size = index.getInt(0);
+    }
+
+    @Override
+    public MutationStatusTestPair get(final Object key) {
+      if (!(key instanceof MutationIdentifier)) {
+        return null;
+      }
+      final MutationIdentifier id = (MutationIdentifier) key;
+      final int hash = id.hashCode();
+
+      MutationStatusTestPair found = null;
+      // entries with the same hash are in the order they were recorded, so
+      // the last match is the most recent result
+      for (int i = firstWithHash(hash); (i < this.size)
+          && (hashAt(i) == hash); i++) {
+        try {
+          final DataInputStream dis = record(this.buffer, offsetAt(i));
+          if (decodeId(dis).equals(id)) {
+            found = decodeStatus(dis);
+          }
+        } catch (final IOException e) {
+          throw Unchecked.translateCheckedException(e);
+        }
+      }
+      return found;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public Set<Entry<MutationIdentifier, MutationStatusTestPair>> entrySet() {
+      final Set<Entry<MutationIdentifier, MutationStatusTestPair>> entries = new LinkedHashSet<Entry<MutationIdentifier, MutationStatusTestPair>>();
+      for (int i = 0; i != this.size; i++) {
+        try {
+          final DataInputStream dis = record(this.buffer, offsetAt(i));
+          entries.add(new SimpleImmutableEntry<MutationIdentifier, MutationStatusTestPair>(
+              decodeId(dis), decodeStatus(dis)));
+        } catch (final IOException e) {
+          throw Unchecked.translateCheckedException(e);
+        }
+      }
+      return entries;
+    }
+
+    private int firstWithHash(final int hash) {
+      int low = 0;
+      int high = this.size;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (hashAt(mid) < hash) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private int hashAt(final int i) {
+      return this.index.getInt(4 + (i * INDEX_ENTRY));
+    }
+
+    private int offsetAt(final int i) {
+      return this.index.getInt(4 + (i * INDEX_ENTRY) + 4);
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import java.math.BigInteger;
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public interface CodeHistory {
@@ -13,6 +14,13 @@ public interface CodeHistory {
 
   boolean hasClassChanged(ClassName className);
 
+  /**
+   * Compares only the instructions of the method, so is unaffected by changes
+   * to other methods of the class, or to its parent and outer classes. Falls
+   * back to {@link #hasClassChanged} when no method hash is available.
+   */
+  boolean hasMethodChanged(Location method);
+
   boolean hasCoverageChanged(ClassName className, BigInteger currentCoverage);
 
 }
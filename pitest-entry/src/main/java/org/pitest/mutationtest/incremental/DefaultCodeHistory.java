@@ -11,6 +11,7 @@ import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistory implements CodeHistory {
@@ -51,6 +52,25 @@ public class DefaultCodeHistory implements CodeHistory {
 
   }
 
+  @Override
+  public boolean hasMethodChanged(final Location method) {
+    final ClassName className = method.getClassName();
+    final ClassHistory historic = this.previousClassPath.get(className);
+    if (historic == null) {
+      return true;
+    }
+
+    final String name = method.getMethodName().name();
+    final Option<Long> previous = historic.getId().getMethodHash(name,
+        method.getMethodDesc());
+    final Option<Long> current = this.code.fetchClass(className).value()
+        .getHierarchicalId().getMethodHash(name, method.getMethodDesc());
+    if (previous.hasNone() || current.hasNone()) {
+      return hasClassChanged(className);
+    }
+    return !previous.value().equals(current.value());
+  }
+
   @Override
   public boolean hasCoverageChanged(final ClassName className,
       final BigInteger currentCoverage) {
@@ -3,6 +3,7 @@ package org.pitest.mutationtest.incremental;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -11,8 +12,6 @@ import java.util.logging.Logger;
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
-import org.pitest.functional.F;
-import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
@@ -29,6 +28,11 @@ public class IncrementalAnalyser implements MutationAnalyser {
   private final CoverageDatabase           coverage;
   private final Map<DetectionStatus, Long> preAnalysed = createStatusMap();
 
+  // coverage and class hashes are expensive to query, but the same classes
+  // are asked about for each of their mutations
+  private final Map<ClassName, Map<String, ClassName>> testClassesByName = new HashMap<ClassName, Map<String, ClassName>>();
+  private final Map<ClassName, Boolean>                changedClasses    = new HashMap<ClassName, Boolean>();
+
   public IncrementalAnalyser(final CodeHistory history,
       final CoverageDatabase coverage) {
     this.history = history;
@@ -80,7 +84,7 @@ public class IncrementalAnalyser implements MutationAnalyser {
 
     final ClassName clazz = each.getClassName();
 
-    if (this.history.hasClassChanged(clazz)) {
+    if (this.history.hasMethodChanged(each.getId().getLocation())) {
       return analyseFromScratch(each);
     }
 
@@ -105,29 +109,37 @@ public class IncrementalAnalyser implements MutationAnalyser {
 
   private boolean killingTestHasNotChanged(final MutationDetails each,
       final MutationStatusTestPair mutationStatusTestPair) {
-    final Collection<TestInfo> allTests = this.coverage.getTestsForClass(each
-        .getClassName());
-
-    final List<ClassName> testClasses = FCollection.filter(allTests,
-        testIsCalled(mutationStatusTestPair.getKillingTest().value())).map(
-            TestInfo.toDefiningClassName());
+    final ClassName testClass = testClassesFor(each.getClassName()).get(
+        mutationStatusTestPair.getKillingTest().value());
 
-    if (testClasses.isEmpty()) {
+    if (testClass == null) {
       return false;
     }
 
-    return !this.history.hasClassChanged(testClasses.get(0));
+    return !hasClassChanged(testClass);
 
   }
 
-  private static F<TestInfo, Boolean> testIsCalled(final String testName) {
-    return new F<TestInfo, Boolean>() {
-      @Override
-      public Boolean apply(final TestInfo a) {
-        return a.getName().equals(testName);
+  private Map<String, ClassName> testClassesFor(final ClassName clazz) {
+    Map<String, ClassName> testClasses = this.testClassesByName.get(clazz);
+    if (testClasses == null) {
+      testClasses = new HashMap<String, ClassName>();
+      for (final TestInfo each : this.coverage.getTestsForClass(clazz)) {
+        testClasses.put(each.getName(),
+            ClassName.fromString(each.getDefiningClass()));
       }
+      this.testClassesByName.put(clazz, testClasses);
+    }
+    return testClasses;
+  }
 
-    };
+  private boolean hasClassChanged(final ClassName clazz) {
+    Boolean changed = this.changedClasses.get(clazz);
+    if (changed == null) {
+      changed = this.history.hasClassChanged(clazz);
+      this.changedClasses.put(clazz, changed);
+    }
+    return changed;
   }
 
   private MutationResult analyseFromScratch(final MutationDetails mutation) {
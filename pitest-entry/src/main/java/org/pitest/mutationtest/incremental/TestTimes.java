@@ -0,0 +1,50 @@
+package org.pitest.mutationtest.incremental;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.F;
+
+/**
+ * Total time of the tests defined in each test class, as recorded in the
+ * history
+ */
+final class TestTimes {
+
+  private TestTimes() {
+  }
+
+  static Map<ClassName, Integer> byDefiningClass(
+      final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    final Set<TestInfo> tests = new HashSet<TestInfo>();
+    for (final HierarchicalClassId each : ids) {
+      tests.addAll(coverageInfo.getTestsForClass(each.getName()));
+    }
+
+    final Map<ClassName, Integer> times = new HashMap<ClassName, Integer>();
+    final F<TestInfo, ClassName> toDefiningClass = TestInfo
+        .toDefiningClassName();
+    for (final TestInfo each : tests) {
+      final ClassName definingClass = toDefiningClass.apply(each);
+      times.put(definingClass, timeFor(times, definingClass) + each.getTime());
+    }
+    return times;
+  }
+
+  static int timeFor(final Map<ClassName, Integer> times, final ClassName clazz) {
+    final Integer time = times.get(clazz);
+    if (time == null) {
+      return 0;
+    }
+    return time;
+  }
+
+}
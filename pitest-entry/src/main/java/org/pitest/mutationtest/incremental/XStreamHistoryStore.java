@@ -77,10 +77,13 @@ public class XStreamHistoryStore implements HistoryStore {
   public void recordClassPath(final Collection<HierarchicalClassId> ids,
       final CoverageDatabase coverageInfo) {
     final PrintWriter output = this.outputFactory.create();
+    final Map<ClassName, Integer> testTimes = TestTimes.byDefiningClass(ids,
+        coverageInfo);
     output.println(ids.size());
     for (final HierarchicalClassId each : ids) {
       final ClassHistory coverage = new ClassHistory(each, coverageInfo
-          .getCoverageIdForClass(each.getName()).toString(16));
+          .getCoverageIdForClass(each.getName()).toString(16),
+          TestTimes.timeFor(testTimes, each.getName()));
       output.println(toXml(coverage));
     }
     output.flush();
@@ -2,7 +2,6 @@ package org.pitest.mutationtest.tooling;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
 import org.pitest.classpath.ClassPath;
@@ -14,13 +13,11 @@ import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
 import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
-import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
-import org.pitest.mutationtest.incremental.WriterFactory;
-import org.pitest.mutationtest.incremental.XStreamHistoryStore;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
 import org.pitest.process.JavaAgent;
@@ -73,9 +70,6 @@ public class EntryPoint {
     
     final ClassPath cp = data.getClassPath();
 
-    final Option<Reader> reader = data.createHistoryReader();
-    final WriterFactory historyWriter = data.createHistoryWriter();
-
     // workaround for apparent java 1.5 JVM bug . . . might not play nicely
     // with distributed testing
     final JavaAgent jac = new JarCreatingJarFinder(
@@ -98,11 +92,15 @@ public class EntryPoint {
         .testClassIdentifier());
 
     final Timings timings = new Timings();
+    final BinaryHistoryStore history = new BinaryHistoryStore(
+        Option.some(data.getHistoryInputLocation()),
+        Option.some(data.getHistoryOutputLocation()));
+
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
-
-    final HistoryStore history = new XStreamHistoryStore(historyWriter, reader);
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        data.getNumberOfThreads(), history, data.useIndexedCoverage(),
+        settings.createCoverageCache());
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
@@ -118,7 +116,7 @@ public class EntryPoint {
     } finally {
       jac.close();
       ja.close();
-      historyWriter.close();
+      history.close();
     }
 
   }
@@ -20,16 +20,18 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.pitest.classinfo.CachingByteArraySource;
+import org.pitest.classinfo.ClassAnalysisCache;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
-import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
@@ -68,9 +70,15 @@ import org.pitest.util.Timings;
 
 public class MutationCoverage {
 
-  private static final int         MB  = 1024 * 1024;
+  private static final int         MB                           = 1024 * 1024;
 
-  private static final Logger      LOG = Log.getLogger();
+  // enough classes to keep the threads searching for mutations busy, while
+  // letting mutation analysis start soon after coverage is calculated
+  private static final int         CLASSES_PER_BATCH_PER_THREAD = 25;
+  private static final int         CACHED_CLASSES               = 200;
+
+  private static final Logger      LOG                          = Log
+                                                                    .getLogger();
   private final ReportOptions      data;
 
   private final MutationStrategies strategies;
@@ -111,7 +119,11 @@ public class MutationCoverage {
     verifyBuildSuitableForMutationTesting();
 
     checkExcludedRunners();
-    
+
+    // history is read before coverage so the coverage generator can make
+    // use of timings from the previous run
+    history().initialize();
+
     final CoverageDatabase coverageData = coverage().calculateCoverage();
 
     LOG.fine("Used memory after coverage calculation "
@@ -128,15 +140,9 @@ public class MutationCoverage {
     final List<MutationResultListener> config = createConfig(t0, coverageData,
         stats, engine);
 
-    history().initialize();
-
-    this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
-    final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine);
-    this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
-
-    LOG.info("Created  " + tus.size() + " mutation test units");
-    checkMutationsFound(tus);
+    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
+        .getLaunchOptions());
+    final WorkerFactory wf = createWorkerFactory(mutationConfig);
 
     recordClassPath(coverageData);
 
@@ -145,11 +151,21 @@ public class MutationCoverage {
     LOG.fine("Free Memory before analysis start " + (runtime.freeMemory() / MB)
         + " mb");
 
+    // units are created as the executor is ready to run them, so the build
+    // stage is timed until the last unit is created and the run stage from
+    // then on
     final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
         numberOfThreads(), config);
-    this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
+    this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
+    try {
+      mae.run(timeBuild(buildMutationTests(coverageData, mutationConfig, wf)));
+    } finally {
+      wf.shutdown();
+    }
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+    LOG.fine("Class analysis " + this.code.getClassAnalysisCache());
+
+    checkMutationsFound(stats);
 
     LOG.info("Completed in " + timeSpan(t0));
 
@@ -243,44 +259,63 @@ private int numberOfThreads() {
     }
   }
 
-  private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine) {
+  private WorkerFactory createWorkerFactory(final MutationConfig mutationConfig) {
+    return new WorkerFactory(this.baseDir, coverage().getConfiguration(),
+        mutationConfig, new PercentAndConstantTimeoutStrategy(
+            this.data.getTimeoutFactor(), this.data.getTimeoutConstant()),
+        this.data.isVerbose(), this.data.getClassPath().getLocalClassPath(),
+        this.data.getUnitsPerMinion(), this.data.useMutantSchemata());
+  }
 
-    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
-        .getLaunchOptions());
+  private Iterable<MutationAnalysisUnit> timeBuild(
+      final Iterable<MutationAnalysisUnit> tus) {
+    return new Iterable<MutationAnalysisUnit>() {
+      @Override
+      public Iterator<MutationAnalysisUnit> iterator() {
+        return new BuildTimingIterator(tus.iterator());
+      }
+    };
+  }
+
+  private Iterable<MutationAnalysisUnit> buildMutationTests(
+      final CoverageDatabase coverageData, final MutationConfig mutationConfig,
+      final WorkerFactory wf) {
 
-    ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
-        this.data.getClassPath()));
+    // classes on the classpath are read through the cache shared with the
+    // line mapper, so classes analysed recently need not be read or parsed
+    // again
+    final ClassAnalysisCache classes = this.code.getClassAnalysisCache();
+    ClassByteArraySource bas = fallbackToClassLoader(classes);
 
     TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
         .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
             coverageData);
 
-    MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-    
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+    // interceptors hold state for the class being analysed, so each thread
+    // searching for mutations is given its own
+    final List<MutationSource> sources = new ArrayList<MutationSource>();
+    for (int i = 0; i != Math.max(1, this.data.getNumberOfThreads()); i++) {
+      MutationInterceptor interceptor = this.settings.getInterceptor()
+          .createInterceptor(this.data, bas);
+      sources.add(new MutationSource(mutationConfig, testPrioritiser, bas,
+          classes, interceptor));
+    }
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
         new DefaultCodeHistory(this.code, history()), coverageData);
 
-    final WorkerFactory wf = new WorkerFactory(this.baseDir, coverage()
-        .getConfiguration(), mutationConfig,
-        new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
-            this.data.getTimeoutConstant()), this.data.isVerbose(), this.data
-            .getClassPath().getLocalClassPath());
-
     MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+        sources, grouper);
 
-    return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
+    return builder.createMutationTestUnits(this.code.getCodeUnderTestNames(),
+        numberOfThreads() * CLASSES_PER_BATCH_PER_THREAD);
   }
 
-  private void checkMutationsFound(final List<MutationAnalysisUnit> tus) {
-    if (tus.isEmpty()) {
+  private void checkMutationsFound(final MutationStatisticsListener stats) {
+    if (stats.getStatistics().getTotalMutations() == 0) {
       if (this.data.shouldFailWhenNoMutations()) {
         throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
       } else {
@@ -305,7 +340,8 @@ private int numberOfThreads() {
   // projects during static analysis phase. For now fall back to the classloader when
   // a class not provided by project classpath
   private ClassByteArraySource fallbackToClassLoader(final ClassByteArraySource bas) {
-    final ClassByteArraySource clSource = ClassloaderByteArraySource.fromContext();
+    final ClassByteArraySource clSource = new CachingByteArraySource(
+        ClassloaderByteArraySource.fromContext(), CACHED_CLASSES);
     return new ClassByteArraySource() {
       @Override
       public Option<byte[]> getBytes(String clazz) {
@@ -320,5 +356,43 @@ private int numberOfThreads() {
     };
   }
 
-  
+  /**
+   * Records the end of the build stage and start of the run stage once the
+   * last unit has been created
+   */
+  private class BuildTimingIterator implements Iterator<MutationAnalysisUnit> {
+    private final Iterator<MutationAnalysisUnit> child;
+    private int                                  created;
+    private boolean                              finished;
+
+    BuildTimingIterator(final Iterator<MutationAnalysisUnit> child) {
+      this.child = child;
+    }
+
+    @Override
+    public boolean hasNext() {
+      final boolean hasNext = this.child.hasNext();
+      if (!hasNext && !this.finished) {
+        this.finished = true;
+        MutationCoverage.this.timings
+            .registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
+        MutationCoverage.this.timings
+            .registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+        LOG.info("Created  " + this.created + " mutation test units");
+      }
+      return hasNext;
+    }
+
+    @Override
+    public MutationAnalysisUnit next() {
+      this.created++;
+      return this.child.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
 }
@@ -51,23 +51,23 @@ import org.pitest.testapi.Description;
 
 public class CoverageDataTest {
 
-  private CoverageData    testee;
+  private CoverageCollector testee;
 
   @Mock
-  private CodeSource      code;
+  private CodeSource        code;
 
   @Mock
-  private LineMap         lm;
+  private LineMap           lm;
 
-  private final ClassName foo = ClassName.fromString("foo");
-  private final ClassName bar = ClassName.fromString("bar");
+  private final ClassName   foo = ClassName.fromString("foo");
+  private final ClassName   bar = ClassName.fromString("bar");
 
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     when(this.lm.mapLines(any(ClassName.class))).thenReturn(
         new HashMap<BlockLocation, Set<Integer>>());
-    this.testee = new CoverageData(this.code, this.lm);
+    this.testee = createTestee(this.code, this.lm);
   }
 
   @Test
@@ -140,6 +140,36 @@ public class CoverageDataTest {
         this.testee.getTestsForClass(this.foo), testInfoToString()));
   }
 
+  @Test
+  public void shouldIncludeTestsRecordedAfterClassWasQueried() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.getTestsForClass(this.foo);
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    assertEquals(Arrays.asList("fooTest", "fooTest2"), FCollection.map(
+        this.testee.getTestsForClass(this.foo), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnTestsForLineInNameOrder() {
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, 1));
+
+    this.testee.calculateClassCoverage(aCoverageResult()
+        .withTestUnitDescription(new Description("zTest"))
+        .withVisitedBlocks(block.build(1)).build());
+    this.testee.calculateClassCoverage(aCoverageResult()
+        .withTestUnitDescription(new Description("aTest"))
+        .withVisitedBlocks(block.build(1)).build());
+
+    assertEquals(Arrays.asList("aTest", "zTest"), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, 1)),
+        testInfoToString()));
+  }
+
   @Test
   public void shouldReportAGreenSuiteWhenNoTestHasFailed() {
     this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 42,
@@ -222,7 +252,7 @@ public class CoverageDataTest {
     final Collection<ClassInfo> classes = Arrays.asList(fooClass, barClass);
     when(this.code.getCode()).thenReturn(classes);
 
-    this.testee = new CoverageData(this.code, this.lm);
+    this.testee = createTestee(this.code, this.lm);
 
     assertEquals(Arrays.asList(barClass),
         this.testee.getClassesForFile("bar.java", ""));
@@ -237,7 +267,7 @@ public class CoverageDataTest {
     final Collection<ClassInfo> classes = Arrays.asList(foo1Class, foo2Class);
     when(this.code.getCode()).thenReturn(classes);
 
-    this.testee = new CoverageData(this.code, this.lm);
+    this.testee = createTestee(this.code, this.lm);
 
     assertEquals(Arrays.asList(foo1Class),
         this.testee.getClassesForFile("foo.java", "a.b.c"));
@@ -261,6 +291,11 @@ public class CoverageDataTest {
     assertEquals(4, actual.getNumberOfCoveredLines());
   }
 
+  protected CoverageCollector createTestee(final CodeSource code,
+      final LineMap lm) {
+    return new CoverageData(code, lm);
+  }
+
   private static F<TestInfo, Integer> testInfoToExecutionTime() {
     return new F<TestInfo, Integer>() {
       @Override
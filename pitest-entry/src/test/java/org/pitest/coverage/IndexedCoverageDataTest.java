@@ -0,0 +1,13 @@
+package org.pitest.coverage;
+
+import org.pitest.classpath.CodeSource;
+
+public class IndexedCoverageDataTest extends CoverageDataTest {
+
+  @Override
+  protected CoverageCollector createTestee(final CodeSource code,
+      final LineMap lm) {
+    return new IndexedCoverageData(code, lm);
+  }
+
+}
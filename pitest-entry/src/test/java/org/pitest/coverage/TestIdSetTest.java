@@ -0,0 +1,91 @@
+package org.pitest.coverage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+public class TestIdSetTest {
+
+  private final TestIdSet testee = new TestIdSet();
+
+  @Test
+  public void shouldBeEmptyWhenCreated() {
+    assertTrue(this.testee.isEmpty());
+    assertFalse(this.testee.contains(0));
+  }
+
+  @Test
+  public void shouldContainAddedIds() {
+    this.testee.add(3);
+    this.testee.add(100);
+    assertTrue(this.testee.contains(3));
+    assertTrue(this.testee.contains(100));
+    assertFalse(this.testee.contains(4));
+    assertEquals(2, this.testee.size());
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateIds() {
+    this.testee.add(7);
+    this.testee.add(7);
+    this.testee.add(2);
+    this.testee.add(7);
+    this.testee.add(2);
+    assertEquals(2, this.testee.size());
+  }
+
+  @Test
+  public void shouldAcceptIdsOutOfOrder() {
+    this.testee.add(50);
+    this.testee.add(10);
+    this.testee.add(30);
+    final BitSet actual = new BitSet();
+    this.testee.orInto(actual);
+    assertEquals(bits(10, 30, 50), actual);
+  }
+
+  @Test
+  public void shouldStaySparseWhenIdsAreSpreadOut() {
+    for (int i = 0; i != 100; i++) {
+      this.testee.add(i * 1000);
+    }
+    assertFalse(this.testee.isBitmap());
+    assertEquals(100, this.testee.size());
+  }
+
+  @Test
+  public void shouldSwitchToBitmapWhenDense() {
+    for (int i = 0; i != 100; i++) {
+      this.testee.add(i);
+    }
+    assertTrue(this.testee.isBitmap());
+    assertEquals(100, this.testee.size());
+    assertTrue(this.testee.contains(99));
+    assertFalse(this.testee.contains(100));
+  }
+
+  @Test
+  public void shouldAddAllIdsToBitmapWhenDense() {
+    for (int i = 0; i != 100; i++) {
+      this.testee.add(i * 2);
+    }
+    this.testee.add(1001);
+    final BitSet actual = new BitSet();
+    this.testee.orInto(actual);
+    assertEquals(101, actual.cardinality());
+    assertTrue(actual.get(1001));
+  }
+
+  private static BitSet bits(final int... ids) {
+    final BitSet bs = new BitSet();
+    for (final int each : ids) {
+      bs.set(each);
+    }
+    return bs;
+  }
+
+}
@@ -0,0 +1,147 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.pitest.coverage.execute.TestClassCoverageTest.resultCovering;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.testapi.Description;
+
+public class CoverageCacheTest {
+
+  @Rule
+  public TemporaryFolder folder  = new TemporaryFolder();
+
+  private final ClassName fooTest = ClassName.fromString("com.example.FooTest");
+  private final ClassName foo     = ClassName.fromString("com.example.Foo");
+  private final ClassName bar     = ClassName.fromString("com.example.Bar");
+
+  private final Collection<ClassName> code = Collections.singletonList(this.foo);
+
+  @Test
+  public void shouldNotBeEnabledWhenNoHistoryLocationsGiven() {
+    assertFalse(CoverageCache.besideHistory(null, null, "").isEnabled());
+    assertFalse(CoverageCache.none().isEnabled());
+  }
+
+  @Test
+  public void shouldReadNothingWhenNoPreviousCoverage() throws IOException {
+    final File history = this.folder.newFile("history");
+    assertTrue(CoverageCache.besideHistory(history, null, "").read(this.code)
+        .isEmpty());
+  }
+
+  @Test
+  public void shouldReadBackWrittenCoverage() throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    final CoverageResult result = resultCovering(this.foo);
+    final TestClassCoverage written = coverageFor(result);
+
+    CoverageCache.besideHistory(null, history, "settings").write(this.code,
+        Collections.singletonList(written));
+    final Map<ClassName, TestClassCoverage> actual = CoverageCache
+        .besideHistory(history, null, "settings").read(this.code);
+
+    final TestClassCoverage read = actual.get(this.fooTest);
+    assertEquals(BigInteger.valueOf(-42), read.getHash());
+    assertEquals(written.getCoveredClasses(), read.getCoveredClasses());
+    assertThat(read.getResults()).hasSize(1);
+    final CoverageResult readResult = read.getResults().get(0);
+    assertEquals(result.getTestUnitDescription(),
+        readResult.getTestUnitDescription());
+    assertEquals(result.getExecutionTime(), readResult.getExecutionTime());
+    assertTrue(readResult.isGreenTest());
+    assertThat(readResult.getCoverage()).containsExactlyElementsOf(
+        result.getCoverage());
+  }
+
+  @Test
+  public void shouldStoreCoverageBesideHistoryFile() throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    CoverageCache.besideHistory(null, history, "").write(this.code,
+        Collections.<TestClassCoverage> emptyList());
+    assertTrue(new File(this.folder.getRoot(), "history.coverage").exists());
+  }
+
+  @Test
+  public void shouldReadNothingWhenPreviousCoverageCorrupt()
+      throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    final FileOutputStream fos = new FileOutputStream(new File(
+        this.folder.getRoot(), "history.coverage"));
+    fos.write(new byte[] { 1, 2, 3 });
+    fos.close();
+    assertTrue(CoverageCache.besideHistory(history, null, "").read(this.code)
+        .isEmpty());
+  }
+
+  @Test
+  public void shouldReadBackWhetherTestsWereGreen() throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    final CoverageResult failing = new CoverageResult(new Description(
+        "aTest", "FooTest"), 1, false, resultCovering(this.foo).getCoverage());
+
+    CoverageCache.besideHistory(null, history, "").write(this.code,
+        Collections.singletonList(coverageFor(failing)));
+
+    assertFalse(CoverageCache.besideHistory(history, null, "")
+        .read(this.code).get(this.fooTest).getResults().get(0).isGreenTest());
+  }
+
+  @Test
+  public void shouldDiscardCoverageWhenCodeUnderTestHasChanged()
+      throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    CoverageCache.besideHistory(null, history, "settings").write(this.code,
+        Collections.singletonList(coverageFor(resultCovering(this.foo))));
+
+    assertTrue(CoverageCache.besideHistory(history, null, "settings")
+        .read(Arrays.asList(this.foo, this.bar)).isEmpty());
+  }
+
+  @Test
+  public void shouldDiscardCoverageWhenSettingsHaveChanged()
+      throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    CoverageCache.besideHistory(null, history, "targetClasses=[Foo]").write(
+        this.code,
+        Collections.singletonList(coverageFor(resultCovering(this.foo))));
+
+    assertTrue(CoverageCache.besideHistory(history, null, "targetClasses=[F*]")
+        .read(this.code).isEmpty());
+  }
+
+  @Test
+  public void shouldNotDependOnOrderOfCodeUnderTest() throws IOException {
+    final File history = new File(this.folder.getRoot(), "history");
+    CoverageCache.besideHistory(null, history, "").write(
+        Arrays.asList(this.foo, this.bar),
+        Collections.singletonList(coverageFor(resultCovering(this.foo))));
+
+    assertThat(
+        CoverageCache.besideHistory(history, null, "").read(
+            Arrays.asList(this.bar, this.foo))).containsKey(this.fooTest);
+  }
+
+  private TestClassCoverage coverageFor(final CoverageResult result) {
+    return new TestClassCoverage(this.fooTest, BigInteger.valueOf(-42),
+        Collections.singletonMap(this.foo, BigInteger.TEN),
+        Arrays.asList(result));
+  }
+
+}
@@ -0,0 +1,104 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.functional.F;
+import org.pitest.functional.Option;
+
+public class CoverageShardsTest {
+
+  private final Map<String, Long> costs = new HashMap<String, Long>();
+
+  @Test
+  public void shouldCreateSingleShardWhenOneThreadRequested() {
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "c"), knownCosts(), 1);
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0)).containsOnly("a", "b", "c");
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTestClasses() {
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b"), knownCosts(), 8);
+    assertThat(actual).hasSize(2);
+  }
+
+  @Test
+  public void shouldCreateOneShardWhenNoTestClasses() {
+    final List<List<String>> actual = CoverageShards.partition(
+        Collections.<String> emptyList(), knownCosts(), 4);
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0)).isEmpty();
+  }
+
+  @Test
+  public void shouldAssignEveryTestClassToExactlyOneShard() {
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "c", "d", "e"), knownCosts(), 2);
+    final List<String> all = new ArrayList<String>(actual.get(0));
+    all.addAll(actual.get(1));
+    assertThat(all).hasSize(5);
+    assertThat(all).containsOnly("a", "b", "c", "d", "e");
+  }
+
+  @Test
+  public void shouldSplitEvenlyWhenNoCostsKnown() {
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "c", "d"), knownCosts(), 2);
+    assertThat(actual.get(0)).hasSize(2);
+    assertThat(actual.get(1)).hasSize(2);
+  }
+
+  @Test
+  public void shouldBalanceShardsByHistoricCost() {
+    this.costs.put("slow", 1000L);
+    this.costs.put("a", 300L);
+    this.costs.put("b", 300L);
+    this.costs.put("c", 300L);
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "slow", "c"), knownCosts(), 2);
+    assertThat(actual.get(0)).containsExactly("slow");
+    assertThat(actual.get(1)).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void shouldAssumeAverageCostForTestsWithoutHistory() {
+    this.costs.put("a", 100L);
+    this.costs.put("b", 100L);
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "new"), knownCosts(), 3);
+    assertThat(actual).hasSize(3);
+    for (final List<String> each : actual) {
+      assertThat(each).hasSize(1);
+    }
+  }
+
+  @Test
+  public void shouldProduceSameShardsForSameInput() {
+    this.costs.put("a", 5L);
+    this.costs.put("b", 5L);
+    this.costs.put("c", 7L);
+    final List<String> tests = Arrays.asList("a", "b", "c", "d", "e");
+    assertThat(CoverageShards.partition(tests, knownCosts(), 3)).isEqualTo(
+        CoverageShards.partition(tests, knownCosts(), 3));
+  }
+
+  private F<String, Option<Long>> knownCosts() {
+    return new F<String, Option<Long>>() {
+      @Override
+      public Option<Long> apply(final String a) {
+        return Option.some(CoverageShardsTest.this.costs.get(a));
+      }
+    };
+  }
+
+}
@@ -1,20 +1,26 @@
 package org.pitest.coverage.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
-import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.testapi.Description;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
-
-import sun.pitest.CodeCoverageStore;
+import org.pitest.util.SafeDataOutputStream;
 
 // does this test add any value?
 public class ReceiveTest {
@@ -65,18 +71,78 @@ public class ReceiveTest {
     assertEquals(true, this.result.isGreenTest());
   }
 
+  @Test
+  public void shouldReportExecutionTime() {
+    recordTestCoverage(42, 0, 0, true);
+    assertEquals(42, this.result.getExecutionTime());
+  }
+
+  @Test
+  public void shouldDecodeHitProbesToBlocks() {
+    final Location foo = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("foo"), "()V");
+    final Location bar = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("bar"), "()V");
+    registerClass(1, "foo");
+    registerProbes(1, "foo", 0, 9);
+    registerProbes(1, "bar", 10, 19);
+
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.writeDescription(this.description);
+    out.writeInt(1);
+    out.writeInt(1);
+    out.writeInt(2);
+    // probes 0, 7 and 11
+    out.writeBytes(new byte[] { (byte) 0x81, 0x08 }, 0, 2);
+    out.writeBoolean(true);
+    out.writeInt(0);
+    this.testee.apply(Id.OUTCOME, toInput(bos));
+
+    assertThat(this.result.getCoverage()).containsOnly(
+        new BlockLocation(foo, 0), new BlockLocation(foo, 7),
+        new BlockLocation(bar, 1));
+  }
+
   private void recordTestCoverage(final int executionTime, final int classId,
       final int probeNumber, final boolean testPassed) {
-    when(this.is.readInt()).thenReturn(classId, executionTime);
-    when(this.is.readString()).thenReturn("foo");
-    this.testee.apply(Id.CLAZZ, this.is);
-
-    when(this.is.read(Description.class)).thenReturn(this.description);
-    when(this.is.readInt()).thenReturn(1);
-    when(this.is.readLong()).thenReturn(1l,
-        CodeCoverageStore.encode(classId, probeNumber));
-    when(this.is.readBoolean()).thenReturn(testPassed);
-    this.testee.apply(Id.OUTCOME, this.is);
+    registerClass(classId, "foo");
+    registerProbes(classId, "foo", probeNumber, probeNumber);
+
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.writeDescription(this.description);
+    out.writeInt(1);
+    out.writeInt(classId);
+    out.writeInt(1);
+    out.writeBytes(new byte[] { (byte) (1 << probeNumber) }, 0, 1);
+    out.writeBoolean(testPassed);
+    out.writeInt(executionTime);
+    this.testee.apply(Id.OUTCOME, toInput(bos));
+  }
+
+  private void registerClass(final int classId, final String name) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.writeInt(classId);
+    out.writeString(name);
+    this.testee.apply(Id.CLAZZ, toInput(bos));
+  }
+
+  private void registerProbes(final int classId, final String method,
+      final int first, final int last) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.writeInt(classId);
+    out.writeString(method);
+    out.writeString("()V");
+    out.writeInt(first);
+    out.writeInt(last);
+    this.testee.apply(Id.PROBES, toInput(bos));
+  }
+
+  private static SafeDataInputStream toInput(final ByteArrayOutputStream bos) {
+    return new SafeDataInputStream(new ByteArrayInputStream(bos.toByteArray()));
   }
 
 }
@@ -0,0 +1,91 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+public class TestClassCoverageTest {
+
+  private final ClassName                  fooTest = ClassName
+                                                       .fromString("FooTest");
+  private final ClassName                  foo     = ClassName
+                                                       .fromString("Foo");
+  private final ClassName                  bar     = ClassName
+                                                       .fromString("Bar");
+
+  private final Map<ClassName, BigInteger> hashes  = new HashMap<ClassName, BigInteger>();
+
+  @Test
+  public void shouldRecordHashesOfCoveredClasses() {
+    this.hashes.put(this.foo, BigInteger.valueOf(1));
+    this.hashes.put(this.bar, BigInteger.valueOf(2));
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Arrays.asList(resultCovering(this.foo)), this.hashes);
+    assertEquals(Collections.singletonMap(this.foo, BigInteger.valueOf(1)),
+        testee.getCoveredClasses());
+  }
+
+  @Test
+  public void shouldBeUnchangedWhenNothingHasChanged() {
+    this.hashes.put(this.foo, BigInteger.valueOf(1));
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Arrays.asList(resultCovering(this.foo)), this.hashes);
+    assertTrue(testee.isUnchanged(BigInteger.TEN, this.hashes));
+  }
+
+  @Test
+  public void shouldBeChangedWhenTestClassHasChanged() {
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Collections.<CoverageResult> emptyList(), this.hashes);
+    assertFalse(testee.isUnchanged(BigInteger.ONE, this.hashes));
+  }
+
+  @Test
+  public void shouldBeChangedWhenCoveredClassHasChanged() {
+    this.hashes.put(this.foo, BigInteger.valueOf(1));
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Arrays.asList(resultCovering(this.foo)), this.hashes);
+    this.hashes.put(this.foo, BigInteger.valueOf(2));
+    assertFalse(testee.isUnchanged(BigInteger.TEN, this.hashes));
+  }
+
+  @Test
+  public void shouldBeChangedWhenCoveredClassNoLongerExists() {
+    this.hashes.put(this.foo, BigInteger.valueOf(1));
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Arrays.asList(resultCovering(this.foo)), this.hashes);
+    this.hashes.remove(this.foo);
+    assertFalse(testee.isUnchanged(BigInteger.TEN, this.hashes));
+  }
+
+  @Test
+  public void shouldIgnoreChangesToClassesNotCovered() {
+    this.hashes.put(this.foo, BigInteger.valueOf(1));
+    final TestClassCoverage testee = TestClassCoverage.record(this.fooTest,
+        BigInteger.TEN, Arrays.asList(resultCovering(this.foo)), this.hashes);
+    this.hashes.put(this.bar, BigInteger.valueOf(3));
+    assertTrue(testee.isUnchanged(BigInteger.TEN, this.hashes));
+  }
+
+  static CoverageResult resultCovering(final ClassName clazz) {
+    final BlockLocation block = new BlockLocation(Location.location(clazz,
+        MethodName.fromString("foo"), "()V"), 1);
+    return new CoverageResult(new Description("aTest", "FooTest"), 42, true,
+        Collections.singletonList(block));
+  }
+
+}
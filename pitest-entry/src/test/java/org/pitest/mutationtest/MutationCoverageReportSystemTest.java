@@ -16,6 +16,7 @@
 package org.pitest.mutationtest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.pitest.mutationtest.DetectionStatus.KILLED;
 import static org.pitest.mutationtest.DetectionStatus.NO_COVERAGE;
 import static org.pitest.mutationtest.DetectionStatus.RUN_ERROR;
@@ -79,6 +80,72 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
     verifyResults(KILLED);
   }
 
+  @Test
+  public void shouldPickRelevantTestsWhenCoverageSplitBetweenMinions() {
+    this.data.setTargetClasses(predicateFor("com.example.FullyCovered*"));
+    this.data.setNumberOfThreads(2);
+    createAndRun();
+    verifyResults(KILLED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenUsingIndexedCoverage() {
+    this.data.setTargetClasses(predicateFor("com.example.FullyCovered*"));
+    this.data.setIndexedCoverage(true);
+    createAndRun();
+    verifyResults(KILLED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenReusingPreviousCoverage()
+      throws IOException {
+    final File history = File.createTempFile("history", ".bin");
+    final File coverage = new File(history.getPath() + ".coverage");
+    try {
+      this.data.setTargetClasses(predicateFor("com.example.FullyCovered*"));
+      this.data.setHistoryInputLocation(history);
+      this.data.setHistoryOutputLocation(history);
+      createAndRun();
+      assertTrue(coverage.exists());
+
+      this.metaDataExtractor = new MetaDataExtractor();
+      createAndRun();
+      verifyResults(KILLED);
+    } finally {
+      history.delete();
+      coverage.delete();
+    }
+  }
+
+  @Test
+  public void shouldRecalculateCoverageWhenTargetClassesChange()
+      throws IOException {
+    this.data.setTargetTests(predicateFor("com.example.FullyCoveredTesteeTest",
+        "com.example.PartiallyCoveredTesteeTest"));
+    this.data.setTargetClasses(predicateFor("com.example.PartiallyCovered*"));
+    createAndRun();
+    final List<DetectionStatus> expected = this.metaDataExtractor
+        .getDetectionStatus();
+
+    final File history = File.createTempFile("history", ".bin");
+    final File coverage = new File(history.getPath() + ".coverage");
+    try {
+      this.data.setHistoryInputLocation(history);
+      this.data.setHistoryOutputLocation(history);
+      this.data.setTargetClasses(predicateFor("com.example.FullyCovered*"));
+      this.metaDataExtractor = new MetaDataExtractor();
+      createAndRun();
+
+      this.data.setTargetClasses(predicateFor("com.example.PartiallyCovered*"));
+      this.metaDataExtractor = new MetaDataExtractor();
+      createAndRun();
+      verifyResults(expected.toArray(new DetectionStatus[expected.size()]));
+    } finally {
+      history.delete();
+      coverage.delete();
+    }
+  }
+
   @Test
   public void shouldReportUnCoveredMutations() {
     this.data.setTargetClasses(predicateFor("com.example.PartiallyCovered*"));
@@ -281,6 +348,57 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
 
   }
 
+  @Test
+  public void shouldGiveSameResultsWhenReusingMinionsBetweenUnits() {
+    this.data
+    .setTargetClasses(predicateFor("com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setMutationUnitSize(1);
+    createAndRun();
+    final List<DetectionStatus> expected = this.metaDataExtractor
+        .getDetectionStatus();
+
+    this.metaDataExtractor = new MetaDataExtractor();
+    this.data.setUnitsPerMinion(10);
+    createAndRun();
+    final List<DetectionStatus> actual = this.metaDataExtractor
+        .getDetectionStatus();
+
+    Collections.sort(expected);
+    Collections.sort(actual);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void shouldGiveSameResultsWhenUsingMutantSchemata() {
+    this.data.setTargetClasses(predicateFor("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    final List<DetectionStatus> expected = this.metaDataExtractor
+        .getDetectionStatus();
+
+    this.metaDataExtractor = new MetaDataExtractor();
+    this.data.setMutantSchemata(true);
+    createAndRun();
+    final List<DetectionStatus> actual = this.metaDataExtractor
+        .getDetectionStatus();
+
+    Collections.sort(expected);
+    Collections.sort(actual);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void shouldMarkChildJVMCrashesAsRunErrorsWhenReusingMinions() {
+    setMutators("NEGATE_CONDITIONALS");
+    this.data.setTargetClasses(predicateFor(CrashesJVMWhenMutated.class));
+    this.data
+    .setTargetTests(predicateFor(com.example.TestCrashesJVMWhenMutated.class));
+    this.data.setUnitsPerMinion(10);
+    createAndRun();
+
+    verifyResults(RUN_ERROR);
+  }
+
   @Test
   public void shouldCombineAndKillInlinedMutationsInFinallyBlocks() {
     setMutators("INCREMENTS");
@@ -117,11 +117,14 @@ public abstract class ReportTestBase {
       final CodeSource code = new CodeSource(cps, coverageOptions
           .getPitConfig().testClassIdentifier());
 
+      final HistoryStore history = new NullHistoryStore();
+
       final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
           null, coverageOptions, launchOptions, code,
-          new NullCoverageExporter(), timings, false);
-
-      final HistoryStore history = new NullHistoryStore();
+          new NullCoverageExporter(), timings, false,
+          this.data.getNumberOfThreads(), history,
+          this.data.useIndexedCoverage(), new SettingsFactory(this.data,
+              this.plugins).createCoverageCache());
 
       final MutationStrategies strategies = new MutationStrategies(
           new GregorEngineFactory(), history, coverageDatabase,
@@ -1,14 +1,18 @@
 package org.pitest.mutationtest.build;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.Before;
@@ -26,6 +30,9 @@ public class MutationTestBuilderTest {
   @Mock
   private MutationSource      source;
 
+  @Mock
+  private MutationSource      otherSource;
+
   @Mock
   private WorkerFactory       wf;
 
@@ -80,6 +87,76 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldFindMutationsForEachClassWhenGivenManySources() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    final ClassName baz = ClassName.fromString("baz");
+    for (final MutationSource each : Arrays.asList(this.source,
+        this.otherSource)) {
+      when(each.createMutations(foo)).thenReturn(
+          Arrays.asList(createDetails("foo")));
+      when(each.createMutations(bar)).thenReturn(
+          Arrays.asList(createDetails("bar"), createDetails("bar")));
+      when(each.createMutations(baz)).thenReturn(
+          Arrays.asList(createDetails("baz"), createDetails("baz"),
+              createDetails("baz")));
+    }
+    makeTesteeWithSources(this.source, this.otherSource);
+
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(Arrays.asList(foo, bar, baz));
+
+    assertEquals(3, actual.size());
+    assertEquals(3, actual.get(0).priority());
+    assertEquals(2, actual.get(1).priority());
+    assertEquals(1, actual.get(2).priority());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldPassOnErrorsFromSourcesOnOtherThreads() {
+    when(this.source.createMutations(any(ClassName.class))).thenThrow(
+        new IllegalStateException());
+    when(this.otherSource.createMutations(any(ClassName.class))).thenThrow(
+        new IllegalStateException());
+    makeTesteeWithSources(this.source, this.otherSource);
+    this.testee.createMutationTestUnits(Arrays.asList(
+        ClassName.fromString("foo"), ClassName.fromString("bar")));
+  }
+
+  @Test
+  public void shouldNotFindMutationsUntilBatchedUnitsAreRequested() {
+    this.testee.createMutationTestUnits(
+        Arrays.asList(ClassName.fromString("foo")), 1);
+    verify(this.source, never()).createMutations(any(ClassName.class));
+  }
+
+  @Test
+  public void shouldFindMutationsForOneBatchOfClassesAtATime() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    when(this.source.createMutations(foo)).thenReturn(
+        Arrays.asList(createDetails("foo")));
+    when(this.source.createMutations(bar)).thenReturn(
+        Arrays.asList(createDetails("bar")));
+
+    final Iterator<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(Arrays.asList(foo, bar), 1).iterator();
+
+    assertTrue(actual.hasNext());
+    actual.next();
+    verify(this.source, never()).createMutations(bar);
+    assertTrue(actual.hasNext());
+    actual.next();
+    verify(this.source).createMutations(bar);
+    assertFalse(actual.hasNext());
+  }
+
+  private void makeTesteeWithSources(final MutationSource... sources) {
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        Arrays.asList(sources), new DefaultGrouper(0));
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
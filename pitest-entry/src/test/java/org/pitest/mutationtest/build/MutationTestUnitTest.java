@@ -75,6 +75,29 @@ public class MutationTestUnitTest {
     assertThat(this.testee.priority()).isEqualTo(42);
   }
 
+  @Test
+  public void shouldReportPriorityBasedOnTimeOfTestsForMutations() {
+    this.testee = new MutationTestUnit(
+        UnclaimedMutationsTest.mutationsCosting(1000, 2000), this.tests, null);
+    assertThat(this.testee.priority()).isEqualTo(3002);
+  }
+
+  @Test
+  public void shouldNotGiveUpWorkWhenCheapToRun() {
+    this.testee = new MutationTestUnit(
+        UnclaimedMutationsTest.mutationsCosting(1000, 2000), this.tests, null);
+    assertThat(this.testee.stealWork().hasSome()).isFalse();
+  }
+
+  @Test
+  public void shouldGiveUpHalfOfRemainingWorkWhenExpensiveToRun() {
+    final int chunk = (int) UnclaimedMutations.MIN_CHUNK_COST;
+    this.testee = new MutationTestUnit(UnclaimedMutationsTest.mutationsCosting(
+        chunk, chunk, chunk, chunk), this.tests, null);
+    assertThat(this.testee.stealWork().value().priority()).isEqualTo(
+        (2 * chunk) + 2);
+  }
+
   private void addMutation() {
     this.mutations.add(new MutationDetails(aMutationId().build(), "file", "desc",
         0, 0));
@@ -0,0 +1,73 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class UnclaimedMutationsTest {
+
+  private static final int CHUNK = (int) UnclaimedMutations.MIN_CHUNK_COST;
+
+  @Test
+  public void shouldEstimateCostFromTimeOfTestsForEachMutation() {
+    assertThat(
+        UnclaimedMutations.estimateCost(mutationsCosting(100, 100, 100, 100)))
+        .isEqualTo(404);
+  }
+
+  @Test
+  public void shouldClaimAllMutationsWhenCostIsBelowTwoChunks() {
+    final List<MutationDetails> mutations = mutationsCosting(CHUNK, 10);
+    final UnclaimedMutations testee = new UnclaimedMutations(mutations);
+    assertThat(testee.claim()).isEqualTo(mutations);
+    assertThat(testee.claim()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotStealFromMutationsCostingLessThanTwoChunks() {
+    final UnclaimedMutations testee = new UnclaimedMutations(mutationsCosting(
+        CHUNK, 10));
+    assertThat(testee.steal()).isEmpty();
+  }
+
+  @Test
+  public void shouldClaimHalfOfCostFromFrontWhenCostIsHigh() {
+    final List<MutationDetails> mutations = mutationsCosting(CHUNK, CHUNK,
+        CHUNK, CHUNK);
+    final UnclaimedMutations testee = new UnclaimedMutations(mutations);
+    assertThat(testee.claim()).isEqualTo(mutations.subList(0, 2));
+  }
+
+  @Test
+  public void shouldStealHalfOfCostFromBackWhenCostIsHigh() {
+    final List<MutationDetails> mutations = mutationsCosting(CHUNK, CHUNK,
+        CHUNK, CHUNK);
+    final UnclaimedMutations testee = new UnclaimedMutations(mutations);
+    assertThat(testee.steal()).isEqualTo(mutations.subList(2, 4));
+    assertThat(testee.claim()).isEqualTo(mutations.subList(0, 1));
+    assertThat(testee.claim()).isEqualTo(mutations.subList(1, 2));
+    assertThat(testee.claim()).isEmpty();
+  }
+
+  static List<MutationDetails> mutationsCosting(final int... times) {
+    final List<MutationDetails> mutations = new ArrayList<MutationDetails>();
+    for (int i = 0; i != times.length; i++) {
+      final MutationDetails md = new MutationDetails(aMutationId()
+          .withIndex(i).build(), "file", "desc", 0, 0);
+      md.addTestsInOrder(Collections.singletonList(new TestInfo("Foo", "foo"
+          + i, times[i], Option.<ClassName> none(), 0)));
+      mutations.add(md);
+    }
+    return mutations;
+  }
+
+}
@@ -0,0 +1,99 @@
+package org.pitest.mutationtest.build.intercept.timeout;
+
+import java.io.File;
+import java.net.JarURLConnection;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.bytecode.analysis.MethodTree;
+import org.pitest.sequence.SequenceMatcher;
+import org.pitest.util.StreamUtil;
+
+/**
+ * Matches the infinite loop queries against every method of the java.util
+ * classes of the running JDK.
+ *
+ * Not run as part of the build. Run the main method directly, optionally
+ * passing the number of timed iterations (defaults to 20).
+ */
+public class InfiniteLoopMatcherBenchmark {
+
+  public static void main(final String[] args) throws Exception {
+    final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+    final List<List<AbstractInsnNode>> methods = jdkMethods("java/util/");
+    long instructions = 0;
+    for (final List<AbstractInsnNode> each : methods) {
+      instructions = instructions + each.size();
+    }
+    System.out.println(methods.size() + " methods, " + instructions
+        + " instructions");
+
+    // warm up
+    for (int i = 0; i != 5; i++) {
+      matchAll(InfiniteForLoopFilter.INFINITE_LOOP, methods);
+      matchAll(InfiniteIteratorLoopFilter.INFINITE_LOOP, methods);
+    }
+
+    time("for loop     ", InfiniteForLoopFilter.INFINITE_LOOP, methods,
+        iterations);
+    time("iterator loop", InfiniteIteratorLoopFilter.INFINITE_LOOP, methods,
+        iterations);
+  }
+
+  private static void time(final String name,
+      final SequenceMatcher<AbstractInsnNode> matcher,
+      final List<List<AbstractInsnNode>> methods, final int iterations) {
+    int found = 0;
+    final long t0 = System.nanoTime();
+    for (int i = 0; i != iterations; i++) {
+      found = matchAll(matcher, methods);
+    }
+    final long micros = (System.nanoTime() - t0) / 1000;
+    System.out.println(name + " " + (micros / iterations)
+        + " us per pass, " + found + " matches");
+  }
+
+  private static int matchAll(final SequenceMatcher<AbstractInsnNode> matcher,
+      final List<List<AbstractInsnNode>> methods) {
+    int found = 0;
+    for (final List<AbstractInsnNode> each : methods) {
+      if (matcher.matches(each)) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  private static List<List<AbstractInsnNode>> jdkMethods(final String prefix)
+      throws Exception {
+    final JarURLConnection connection = (JarURLConnection) Object.class
+        .getResource("Object.class").openConnection();
+    final JarFile jar = new JarFile(new File(connection.getJarFileURL()
+        .toURI()));
+    final List<List<AbstractInsnNode>> methods = new ArrayList<List<AbstractInsnNode>>();
+    try {
+      final Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        final JarEntry entry = entries.nextElement();
+        if (entry.getName().startsWith(prefix)
+            && entry.getName().endsWith(".class")) {
+          final ClassTree tree = ClassTree.fromBytes(StreamUtil
+              .streamToByteArray(jar.getInputStream(entry)));
+          for (final MethodTree each : tree.methods()) {
+            methods.add(each.instructions());
+          }
+        }
+      }
+    } finally {
+      jar.close();
+    }
+    return methods;
+  }
+
+}
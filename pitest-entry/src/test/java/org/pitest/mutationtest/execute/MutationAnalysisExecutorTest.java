@@ -0,0 +1,292 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.StealableAnalysisUnit;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+import org.pitest.util.PitError;
+
+public class MutationAnalysisExecutorTest {
+
+  private MutationAnalysisExecutor testee;
+
+  @Mock
+  private MutationResultListener   listener;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void shouldSignalRunStartAndEndToListeners() {
+    this.testee = new MutationAnalysisExecutor(1,
+        Collections.singletonList(this.listener));
+    this.testee.run(Collections.<MutationAnalysisUnit> emptyList());
+    verify(this.listener).runStart();
+    verify(this.listener).runEnd();
+  }
+
+  @Test
+  public void shouldPassResultsToListenersInOrderUnitsComplete() {
+    final CountDownLatch fastHandled = new CountDownLatch(1);
+    final RecordingListener recorder = new RecordingListener() {
+      @Override
+      public void handleMutationResult(final ClassMutationResults results) {
+        super.handleMutationResult(results);
+        fastHandled.countDown();
+      }
+    };
+    this.testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(recorder));
+
+    this.testee.run(Arrays.asList(unitAwaiting("slow", fastHandled),
+        unit("fast")));
+
+    assertEquals(Arrays.asList("fast", "slow"), recorder.files);
+  }
+
+  @Test
+  public void shouldCallListenersFromTheCallingThread() {
+    final RecordingListener recorder = new RecordingListener();
+    this.testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(recorder));
+
+    this.testee.run(Arrays.asList(unit("a"), unit("b"), unit("c")));
+
+    assertEquals(Arrays.asList(Thread.currentThread(), Thread.currentThread(),
+        Thread.currentThread()), recorder.threads);
+  }
+
+  @Test
+  public void shouldNotStartFurtherUnitsWhileCompletedResultsAreWaiting() {
+    final CountDownLatch lastStarted = new CountDownLatch(1);
+    final List<Boolean> startedWhileBlocked = new ArrayList<Boolean>();
+    final RecordingListener blocking = new RecordingListener() {
+      @Override
+      public void handleMutationResult(final ClassMutationResults results) {
+        if (startedWhileBlocked.isEmpty()) {
+          startedWhileBlocked.add(await(lastStarted, 500));
+        }
+      }
+    };
+    this.testee = new MutationAnalysisExecutor(1,
+        Collections.<MutationResultListener> singletonList(blocking));
+
+    this.testee.run(Arrays.asList(unit("a"), unit("b"), unit("c"), unit("d"),
+        unitSignalling("e", lastStarted)));
+
+    assertFalse(startedWhileBlocked.get(0));
+  }
+
+  @Test
+  public void shouldRunWorkStolenFromRunningUnitsWhenThreadsAreIdle() {
+    final CountDownLatch bigStarted = new CountDownLatch(1);
+    final CountDownLatch stolenRun = new CountDownLatch(1);
+    final RecordingListener recorder = new RecordingListener();
+    this.testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(recorder));
+
+    this.testee.run(Arrays.asList(
+        stealableUnit("big", bigStarted, unitSignalling("stolen", stolenRun),
+            stolenRun), unitAwaiting("small", bigStarted)));
+
+    Collections.sort(recorder.files);
+    assertEquals(Arrays.asList("big", "small", "stolen"), recorder.files);
+  }
+
+  @Test
+  public void shouldRunUnitsBeforeAllHaveBeenCreated() {
+    final CountDownLatch firstRun = new CountDownLatch(1);
+    final List<Boolean> createdAfterFirstRun = new ArrayList<Boolean>();
+    final Iterable<MutationAnalysisUnit> units = new Iterable<MutationAnalysisUnit>() {
+      @Override
+      public Iterator<MutationAnalysisUnit> iterator() {
+        return new Iterator<MutationAnalysisUnit>() {
+          int created = 0;
+
+          @Override
+          public boolean hasNext() {
+            return this.created != 2;
+          }
+
+          @Override
+          public MutationAnalysisUnit next() {
+            this.created++;
+            if (this.created == 1) {
+              return unitSignalling("first", firstRun);
+            }
+            createdAfterFirstRun.add(await(firstRun, 5000));
+            return unit("second");
+          }
+
+          @Override
+          public void remove() {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    };
+    final RecordingListener recorder = new RecordingListener();
+    this.testee = new MutationAnalysisExecutor(1,
+        Collections.<MutationResultListener> singletonList(recorder));
+
+    this.testee.run(units);
+
+    assertEquals(Arrays.asList(true), createdAfterFirstRun);
+    assertEquals(Arrays.asList("first", "second"), recorder.files);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldReportErrorsFromCreatingUnits() {
+    this.testee = new MutationAnalysisExecutor(1,
+        Collections.singletonList(this.listener));
+    this.testee.run(new Iterable<MutationAnalysisUnit>() {
+      @Override
+      public Iterator<MutationAnalysisUnit> iterator() {
+        throw new IllegalStateException();
+      }
+    });
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldReportErrorsFromUnits() {
+    this.testee = new MutationAnalysisExecutor(1,
+        Collections.singletonList(this.listener));
+    this.testee.run(Arrays.<MutationAnalysisUnit> asList(new FailingUnit()));
+  }
+
+  private static MutationAnalysisUnit unit(final String file) {
+    return unitAwaiting(file, new CountDownLatch(0));
+  }
+
+  private static MutationAnalysisUnit unitAwaiting(final String file,
+      final CountDownLatch latch) {
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        await(latch, 5000);
+        return resultFor(file);
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private static MutationAnalysisUnit unitSignalling(final String file,
+      final CountDownLatch latch) {
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        latch.countDown();
+        return resultFor(file);
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private static MutationAnalysisUnit stealableUnit(final String file,
+      final CountDownLatch started, final MutationAnalysisUnit stealable,
+      final CountDownLatch stolenRun) {
+    final List<MutationAnalysisUnit> remaining = new ArrayList<MutationAnalysisUnit>(
+        Collections.singletonList(stealable));
+    return new StealableAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        started.countDown();
+        if (!await(stolenRun, 5000)) {
+          return resultFor(file + " finished without stolen work");
+        }
+        return resultFor(file);
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+
+      @Override
+      public synchronized Option<MutationAnalysisUnit> stealWork() {
+        if (remaining.isEmpty()) {
+          return Option.none();
+        }
+        return Option.some(remaining.remove(0));
+      }
+    };
+  }
+
+  private static MutationMetaData resultFor(final String file) {
+    return MutationTestResultMother.createMetaData(new MutationResult(
+        MutationTestResultMother.createDetails(file),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test")));
+  }
+
+  private static boolean await(final CountDownLatch latch, final long millis) {
+    try {
+      return latch.await(millis, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static class FailingUnit implements MutationAnalysisUnit {
+    @Override
+    public MutationMetaData call() throws Exception {
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public int priority() {
+      return 0;
+    }
+  }
+
+  private static class RecordingListener implements MutationResultListener {
+    final List<String> files   = new ArrayList<String>();
+    final List<Thread> threads = new ArrayList<Thread>();
+
+    @Override
+    public void runStart() {
+    }
+
+    @Override
+    public void handleMutationResult(final ClassMutationResults results) {
+      this.files.add(results.getFileName());
+      this.threads.add(Thread.currentThread());
+    }
+
+    @Override
+    public void runEnd() {
+    }
+  }
+
+}
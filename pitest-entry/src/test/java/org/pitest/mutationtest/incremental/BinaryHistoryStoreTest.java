@@ -0,0 +1,304 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV = BigInteger.TEN.toString(16);
+
+  @Rule
+  public TemporaryFolder      folder = new TemporaryFolder();
+
+  private BinaryHistoryStore  testee;
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private File                history;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+    this.history = new File(this.folder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final ClassHistory foo = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(1, ClassName.fromString("foo")), "a"), COV);
+    final ClassHistory bar = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(2, ClassName.fromString("bar")), "b"), COV);
+    record(Arrays.asList(foo.getId(), bar.getId()));
+
+    readHistory();
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<ClassName, ClassHistory>();
+    expected.put(foo.getName(), foo);
+    expected.put(bar.getName(), bar);
+    assertEquals(expected, this.testee.getHistoricClassPath());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveMethodHashes() {
+    final HierarchicalClassId foo = new HierarchicalClassId(
+        new ClassIdentifier(1, ClassName.fromString("foo")), "a",
+        Collections.singletonMap("bar()V", 42L));
+    record(Arrays.asList(foo));
+
+    readHistory();
+
+    assertEquals(Option.some(42L), this.testee.getHistoricClassPath()
+        .get(foo.getName()).getId().getMethodHash("bar", "()V"));
+  }
+
+  @Test
+  public void shouldRecordExecutionTimeOfTestsDefinedInEachClass() {
+    final ClassName fooTest = ClassName.fromString("fooTest");
+    final HierarchicalClassId foo = new HierarchicalClassId(
+        new ClassIdentifier(0, ClassName.fromString("foo")), "");
+    final Collection<TestInfo> tests = Arrays.asList(
+        new TestInfo("fooTest", "fooTest.one", 12, Option.<ClassName> none(), 1),
+        new TestInfo("fooTest", "fooTest.two", 30, Option.<ClassName> none(), 1));
+    when(this.coverage.getTestsForClass(foo.getName())).thenReturn(tests);
+    record(Arrays.asList(foo, new HierarchicalClassId(new ClassIdentifier(0,
+        fooTest), "")));
+
+    readHistory();
+
+    assertEquals(42, this.testee.getHistoricClassPath().get(fooTest)
+        .getTestTime());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult killed = result("foo", 1, DetectionStatus.KILLED,
+        "testName");
+    final MutationResult survived = result("bar", 2, DetectionStatus.SURVIVED,
+        null);
+    record(classPath(), killed, survived);
+
+    readHistory();
+
+    assertEquals(killed.getStatusTestPair(), this.testee.getHistoricResults()
+        .get(killed.getDetails().getId()));
+    assertEquals(survived.getStatusTestPair(), this.testee
+        .getHistoricResults().get(survived.getDetails().getId()));
+    assertEquals(2, this.testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldFindNoResultForUnrecordedMutation() {
+    record(classPath(), result("foo", 1, DetectionStatus.KILLED, "testName"));
+
+    readHistory();
+
+    assertNull(this.testee.getHistoricResults().get(
+        result("bar", 1, DetectionStatus.KILLED, null).getDetails().getId()));
+  }
+
+  @Test
+  public void shouldRetrieveAllResultsFromIndex() {
+    final MutationResult[] results = new MutationResult[500];
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+    for (int i = 0; i != results.length; i++) {
+      results[i] = result("foo" + (i % 7), i, DetectionStatus.KILLED, "test"
+          + i);
+      expected.put(results[i].getDetails().getId(),
+          results[i].getStatusTestPair());
+    }
+    record(classPath(), results);
+
+    readHistory();
+
+    for (final MutationResult each : results) {
+      assertEquals(each.getStatusTestPair(), this.testee.getHistoricResults()
+          .get(each.getDetails().getId()));
+    }
+    assertEquals(expected, new HashMap<MutationIdentifier, MutationStatusTestPair>(
+        this.testee.getHistoricResults()));
+  }
+
+  @Test
+  public void shouldReadAllResultsWhenIndexMissing() throws IOException {
+    final MutationResult killed = result("foo", 1, DetectionStatus.KILLED,
+        "testName");
+    record(classPath(), killed);
+    removeIndex();
+
+    readHistory();
+
+    assertEquals(killed.getStatusTestPair(), this.testee.getHistoricResults()
+        .get(killed.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldReadAndReplaceSameFile() {
+    final MutationResult first = result("foo", 1, DetectionStatus.KILLED,
+        "testName");
+    record(classPath(), first);
+
+    final MutationResult second = result("foo", 1, DetectionStatus.SURVIVED,
+        null);
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.some(this.history));
+    this.testee.initialize();
+    assertEquals(first.getStatusTestPair(), this.testee.getHistoricResults()
+        .get(first.getDetails().getId()));
+    this.testee.recordClassPath(classPath(), this.coverage);
+    this.testee.recordResult(second);
+    this.testee.close();
+
+    readHistory();
+
+    assertEquals(second.getStatusTestPair(), this.testee.getHistoricResults()
+        .get(second.getDetails().getId()));
+    assertFalse(BinaryHistoryStore.temporaryFile(this.history).exists());
+  }
+
+  @Test
+  public void shouldReadHistoryWrittenAsXml() throws IOException {
+    final MutationResult killed = result("foo", 1, DetectionStatus.KILLED,
+        "testName");
+    final PrintWriter pw = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(this.history), "UTF-8"));
+    final XStreamHistoryStore xml = new XStreamHistoryStore(
+        new WriterFactory() {
+          @Override
+          public PrintWriter create() {
+            return pw;
+          }
+
+          @Override
+          public void close() {
+          }
+        }, Option.<Reader> none());
+    xml.recordClassPath(classPath(), this.coverage);
+    xml.recordResult(killed);
+    pw.close();
+
+    readHistory();
+
+    assertEquals(killed.getStatusTestPair(), this.testee.getHistoricResults()
+        .get(killed.getDetails().getId()));
+    assertTrue(this.testee.getHistoricClassPath().containsKey(
+        ClassName.fromString("foo")));
+  }
+
+  @Test
+  public void shouldIgnoreCorruptFiles() throws IOException {
+    record(classPath(), result("foo", 1, DetectionStatus.KILLED, "testName"));
+    final RandomAccessFile raf = new RandomAccessFile(this.history, "rw");
+    raf.setLength(20);
+    raf.close();
+
+    readHistory();
+
+    assertTrue(this.testee.getHistoricClassPath().isEmpty());
+    assertTrue(this.testee.getHistoricResults().isEmpty());
+  }
+
+  @Test
+  public void shouldReplacePreviousHistoryWhenNothingRecorded() {
+    record(classPath(), result("foo", 1, DetectionStatus.KILLED, "testName"));
+
+    this.testee = new BinaryHistoryStore(Option.<File> none(),
+        Option.some(this.history));
+    this.testee.initialize();
+    this.testee.close();
+
+    readHistory();
+    assertTrue(this.history.exists());
+    assertTrue(this.testee.getHistoricClassPath().isEmpty());
+    assertTrue(this.testee.getHistoricResults().isEmpty());
+  }
+
+  @Test
+  public void shouldNotCreateFileWhenNoOutputLocationGiven() {
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.<File> none());
+    this.testee.initialize();
+    this.testee.close();
+    assertFalse(this.history.exists());
+  }
+
+  private void record(final Collection<HierarchicalClassId> classPath,
+      final MutationResult... results) {
+    this.testee = new BinaryHistoryStore(Option.<File> none(),
+        Option.some(this.history));
+    this.testee.initialize();
+    this.testee.recordClassPath(classPath, this.coverage);
+    for (final MutationResult each : results) {
+      this.testee.recordResult(each);
+    }
+    this.testee.close();
+  }
+
+  private void readHistory() {
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.<File> none());
+    this.testee.initialize();
+  }
+
+  private void removeIndex() throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(this.history, "rw");
+    raf.seek(raf.length() - 8);
+    final int indexOffset = raf.readInt();
+    raf.setLength(indexOffset);
+    raf.close();
+  }
+
+  private static Collection<HierarchicalClassId> classPath() {
+    return Arrays.asList(new HierarchicalClassId(new ClassIdentifier(0,
+        ClassName.fromString("foo")), ""));
+  }
+
+  private static MutationResult result(final String clazz, final int index,
+      final DetectionStatus status, final String killingTest) {
+    return new MutationResult(new MutationDetails(aMutationId()
+        .withLocation(aLocation(clazz)).withIndex(index).build(), "file",
+        "desc", 42, 0), new MutationStatusTestPair(1, status, killingTest));
+  }
+
+}
@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +25,7 @@ import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistoryTest {
@@ -109,6 +112,51 @@ public class DefaultCodeHistoryTest {
     assertFalse(this.testee.hasClassChanged(ClassName.fromString("foo")));
   }
 
+  @Test
+  public void shouldTreatMethodsOfNewClassAsChanged() {
+    assertTrue(this.testee.hasMethodChanged(aLocation("notInLastRun")
+        .build()));
+  }
+
+  @Test
+  public void shouldTreatMethodWithSameHashAsUnchangedWhenClassHasChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    final Location method = aLocation("foo").withMethod("bar")
+        .withMethodDescription("()V").build();
+    setCurrentClassPath(ClassInfoMother.make(new ClassIdentifier(42, foo),
+        Collections.singletonMap("bar()V", 1L)));
+    this.historicClassPath.put(foo, makeHistory(new HierarchicalClassId(
+        new ClassIdentifier(43, foo), "0", Collections.singletonMap("bar()V",
+            1L))));
+    assertTrue(this.testee.hasClassChanged(foo));
+    assertFalse(this.testee.hasMethodChanged(method));
+  }
+
+  @Test
+  public void shouldTreatMethodWithDifferentHashAsChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    final Location method = aLocation("foo").withMethod("bar")
+        .withMethodDescription("()V").build();
+    setCurrentClassPath(ClassInfoMother.make(new ClassIdentifier(42, foo),
+        Collections.singletonMap("bar()V", 1L)));
+    this.historicClassPath.put(foo, makeHistory(new HierarchicalClassId(
+        new ClassIdentifier(43, foo), "0", Collections.singletonMap("bar()V",
+            2L))));
+    assertTrue(this.testee.hasMethodChanged(method));
+  }
+
+  @Test
+  public void shouldCompareClassesWhenHistoryHasNoMethodHashes() {
+    final ClassName foo = ClassName.fromString("foo");
+    final Location method = aLocation("foo").withMethod("bar")
+        .withMethodDescription("()V").build();
+    setCurrentClassPath(ClassInfoMother.make(new ClassIdentifier(42, foo),
+        Collections.singletonMap("bar()V", 1L)));
+    this.historicClassPath.put(foo, makeHistory(new HierarchicalClassId(43,
+        foo, "0")));
+    assertTrue(this.testee.hasMethodChanged(method));
+  }
+
   private void setCurrentClassPath(final HierarchicalClassId currentId) {
     final ClassInfo currentClass = ClassInfoMother.make(currentId.getId());
     when(this.classInfoSource.fetchClass(ClassName.fromString("foo")))
@@ -2,11 +2,14 @@ package org.pitest.mutationtest.incremental;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -21,6 +24,7 @@ import org.pitest.functional.Option;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
@@ -79,10 +83,10 @@ public class IncrementalAnalyserTest {
   }
 
   @Test
-  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenClassHasChanged() {
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenMethodHasChanged() {
     final MutationDetails md = makeMutation("foo");
     setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
-    when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(true);
+    when(this.history.hasMethodChanged(any(Location.class))).thenReturn(true);
     final Collection<MutationResult> actual = this.testee.analyse(Collections
         .singletonList(md));
 
@@ -91,10 +95,10 @@ public class IncrementalAnalyserTest {
   }
 
   @Test
-  public void shouldStartPreviousTimedOutMutationsAtAStatusOfTimedOutWhenClassHasNotChanged() {
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfTimedOutWhenMethodHasNotChanged() {
     final MutationDetails md = makeMutation("foo");
     setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
-    when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(false);
+    when(this.history.hasMethodChanged(any(Location.class))).thenReturn(false);
     final Collection<MutationResult> actual = this.testee.analyse(Collections
         .singletonList(md));
 
@@ -140,6 +144,59 @@ public class IncrementalAnalyserTest {
     assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
   }
 
+  @Test
+  public void shouldStartPreviousKilledMutationsAtAStatusOfKilledWhenOnlyOtherMethodsOfClassHaveChanged() {
+    final MutationDetails md = makeMutation("foo");
+    final String killingTest = "fooTest";
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, killingTest);
+
+    final Collection<TestInfo> tests = Collections.singleton(new TestInfo(
+        "TEST_CLASS", killingTest, 0, Option.<ClassName> none(), 0));
+    when(this.coverage.getTestsForClass(any(ClassName.class)))
+    .thenReturn(tests);
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+    when(this.history.hasMethodChanged(md.getId().getLocation())).thenReturn(
+        false);
+    when(this.history.hasClassChanged(ClassName.fromString("TEST_CLASS")))
+    .thenReturn(false);
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.KILLED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousKilledMutationsAtAStatusOfNotStartedWhenMethodHasChanged() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, "fooTest");
+    when(this.history.hasMethodChanged(md.getId().getLocation())).thenReturn(
+        true);
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldQueryCoverageAndTestClassHistoryOncePerClass() {
+    final String killingTest = "fooTest";
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, killingTest);
+
+    final Collection<TestInfo> tests = Collections.singleton(new TestInfo(
+        "TEST_CLASS", killingTest, 0, Option.<ClassName> none(), 0));
+    when(this.coverage.getTestsForClass(any(ClassName.class)))
+    .thenReturn(tests);
+    final Collection<MutationResult> actual = this.testee.analyse(Arrays
+        .asList(makeMutation("foo"), makeMutation("bar"), makeMutation("baz")));
+
+    for (final MutationResult each : actual) {
+      assertEquals(DetectionStatus.KILLED, each.getStatus());
+    }
+    verify(this.coverage, times(1)).getTestsForClass(any(ClassName.class));
+    verify(this.history, times(1)).hasClassChanged(
+        ClassName.fromString("TEST_CLASS"));
+  }
+
   private MutationDetails makeMutation(final String method) {
     final MutationIdentifier id = aMutationId().withLocation(
         aLocation().withMethod(method)).build();
@@ -15,6 +15,7 @@ import java.io.Writer;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +27,7 @@ import org.pitest.classinfo.ClassIdentifier;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.DetectionStatus;
@@ -86,6 +88,46 @@ public class XStreamHistoryStoreTest {
     assertEquals(expected, this.testee.getHistoricClassPath());
   }
 
+  @Test
+  public void shouldRecordAndRetrieveMethodHashes() {
+    final HierarchicalClassId foo = new HierarchicalClassId(
+        new ClassIdentifier(0, ClassName.fromString("foo")), "",
+        Collections.singletonMap("bar()V", 42L));
+    recordClassPathWithTestee(foo);
+
+    final Reader reader = new StringReader(this.output.toString());
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.some(reader));
+    this.testee.initialize();
+
+    assertEquals(Option.some(42L), this.testee.getHistoricClassPath()
+        .get(foo.getName()).getId().getMethodHash("bar", "()V"));
+  }
+
+  @Test
+  public void shouldRecordExecutionTimeOfTestsDefinedInEachClass() {
+    final ClassName fooTest = ClassName.fromString("fooTest");
+    final HierarchicalClassId foo = new HierarchicalClassId(
+        new ClassIdentifier(0, ClassName.fromString("foo")), "");
+    final HierarchicalClassId fooTestId = new HierarchicalClassId(
+        new ClassIdentifier(0, fooTest), "");
+    final Collection<TestInfo> tests = Arrays.asList(
+        new TestInfo("fooTest", "fooTest.one", 12, Option.<ClassName> none(), 1),
+        new TestInfo("fooTest", "fooTest.two", 30, Option.<ClassName> none(), 1));
+    when(this.coverage.getTestsForClass(foo.getName())).thenReturn(tests);
+    recordClassPathWithTestee(foo, fooTestId);
+
+    final Reader reader = new StringReader(this.output.toString());
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.some(reader));
+    this.testee.initialize();
+
+    assertEquals(42, this.testee.getHistoricClassPath().get(fooTest)
+        .getTestTime());
+    assertEquals(0, this.testee.getHistoricClassPath().get(foo.getName())
+        .getTestTime());
+  }
+
   @Test
   public void shouldRecordAndRetrieveResults() {
     final HierarchicalClassId foo = new HierarchicalClassId(
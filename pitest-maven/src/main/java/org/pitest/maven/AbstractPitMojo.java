@@ -207,12 +207,36 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(property = "mutationUnitSize")
   private int                         mutationUnitSize;
 
+  /**
+   * Maximum number of analysis units a minion may run before it is replaced.
+   *
+   * Values greater than 1 keep minions alive between units, avoiding the cost
+   * of launching a new JVM for each unit.
+   */
+  @Parameter(defaultValue = "1", property = "unitsPerMinion")
+  private int                         unitsPerMinion;
+
+  /**
+   * Combine the mutants of each class into a single class and switch between
+   * them at runtime, rather than hot swapping each mutant. Mutants that cannot
+   * be combined are still hot swapped.
+   */
+  @Parameter(defaultValue = "false", property = "mutantSchemata")
+  private boolean                     mutantSchemata;
+
   /**
    * Export line coverage data
    */
   @Parameter(defaultValue = "false", property = "exportLineCoverage")
   private boolean                     exportLineCoverage;
 
+  /**
+   * Hold coverage in a compact per class index. Reduces memory use and lookup
+   * time for large code bases
+   */
+  @Parameter(defaultValue = "false", property = "indexedCoverage")
+  private boolean                     indexedCoverage;
+
   /**
    * Mutation score threshold at which to fail build
    */
@@ -517,6 +541,14 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.mutationUnitSize;
   }
 
+  public int getUnitsPerMinion() {
+    return this.unitsPerMinion;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
   public boolean isTimestampedReports() {
     return this.timestampedReports;
   }
@@ -541,6 +573,10 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.exportLineCoverage;
   }
 
+  public boolean isIndexedCoverage() {
+    return this.indexedCoverage;
+  }
+
   protected RunDecision shouldRun() {
     RunDecision decision = new RunDecision();
 
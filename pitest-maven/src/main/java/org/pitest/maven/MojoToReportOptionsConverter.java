@@ -135,12 +135,15 @@ public class MojoToReportOptionsConverter {
     setTestGroups(data);
 
     data.setMutationUnitSize(this.mojo.getMutationUnitSize());
+    data.setUnitsPerMinion(this.mojo.getUnitsPerMinion());
+    data.setMutantSchemata(this.mojo.isMutantSchemata());
     data.setShouldCreateTimestampedReports(this.mojo.isTimestampedReports());
     data.setDetectInlinedCode(this.mojo.isDetectInlinedCode());
 
     determineHistory(data);
     
     data.setExportLineCoverage(this.mojo.isExportLineCoverage());
+    data.setIndexedCoverage(this.mojo.isIndexedCoverage());
     data.setMutationEngine(this.mojo.getMutationEngine());
     data.setJavaExecutable(this.mojo.getJavaExecutable());
     data.setFreeFormProperties(createPluginProperties());
@@ -279,6 +279,21 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
     assertEquals(50, actual.getMutationUnitSize());
   }
 
+  public void testParsesUnitsPerMinion() {
+    final ReportOptions actual = parseConfig("<unitsPerMinion>10</unitsPerMinion>");
+    assertEquals(10, actual.getUnitsPerMinion());
+  }
+
+  public void testParsesMutantSchemataFlagWhenSet() {
+    final ReportOptions actual = parseConfig("<mutantSchemata>true</mutantSchemata>");
+    assertTrue(actual.useMutantSchemata());
+  }
+
+  public void testDoesNotUseMutantSchemataByDefault() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.useMutantSchemata());
+  }
+
   public void testDefaultsMutationUnitSizeToCorrectValue() {
     final ReportOptions actual = parseConfig("");
     assertEquals(
@@ -320,6 +335,16 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
     assertFalse(actual.shouldExportLineCoverage());
   }
 
+  public void testParsesIndexedCoverageFlagWhenSet() {
+    final ReportOptions actual = parseConfig("<indexedCoverage>true</indexedCoverage>");
+    assertTrue(actual.useIndexedCoverage());
+  }
+
+  public void testParsesIndexedCoverageFlagWhenNotSet() {
+    final ReportOptions actual = parseConfig("<indexedCoverage>false</indexedCoverage>");
+    assertFalse(actual.useIndexedCoverage());
+  }
+
   public void testParsesEngineWhenSet() {
     final ReportOptions actual = parseConfig("<mutationEngine>foo</mutationEngine>");
     assertEquals("foo", actual.getMutationEngine());
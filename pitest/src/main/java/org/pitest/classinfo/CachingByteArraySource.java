@@ -5,6 +5,11 @@ import java.util.Map;
 
 import org.pitest.functional.Option;
 
+/**
+ * Caches the most recently requested classes. May be shared between threads,
+ * although two threads requesting the same missing class may both read it
+ * from the child.
+ */
 public class CachingByteArraySource implements ClassByteArraySource {
   
   private final ClassByteArraySource child;
@@ -17,13 +22,20 @@ public class CachingByteArraySource implements ClassByteArraySource {
 
   @Override
   public Option<byte[]> getBytes(String clazz) {
-    Option<byte[]> maybeBytes = cache.get(clazz);
+    Option<byte[]> maybeBytes;
+    // reads must be guarded as a put may be resizing the map
+    synchronized (cache) {
+      maybeBytes = cache.get(clazz);
+    }
     if (maybeBytes != null) {
       return maybeBytes;
     }
-    
+
+    // child is read outside the lock so slow reads do not block other threads
     maybeBytes  = child.getBytes(clazz);
-    cache.put(clazz, maybeBytes);
+    synchronized (cache) {
+      cache.put(clazz, maybeBytes);
+    }
     return maybeBytes;
     
   }
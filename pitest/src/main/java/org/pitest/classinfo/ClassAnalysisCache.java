@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.classinfo;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.pitest.functional.F;
+import org.pitest.functional.Option;
+
+/**
+ * Holds the bytes of the most recently used classes along with the results
+ * of analyses run against them (parsed trees, line maps etc), so that each
+ * class need be read only once and each analysis run against it only once.
+ *
+ * Analyses are identified by the function passed in, so should be held in
+ * constants. Each module must supply its own, as the asm classes seen by one
+ * module may differ from those seen by another once packaged.
+ *
+ * May be shared between threads. Each class is read from the child and each
+ * analysis run at most once while the class remains cached, other threads
+ * requesting the same class wait for the first to finish. Results are shared
+ * and must not be modified.
+ */
+public class ClassAnalysisCache implements ClassByteArraySource {
+
+  private final ClassByteArraySource child;
+  private final Map<String, Entry>   cache;
+
+  private final AtomicLong           hits   = new AtomicLong();
+  private final AtomicLong           misses = new AtomicLong();
+
+  public ClassAnalysisCache(final ClassByteArraySource child, final int maxSize) {
+    this.child = child;
+    this.cache = new LeastRecentlyUsedMap<String, Entry>(maxSize);
+  }
+
+  @Override
+  public Option<byte[]> getBytes(final String clazz) {
+    return entryFor(clazz).bytes();
+  }
+
+  public <T> Option<T> analyse(final ClassName clazz,
+      final F<byte[], T> analysis) {
+    return entryFor(clazz.asJavaName()).analyse(analysis);
+  }
+
+  /**
+   * @return number of requests answered without reading or analysing a class
+   */
+  public long hits() {
+    return this.hits.get();
+  }
+
+  /**
+   * @return number of requests that read or analysed a class
+   */
+  public long misses() {
+    return this.misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "ClassAnalysisCache [hits=" + hits() + ", misses=" + misses() + "]";
+  }
+
+  private Entry entryFor(final String clazz) {
+    // names may arrive in either internal or java form
+    final String key = clazz.replace('.', '/');
+    synchronized (this.cache) {
+      Entry entry = this.cache.get(key);
+      if (entry == null) {
+        entry = new Entry(clazz);
+        this.cache.put(key, entry);
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Entries are created empty under the lock on the map, and filled under
+   * their own lock so that slow reads do not block requests for other classes
+   */
+  private class Entry {
+    private final String                       name;
+    private final Map<F<byte[], ?>, Option<?>> results = new HashMap<F<byte[], ?>, Option<?>>();
+    private Option<byte[]>                     bytes;
+
+    Entry(final String name) {
+      this.name = name;
+    }
+
+    synchronized Option<byte[]> bytes() {
+      if (this.bytes != null) {
+        ClassAnalysisCache.this.hits.incrementAndGet();
+        return this.bytes;
+      }
+      ClassAnalysisCache.this.misses.incrementAndGet();
+      this.bytes = ClassAnalysisCache.this.child.getBytes(this.name);
+      return this.bytes;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized <T> Option<T> analyse(final F<byte[], T> analysis) {
+      Option<T> result = (Option<T>) this.results.get(analysis);
+      if (result != null) {
+        ClassAnalysisCache.this.hits.incrementAndGet();
+        return result;
+      }
+      if (this.bytes == null) {
+        this.bytes = ClassAnalysisCache.this.child.getBytes(this.name);
+      }
+      ClassAnalysisCache.this.misses.incrementAndGet();
+      result = Option.none();
+      for (final byte[] each : this.bytes) {
+        result = Option.some(analysis.apply(each));
+      }
+      this.results.put(analysis, result);
+      return result;
+    }
+  }
+
+}
+
+class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+  private static final long serialVersionUID = 1L;
+  private final int         maxSize;
+
+  LeastRecentlyUsedMap(final int maxSize) {
+    super(16, 0.75f, true);
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+    return size() > this.maxSize;
+  }
+}
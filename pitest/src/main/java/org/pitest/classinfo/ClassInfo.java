@@ -36,6 +36,7 @@ public class ClassInfo {
   private final Collection<ClassName>  annotations;
   private final String                 sourceFile;
   private final Map<ClassName, Object> classAnnotationValues;
+  private final Map<String, Long>      methodHashes;
 
   public ClassInfo(final ClassPointer superClass,
       final ClassPointer outerClass, final ClassInfoBuilder builder) {
@@ -48,6 +49,7 @@ public class ClassInfo {
         ClassName.stringToClassName());
     this.sourceFile = builder.sourceFile;
     this.classAnnotationValues = builder.classAnnotationValues;
+    this.methodHashes = builder.methodHashes;
   }
 
   public int getNumberOfCodeLines() {
@@ -111,7 +113,8 @@ public class ClassInfo {
   }
 
   public HierarchicalClassId getHierarchicalId() {
-    return new HierarchicalClassId(this.id, getDeepHash());
+    return new HierarchicalClassId(this.id, getDeepHash().toString(16),
+        this.methodHashes);
   }
 
   public BigInteger getDeepHash() {
@@ -30,6 +30,7 @@ class ClassInfoBuilder {
   final Set<String>            annotations           = new HashSet<String>(0);
   final Map<ClassName, Object> classAnnotationValues = new HashMap<ClassName, Object>(
                                                          0);
+  final Map<String, Long>      methodHashes          = new HashMap<String, Long>();
 
   public void registerCodeLine(final int line) {
     this.codeLines.add(line);
@@ -44,4 +45,8 @@ class ClassInfoBuilder {
     this.classAnnotationValues.put(annotation, value);
   }
 
+  public void registerMethodHash(final String method, final long hash) {
+    this.methodHashes.put(method, hash);
+  }
+
 }
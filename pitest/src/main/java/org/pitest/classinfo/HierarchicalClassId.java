@@ -1,16 +1,33 @@
 package org.pitest.classinfo;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Map;
+
+import org.pitest.functional.Option;
 
 public final class HierarchicalClassId {
 
-  private final ClassIdentifier classId;
-  private final String          hierarchicalHash;
+  private final ClassIdentifier   classId;
+  private final String            hierarchicalHash;
+  private final Map<String, Long> methodHashes;
 
   public HierarchicalClassId(final ClassIdentifier classId,
       final String hierarchicalHash) {
+    this(classId, hierarchicalHash, Collections.<String, Long> emptyMap());
+  }
+
+  /**
+   * @param methodHashes
+   *          hashes of the instructions of each method, keyed by name and
+   *          descriptor. Not part of the identity, as any change to a method
+   *          also changes the hierarchical hash.
+   */
+  public HierarchicalClassId(final ClassIdentifier classId,
+      final String hierarchicalHash, final Map<String, Long> methodHashes) {
     this.classId = classId;
     this.hierarchicalHash = hierarchicalHash;
+    this.methodHashes = methodHashes;
   }
 
   public HierarchicalClassId(final ClassIdentifier id, final BigInteger deepHash) {
@@ -34,6 +51,18 @@ public final class HierarchicalClassId {
     return this.classId;
   }
 
+  public Map<String, Long> getMethodHashes() {
+    // null when read from history written before methods were hashed
+    if (this.methodHashes == null) {
+      return Collections.emptyMap();
+    }
+    return this.methodHashes;
+  }
+
+  public Option<Long> getMethodHash(final String name, final String desc) {
+    return Option.some(getMethodHashes().get(name + desc));
+  }
+
   @Override
   public String toString() {
     return "HierarchicalClassId [classId=" + this.classId
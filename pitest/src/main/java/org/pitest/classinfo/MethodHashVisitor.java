@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.classinfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.util.Unchecked;
+
+/**
+ * Hashes the instructions of a method. Line numbers, local variable names
+ * and stack map frames are ignored, and labels are identified by the
+ * position of the instruction they mark, so a method recompiled after an
+ * edit elsewhere in its source file keeps its hash.
+ */
+final class MethodHashVisitor extends MethodVisitor {
+
+  private final ClassInfoBuilder      classInfo;
+  private final String                method;
+  private final ByteArrayOutputStream bytes        = new ByteArrayOutputStream();
+  private final DataOutputStream      out          = new DataOutputStream(
+                                                       this.bytes);
+  private final Map<Label, Integer>   positions    = new IdentityHashMap<Label, Integer>();
+  private final List<Label>           referenced   = new ArrayList<Label>();
+  private int                         instructions = 0;
+
+  MethodHashVisitor(final ClassInfoBuilder classInfo, final String method,
+      final MethodVisitor mv) {
+    super(Opcodes.ASM6, mv);
+    this.classInfo = classInfo;
+    this.method = method;
+  }
+
+  @Override
+  public void visitInsn(final int opcode) {
+    instruction(opcode);
+    super.visitInsn(opcode);
+  }
+
+  @Override
+  public void visitIntInsn(final int opcode, final int operand) {
+    instruction(opcode, operand);
+    super.visitIntInsn(opcode, operand);
+  }
+
+  @Override
+  public void visitVarInsn(final int opcode, final int var) {
+    instruction(opcode, var);
+    super.visitVarInsn(opcode, var);
+  }
+
+  @Override
+  public void visitTypeInsn(final int opcode, final String type) {
+    instruction(opcode, type);
+    super.visitTypeInsn(opcode, type);
+  }
+
+  @Override
+  public void visitFieldInsn(final int opcode, final String owner,
+      final String name, final String desc) {
+    instruction(opcode, owner, name, desc);
+    super.visitFieldInsn(opcode, owner, name, desc);
+  }
+
+  @Override
+  public void visitMethodInsn(final int opcode, final String owner,
+      final String name, final String desc, final boolean itf) {
+    instruction(opcode, owner, name, desc);
+    super.visitMethodInsn(opcode, owner, name, desc, itf);
+  }
+
+  @Override
+  public void visitInvokeDynamicInsn(final String name, final String desc,
+      final Handle bsm, final Object... bsmArgs) {
+    instruction(Opcodes.INVOKEDYNAMIC, name, desc, bsm,
+        Arrays.asList(bsmArgs));
+    super.visitInvokeDynamicInsn(name, desc, bsm, bsmArgs);
+  }
+
+  @Override
+  public void visitJumpInsn(final int opcode, final Label label) {
+    instruction(opcode);
+    reference(label);
+    super.visitJumpInsn(opcode, label);
+  }
+
+  @Override
+  public void visitLabel(final Label label) {
+    this.positions.put(label, this.instructions);
+    super.visitLabel(label);
+  }
+
+  @Override
+  public void visitLdcInsn(final Object cst) {
+    instruction(Opcodes.LDC, cst.getClass().getName(), cst);
+    super.visitLdcInsn(cst);
+  }
+
+  @Override
+  public void visitIincInsn(final int var, final int increment) {
+    instruction(Opcodes.IINC, var, increment);
+    super.visitIincInsn(var, increment);
+  }
+
+  @Override
+  public void visitTableSwitchInsn(final int min, final int max,
+      final Label dflt, final Label... labels) {
+    instruction(Opcodes.TABLESWITCH, min, max);
+    reference(dflt);
+    for (final Label each : labels) {
+      reference(each);
+    }
+    super.visitTableSwitchInsn(min, max, dflt, labels);
+  }
+
+  @Override
+  public void visitLookupSwitchInsn(final Label dflt, final int[] keys,
+      final Label[] labels) {
+    instruction(Opcodes.LOOKUPSWITCH, Arrays.toString(keys));
+    reference(dflt);
+    for (final Label each : labels) {
+      reference(each);
+    }
+    super.visitLookupSwitchInsn(dflt, keys, labels);
+  }
+
+  @Override
+  public void visitMultiANewArrayInsn(final String desc, final int dims) {
+    instruction(Opcodes.MULTIANEWARRAY, desc, dims);
+    super.visitMultiANewArrayInsn(desc, dims);
+  }
+
+  @Override
+  public void visitTryCatchBlock(final Label start, final Label end,
+      final Label handler, final String type) {
+    // try catch blocks are visited before the code, so the position is -1
+    instruction(-1, String.valueOf(type));
+    reference(start);
+    reference(end);
+    reference(handler);
+    super.visitTryCatchBlock(start, end, handler, type);
+  }
+
+  @Override
+  public void visitEnd() {
+    try {
+      for (final Label each : this.referenced) {
+        final Integer position = this.positions.get(each);
+        this.out.writeInt(position == null ? -1 : position);
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    this.classInfo.registerMethodHash(this.method,
+        new AddlerHash().hash(this.bytes.toByteArray()));
+    super.visitEnd();
+  }
+
+  private void reference(final Label label) {
+    // labels may be referenced before they are visited, so positions are
+    // added once the whole method has been seen
+    this.referenced.add(label);
+  }
+
+  private void instruction(final int opcode, final Object... operands) {
+    if (opcode >= 0) {
+      this.instructions++;
+    }
+    try {
+      this.out.writeInt(opcode);
+      for (final Object each : operands) {
+        final String value = String.valueOf(each);
+        this.out.writeInt(value.length());
+        this.out.writeChars(value);
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
@@ -14,6 +14,7 @@
  */
 package org.pitest.classpath;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,11 +32,16 @@ import org.pitest.util.StreamUtil;
 import org.pitest.util.Unchecked;
 
 /**
- * ClassPathRoot wrapping a jar or zip file
+ * ClassPathRoot wrapping a jar or zip file.
+ *
+ * The archive is indexed when first used, and entries read from the index
+ * without reopening the file. Archives that cannot be indexed are opened
+ * afresh for each read.
  */
 public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
-  private final File file;
+  private final File                    file;
+  private volatile Option<ArchiveIndex> index;
 
   public ArchiveClassPathRoot(final File file) {
     this.file = file;
@@ -43,6 +49,16 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   @Override
   public InputStream getData(final String name) throws IOException {
+    final Option<ArchiveIndex> archive = index();
+    if (archive.hasSome()) {
+      final byte[] bytes = archive.value().read(
+          name.replace('.', '/') + ".class");
+      if (bytes == null) {
+        return null;
+      }
+      return new ByteArrayInputStream(bytes);
+    }
+
     final ZipFile zip = getRoot();
     try {
       final ZipEntry entry = zip.getEntry(name.replace('.', '/') + ".class");
@@ -57,6 +73,14 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   @Override
   public URL getResource(final String name) throws MalformedURLException {
+    final Option<ArchiveIndex> archive = index();
+    if (archive.hasSome()) {
+      if (archive.value().contains(name)) {
+        return new URL("jar:file:" + this.file.getPath() + "!/" + name);
+      }
+      return null;
+    }
+
     final ZipFile zip = getRoot();
     try {
       final ZipEntry entry = zip.getEntry(name);
@@ -87,12 +111,22 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
   @Override
   public Collection<String> classNames() {
     final List<String> names = new ArrayList<String>();
+    final Option<ArchiveIndex> archive = index();
+    if (archive.hasSome()) {
+      for (final String each : archive.value().names()) {
+        if (isClass(each)) {
+          names.add(stringToClassName(each));
+        }
+      }
+      return names;
+    }
+
     final ZipFile root = getRoot();
     try {
       final Enumeration<? extends ZipEntry> entries = root.entries();
       while (entries.hasMoreElements()) {
         final ZipEntry entry = entries.nextElement();
-        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+        if (!entry.isDirectory() && isClass(entry.getName())) {
           names.add(stringToClassName(entry.getName()));
         }
       }
@@ -103,6 +137,10 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   }
 
+  private static boolean isClass(final String name) {
+    return name.endsWith(".class") && !name.endsWith("/");
+  }
+
   private String stringToClassName(final String name) {
     return name.substring(0, (name.length() - ".class".length())).replace('/',
         '.');
@@ -113,6 +151,33 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
     return Option.some(this.file.getAbsolutePath());
   }
 
+  private Option<ArchiveIndex> index() {
+    Option<ArchiveIndex> archive = this.index;
+    if (archive == null) {
+      synchronized (this) {
+        archive = this.index;
+        if (archive == null) {
+          archive = readIndex();
+          this.index = archive;
+        }
+      }
+    }
+    return archive;
+  }
+
+  private Option<ArchiveIndex> readIndex() {
+    try {
+      return ArchiveIndex.read(this.file);
+    } catch (final IOException ex) {
+      // errors are reported when the archive is opened as a zip file
+      return Option.none();
+    } catch (final RuntimeException ex) {
+      // the buffer signals offsets beyond the end of a truncated or corrupt
+      // archive with runtime exceptions
+      return Option.none();
+    }
+  }
+
   private ZipFile getRoot() {
     try {
       return new ZipFile(this.file);
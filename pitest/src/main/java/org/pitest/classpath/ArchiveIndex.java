@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.pitest.functional.Option;
+
+/**
+ * Index of the entries of a zip file, built once from its central directory.
+ * The file is memory mapped, so entries can be read by many threads at once
+ * without reopening or seeking the file.
+ *
+ * Archives this class does not understand (zip64, or larger than can be
+ * mapped) are not indexed and must be read some other way.
+ */
+final class ArchiveIndex {
+
+  private static final int     END_SIGNATURE     = 0x06054b50;
+  private static final int     ENTRY_SIGNATURE   = 0x02014b50;
+  private static final int     LOCAL_SIGNATURE   = 0x04034b50;
+
+  private static final int     END_SIZE          = 22;
+  private static final int     MAX_COMMENT       = 0xffff;
+  private static final int     ENTRY_HEADER_SIZE = 46;
+  private static final int     LOCAL_HEADER_SIZE = 30;
+
+  private static final int     STORED            = 0;
+  private static final int     DEFLATED          = 8;
+
+  private static final Charset UTF8              = Charset.forName("UTF-8");
+
+  private final ByteBuffer         buffer;
+  private final Map<String, Entry> entries;
+
+  private ArchiveIndex(final ByteBuffer buffer,
+      final Map<String, Entry> entries) {
+    this.buffer = buffer;
+    this.entries = entries;
+  }
+
+  static Option<ArchiveIndex> read(final File file) throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      if (raf.length() > Integer.MAX_VALUE) {
+        return Option.none();
+      }
+      // the mapping remains valid once the file is closed
+      final ByteBuffer buffer = raf.getChannel()
+          .map(FileChannel.MapMode.READ_ONLY, 0, raf.length())
+          .order(ByteOrder.LITTLE_ENDIAN);
+      final Option<Map<String, Entry>> entries = readCentralDirectory(buffer);
+      if (entries.hasNone()) {
+        return Option.none();
+      }
+      return Option.some(new ArchiveIndex(buffer, entries.value()));
+    } finally {
+      raf.close();
+    }
+  }
+
+  /**
+   * @return entry names in the order they appear in the archive
+   */
+  Collection<String> names() {
+    return this.entries.keySet();
+  }
+
+  boolean contains(final String name) {
+    return this.entries.containsKey(name);
+  }
+
+  /**
+   * @return contents of the entry, or null if the archive has no such entry
+   */
+  byte[] read(final String name) throws IOException {
+    final Entry entry = this.entries.get(name);
+    if (entry == null) {
+      return null;
+    }
+    try {
+      return read(name, entry);
+    } catch (final RuntimeException e) {
+      // offsets beyond the end of the buffer
+      throw new ZipException("Corrupt entry " + name + " " + e);
+    }
+  }
+
+  private byte[] read(final String name, final Entry entry)
+      throws ZipException {
+
+    final int local = entry.localHeaderOffset;
+    if (this.buffer.getInt(local) != LOCAL_SIGNATURE) {
+      throw new ZipException("Invalid local header for " + name);
+    }
+    // the local extra field may differ from the one in the central directory
+    final int start = local + LOCAL_HEADER_SIZE
+        + (this.buffer.getShort(local + 26) & 0xffff)
+        + (this.buffer.getShort(local + 28) & 0xffff);
+    final ByteBuffer data = this.buffer.duplicate();
+    data.position(start);
+    data.limit(start + entry.compressedSize);
+
+    if (entry.method == STORED) {
+      final byte[] bytes = new byte[entry.size];
+      data.get(bytes);
+      return bytes;
+    }
+    if (entry.method == DEFLATED) {
+      return inflate(name, data, entry.size);
+    }
+    throw new ZipException("Unsupported compression method " + entry.method
+        + " for " + name);
+  }
+
+  private static byte[] inflate(final String name, final ByteBuffer data,
+      final int size) throws ZipException {
+    // an extra byte is needed when inflating without the zlib wrapper
+    final byte[] input = new byte[data.remaining() + 1];
+    data.get(input, 0, input.length - 1);
+
+    final Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(input);
+      final byte[] bytes = new byte[size];
+      int read = 0;
+      while (read < size) {
+        final int n = inflater.inflate(bytes, read, size - read);
+        if ((n == 0) && (inflater.finished() || inflater.needsInput())) {
+          throw new ZipException("Truncated entry " + name);
+        }
+        read = read + n;
+      }
+      return bytes;
+    } catch (final DataFormatException e) {
+      throw new ZipException(e.getMessage() + " in " + name);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static Option<Map<String, Entry>> readCentralDirectory(
+      final ByteBuffer buffer) throws ZipException {
+    final int end = findEnd(buffer);
+    final int count = buffer.getShort(end + 10) & 0xffff;
+    final long offset = buffer.getInt(end + 16) & 0xffffffffL;
+    // zip64 archives mark these fields as overflowed
+    if ((count == 0xffff) || (offset == 0xffffffffL)) {
+      return Option.none();
+    }
+
+    final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(
+        (count * 4) / 3 + 1);
+    int position = (int) offset;
+    for (int i = 0; i != count; i++) {
+      if (buffer.getInt(position) != ENTRY_SIGNATURE) {
+        throw new ZipException("Invalid central directory entry");
+      }
+      final int method = buffer.getShort(position + 10) & 0xffff;
+      final long compressedSize = buffer.getInt(position + 20) & 0xffffffffL;
+      final long size = buffer.getInt(position + 24) & 0xffffffffL;
+      final int nameLength = buffer.getShort(position + 28) & 0xffff;
+      final int extraLength = buffer.getShort(position + 30) & 0xffff;
+      final int commentLength = buffer.getShort(position + 32) & 0xffff;
+      final long localHeaderOffset = buffer.getInt(position + 42) & 0xffffffffL;
+      if ((compressedSize == 0xffffffffL) || (size == 0xffffffffL)
+          || (localHeaderOffset == 0xffffffffL)) {
+        return Option.none();
+      }
+
+      final byte[] name = new byte[nameLength];
+      final ByteBuffer view = buffer.duplicate();
+      view.position(position + ENTRY_HEADER_SIZE);
+      view.get(name);
+      entries.put(new String(name, UTF8), new Entry(method,
+          (int) compressedSize, (int) size, (int) localHeaderOffset));
+
+      position = position + ENTRY_HEADER_SIZE + nameLength + extraLength
+          + commentLength;
+    }
+    return Option.some(entries);
+  }
+
+  private static int findEnd(final ByteBuffer buffer) throws ZipException {
+    // the end record is followed by a comment of unknown length
+    final int last = buffer.limit() - END_SIZE;
+    final int first = Math.max(0, last - MAX_COMMENT);
+    for (int i = last; i >= first; i--) {
+      if (buffer.getInt(i) == END_SIGNATURE) {
+        return i;
+      }
+    }
+    throw new ZipException("No central directory found");
+  }
+
+  private static final class Entry {
+    final int method;
+    final int compressedSize;
+    final int size;
+    final int localHeaderOffset;
+
+    Entry(final int method, final int compressedSize, final int size,
+        final int localHeaderOffset) {
+      this.method = method;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.localHeaderOffset = localHeaderOffset;
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.classpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.util.StreamUtil;
+
+/**
+ * Keeps the bytes of each class once read from the child, including a record
+ * of classes it does not contain. Nothing is ever evicted, so should only wrap
+ * roots whose classes will be read repeatedly. May be shared between threads.
+ */
+class ClassDataCachingRoot implements ClassPathRoot {
+
+  private static final byte[]                 NOT_FOUND = new byte[0];
+
+  private final ClassPathRoot                 child;
+  private final ConcurrentMap<String, byte[]> data      = new ConcurrentHashMap<String, byte[]>();
+
+  ClassDataCachingRoot(final ClassPathRoot child) {
+    this.child = child;
+  }
+
+  @Override
+  public URL getResource(final String name) throws MalformedURLException {
+    return this.child.getResource(name);
+  }
+
+  @Override
+  public InputStream getData(final String name) throws IOException {
+    final String key = ClassName.fromString(name).asJavaName();
+    byte[] bytes = this.data.get(key);
+    if (bytes == null) {
+      bytes = read(name);
+      this.data.putIfAbsent(key, bytes);
+    }
+    if (bytes == NOT_FOUND) {
+      return null;
+    }
+    return new ByteArrayInputStream(bytes);
+  }
+
+  @Override
+  public Collection<String> classNames() {
+    return this.child.classNames();
+  }
+
+  @Override
+  public Option<String> cacheLocation() {
+    return this.child.cacheLocation();
+  }
+
+  private byte[] read(final String name) throws IOException {
+    final InputStream is = this.child.getData(name);
+    if (is == null) {
+      return NOT_FOUND;
+    }
+    try {
+      return StreamUtil.streamToByteArray(is);
+    } finally {
+      is.close();
+    }
+  }
+
+}
@@ -137,6 +137,14 @@ public class ClassPath {
     return this.root.cacheLocation().value();
   }
 
+  /**
+   * @return classpath reading from the same roots, that keeps the bytes of
+   *         each class once read. May be shared between threads.
+   */
+  public ClassPath withCachedClassData() {
+    return new ClassPath(new ClassDataCachingRoot(this.root));
+  }
+
   public ClassPath getComponent(final Predicate<ClassPathRoot> predicate) {
     return new ClassPath(FCollection.filter(this.root, predicate).toArray(
         new ClassPathRoot[0]));
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.pitest.classinfo.ClassAnalysisCache;
+import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
@@ -25,20 +27,36 @@ import org.pitest.testapi.TestClassIdentifier;
  */
 public class CodeSource implements ClassInfoSource {
 
+  private static final int          CACHED_CLASSES = 500;
+
   private final ProjectClassPaths   classPath;
   private final Repository          classRepository;
+  private final ClassAnalysisCache  classes;
   private final TestClassIdentifier testIdentifier;
 
   public CodeSource(final ProjectClassPaths classPath,
       final TestClassIdentifier testIdentifier) {
-    this(classPath, new Repository(new ClassPathByteArraySource(
-        classPath.getClassPath())), testIdentifier);
+    this(classPath, new ClassAnalysisCache(new ClassPathByteArraySource(
+        classPath.getClassPath()), CACHED_CLASSES), testIdentifier);
   }
 
   CodeSource(final ProjectClassPaths classPath,
       final Repository classRepository, final TestClassIdentifier testIdentifier) {
+    this(classPath, classRepository, new ClassAnalysisCache(
+        querySource(classRepository), CACHED_CLASSES), testIdentifier);
+  }
+
+  private CodeSource(final ProjectClassPaths classPath,
+      final ClassAnalysisCache classes, final TestClassIdentifier testIdentifier) {
+    this(classPath, new Repository(classes), classes, testIdentifier);
+  }
+
+  private CodeSource(final ProjectClassPaths classPath,
+      final Repository classRepository, final ClassAnalysisCache classes,
+      final TestClassIdentifier testIdentifier) {
     this.classPath = classPath;
     this.classRepository = classRepository;
+    this.classes = classes;
     this.testIdentifier = testIdentifier;
   }
 
@@ -82,11 +100,38 @@ public class CodeSource implements ClassInfoSource {
     return this.classRepository.querySource(clazz);
   }
 
+  /**
+   * Runs the analysis against the class at most once while it remains cached.
+   * The result is shared with other users of this source and must not be
+   * modified.
+   */
+  public <T> Option<T> analyseClass(final ClassName clazz,
+      final F<byte[], T> analysis) {
+    return this.classes.analyse(clazz, analysis);
+  }
+
+  /**
+   * Bytes of classes on the classpath, and the results of analyses run
+   * against them
+   */
+  public ClassAnalysisCache getClassAnalysisCache() {
+    return this.classes;
+  }
+
   @Override
   public Option<ClassInfo> fetchClass(final ClassName clazz) {
     return this.classRepository.fetchClass(clazz);
   }
 
+  private static ClassByteArraySource querySource(final Repository repository) {
+    return new ClassByteArraySource() {
+      @Override
+      public Option<byte[]> getBytes(final String clazz) {
+        return repository.querySource(ClassName.fromString(clazz));
+      }
+    };
+  }
+
   private F<ClassName, Option<ClassInfo>> nameToClassInfo() {
     return new NameToClassInfo(this.classRepository);
   }
@@ -2,25 +2,26 @@ package org.pitest.classpath;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F;
 import org.pitest.functional.Option;
 
 /**
- * Caches the classes provided by the decorated
- * root to avoid expensive IO operations at the
- * cost of higher memory consumption
+ * Remembers the names of the classes in a root in a set, so that requests for
+ * classes it does not contain need not touch the disk.
  */
 public class NameCachingRoot implements ClassPathRoot {
-  
-  private final ClassPathRoot child;
-  
-  private SoftReference<Collection<String>> cache;
+
+  private final ClassPathRoot  child;
+
+  private volatile Set<String> names;
 
   public NameCachingRoot(ClassPathRoot child) {
     this.child = child;
@@ -33,8 +34,7 @@ public class NameCachingRoot implements ClassPathRoot {
 
   @Override
   public InputStream getData(String name) throws IOException {
-    Collection<String> names = classNames();
-    if (!names.contains(ClassName.fromString(name).asJavaName())) {
+    if (!names().contains(ClassName.fromString(name).asJavaName())) {
       return null;
     }
     return child.getData(name);
@@ -42,15 +42,7 @@ public class NameCachingRoot implements ClassPathRoot {
 
   @Override
   public Collection<String> classNames() {
-    if (cache != null) {
-      Collection<String> cachedNames = cache.get();
-      if (cachedNames != null) {
-        return cachedNames;
-      }
-    }
-    Collection<String> names = child.classNames();
-    cache = new SoftReference<Collection<String>>(names);
-    return  names;
+    return names();
   }
 
   @Override
@@ -58,6 +50,21 @@ public class NameCachingRoot implements ClassPathRoot {
     return child.cacheLocation();
   }
 
+  private Set<String> names() {
+    Set<String> cached = this.names;
+    if (cached == null) {
+      synchronized (this) {
+        cached = this.names;
+        if (cached == null) {
+          cached = Collections.unmodifiableSet(new LinkedHashSet<String>(
+              child.classNames()));
+          this.names = cached;
+        }
+      }
+    }
+    return cached;
+  }
+
   public static F<ClassPathRoot, ClassPathRoot> toCachingRoot() {
      return new F<ClassPathRoot, ClassPathRoot>() {
       @Override
@@ -48,6 +48,14 @@ public final class TestInfo {
     return this.blocks;
   }
 
+  public String getDefiningClass() {
+    return this.definingClass;
+  }
+
+  public Option<ClassName> getTestee() {
+    return this.testee;
+  }
+
   @Override
   public String toString() {
     return this.name;
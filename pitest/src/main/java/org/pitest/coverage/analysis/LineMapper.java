@@ -1,5 +1,6 @@
 package org.pitest.coverage.analysis;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,12 +13,15 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.LineMap;
+import org.pitest.functional.F;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MethodName;
 
 public class LineMapper implements LineMap {
 
+  private static final F<byte[], Map<BlockLocation, Set<Integer>>> MAP_LINES = mapLinesFromBytes();
+
   private final CodeSource source;
 
   public LineMapper(final CodeSource source) {
@@ -26,31 +30,48 @@ public class LineMapper implements LineMap {
 
   @Override
   public Map<BlockLocation, Set<Integer>> mapLines(final ClassName clazz) {
+    final Option<Map<BlockLocation, Set<Integer>>> maybeMap = this.source
+        .analyseClass(clazz, MAP_LINES);
+    // classes generated at runtime eg by mocking frameworks
+    // will be instrumented but not available on the classpath
+    for (final Map<BlockLocation, Set<Integer>> map : maybeMap) {
+      return map;
+    }
+    return Collections.emptyMap();
+  }
+
+  private static F<byte[], Map<BlockLocation, Set<Integer>>> mapLinesFromBytes() {
+    return new F<byte[], Map<BlockLocation, Set<Integer>>>() {
+      @Override
+      public Map<BlockLocation, Set<Integer>> apply(final byte[] bytes) {
+        return mapLines(bytes);
+      }
+    };
+  }
+
+  private static Map<BlockLocation, Set<Integer>> mapLines(final byte[] bytes) {
 
     final Map<BlockLocation, Set<Integer>> map = new HashMap<BlockLocation, Set<Integer>>();
 
-    final Option<byte[]> maybeBytes = this.source.fetchClassBytes(clazz);
-    // classes generated at runtime eg by mocking frameworks
-    // will be instrumented but not available on the classpath
-    for (final byte[] bytes : maybeBytes) {
-      final ClassReader cr = new ClassReader(bytes);
-      final ClassNode classNode = new ClassNode();
-
-      cr.accept(classNode, ClassReader.EXPAND_FRAMES);
-      for (final Object m : classNode.methods) {
-        final MethodNode mn = (MethodNode) m;
-        final Location l = Location.location(clazz,
-            MethodName.fromString(mn.name), mn.desc);
-        final List<Block> blocks = ControlFlowAnalyser.analyze(mn);
-        for (int i = 0; i != blocks.size(); i++) {
-          final BlockLocation bl = new BlockLocation(l, i);
-          map.put(bl, blocks.get(i).getLines());
-        }
+    final ClassReader cr = new ClassReader(bytes);
+    final ClassNode classNode = new ClassNode();
 
+    cr.accept(classNode, ClassReader.EXPAND_FRAMES);
+    final ClassName clazz = ClassName.fromString(classNode.name);
+    for (final Object m : classNode.methods) {
+      final MethodNode mn = (MethodNode) m;
+      final Location l = Location.location(clazz,
+          MethodName.fromString(mn.name), mn.desc);
+      final List<Block> blocks = ControlFlowAnalyser.analyze(mn);
+      for (int i = 0; i != blocks.size(); i++) {
+        final BlockLocation bl = new BlockLocation(l, i);
+        map.put(bl, blocks.get(i).getLines());
       }
+
     }
 
-    return map;
+    // shared with other users of the code source
+    return Collections.unmodifiableMap(map);
   }
 
 }
@@ -1,7 +1,7 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
+import java.util.Arrays;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
@@ -9,11 +9,20 @@ import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
 
+import sun.pitest.ClassHitReceiver;
 import sun.pitest.CodeCoverageStore;
 
+/**
+ * Sends coverage from the minion to the parent process.
+ *
+ * The hits for each test are sent as the number of classes hit followed, for
+ * each class, by its id, the length in bytes of its probe bitmap and the
+ * bitmap itself.
+ */
 public class CoveragePipe implements CoverageReceiver {
 
   private final SafeDataOutputStream dos;
+  private final BitmapBuffer         hits = new BitmapBuffer();
 
   public CoveragePipe(final OutputStream dos) {
     this.dos = new SafeDataOutputStream(dos);
@@ -27,14 +36,13 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
+    this.hits.clear();
+    CodeCoverageStore.getClassHits(this.hits);
 
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
-    }
+    this.dos.writeDescription(description);
+    this.dos.writeInt(this.hits.classes);
+    this.dos.writeBytes(this.hits.bytes, 0, this.hits.size);
     this.dos.writeBoolean(wasGreen);
     this.dos.writeInt(executionTime);
 
@@ -66,4 +74,66 @@ public class CoveragePipe implements CoverageReceiver {
     this.dos.writeInt(lastProbe);
   }
 
+  /**
+   * Reusable buffer holding the hits of each class as a bitmap, bit n of
+   * the bitmap being set when probe n was hit. Bitmaps are trimmed after the
+   * last byte containing a hit.
+   */
+  private static class BitmapBuffer implements ClassHitReceiver {
+    private byte[] bytes = new byte[4096];
+    private int    size;
+    private int    classes;
+
+    @Override
+    public void classHit(final int classId, final boolean[] probes) {
+      final int lastProbe = lastHitProbe(probes);
+      if (lastProbe < 0) {
+        return;
+      }
+
+      final int length = (lastProbe >> 3) + 1;
+      ensureCapacity(8 + length);
+      writeInt(classId);
+      writeInt(length);
+      Arrays.fill(this.bytes, this.size, this.size + length, (byte) 0);
+      for (int probe = 0; probe <= lastProbe; probe++) {
+        if (probes[probe + 1]) {
+          this.bytes[this.size + (probe >> 3)] |= (byte) (1 << (probe & 7));
+        }
+      }
+      this.size = this.size + length;
+      this.classes++;
+    }
+
+    void clear() {
+      this.size = 0;
+      this.classes = 0;
+    }
+
+    private static int lastHitProbe(final boolean[] probes) {
+      // first slot of array is class hit flag
+      for (int i = probes.length - 1; i > 0; i--) {
+        if (probes[i]) {
+          return i - 1;
+        }
+      }
+      return -1;
+    }
+
+    private void writeInt(final int value) {
+      this.bytes[this.size] = (byte) (value >>> 24);
+      this.bytes[this.size + 1] = (byte) (value >>> 16);
+      this.bytes[this.size + 2] = (byte) (value >>> 8);
+      this.bytes[this.size + 3] = (byte) value;
+      this.size = this.size + 4;
+    }
+
+    private void ensureCapacity(final int extra) {
+      if ((this.size + extra) > this.bytes.length) {
+        this.bytes = Arrays.copyOf(this.bytes,
+            Math.max(this.bytes.length * 2, this.size + extra));
+      }
+    }
+  }
+
 }
@@ -17,7 +17,7 @@ package org.pitest.junit.adapter;
 
 import static org.pitest.util.Unchecked.translateCheckedException;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
@@ -25,10 +25,13 @@ import java.util.logging.Logger;
 
 import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.internal.runners.ErrorReportingRunner;
+import org.junit.runner.Description;
 import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.Filterable;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.JUnit4;
 import org.junit.runners.model.RunnerBuilder;
 import org.pitest.functional.Option;
 import org.pitest.testapi.AbstractTestUnit;
@@ -47,6 +50,12 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
   private final Class<?>                     clazz;
   private final Option<Filter>               filter;
 
+  // the filtered runner from the last execution, reused while tests continue
+  // to be run in the same loader
+  private ClassLoader                        cachedLoader;
+  private Runner                             cachedRunner;
+  private boolean                            cachedNoTestsRemain;
+
   public AdaptedJUnitTestUnit(final Class<?> clazz, final Option<Filter> filter) {
     this(IsolationUtils.loaderDetectionStrategy(), clazz, filter);
   }
@@ -71,9 +80,7 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
   @Override
   public void execute(final ClassLoader loader, final ResultCollector rc) {
 
-    final Runner runner = createRunner(this.clazz);
-    checkForErrorRunner(runner);
-    filterIfRequired(rc, runner);
+    final Runner runner = runnerFor(loader, rc);
 
     try {
       if (this.loaderDetection.fromDifferentLoader(runner.getClass(), loader)) {
@@ -93,6 +100,39 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
 
   }
 
+  private Runner runnerFor(final ClassLoader loader, final ResultCollector rc) {
+    if ((this.cachedRunner != null) && (this.cachedLoader == loader)) {
+      if (this.cachedNoTestsRemain) {
+        rc.notifySkipped(this.getDescription());
+      }
+      return this.cachedRunner;
+    }
+
+    final Runner runner = createRunner(this.clazz);
+    checkForErrorRunner(runner);
+    final boolean testsRemain = filterIfRequired(rc, runner);
+
+    if (canReuse(runner)
+        && !this.loaderDetection.fromDifferentLoader(runner.getClass(), loader)) {
+      this.cachedLoader = loader;
+      this.cachedRunner = runner;
+      this.cachedNoTestsRemain = !testsRemain;
+    }
+    return runner;
+  }
+
+  /**
+   * The default JUnit 4 runner creates a fresh test instance for each test it
+   * runs and only inspects annotations when constructed, so may be run again.
+   * Other runners (Parameterized, JUnit 3 suites, custom runners) may run
+   * code under test or create test instances when constructed, so must be
+   * built again for each mutant.
+   */
+  private static boolean canReuse(final Runner runner) {
+    return (runner.getClass() == BlockJUnit4ClassRunner.class)
+        || (runner.getClass() == JUnit4.class);
+  }
+
   private void checkForErrorRunner(final Runner runner) {
     if (runner instanceof ErrorReportingRunner) {
       LOG.warning("JUnit error for class " + this.clazz + " : "
@@ -101,21 +141,23 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
 
   }
 
-  private void filterIfRequired(final ResultCollector rc, final Runner runner) {
+  private boolean filterIfRequired(final ResultCollector rc,
+      final Runner runner) {
     if (this.filter.hasSome()) {
       if (!(runner instanceof Filterable)) {
         LOG.warning("Not able to filter " + runner.getDescription()
             + ". Mutation may have prevented JUnit from constructing test");
-        return;
+        return true;
       }
       final Filterable f = (Filterable) runner;
       try {
         f.filter(this.filter.value());
       } catch (final NoTestsRemainException e1) {
         rc.notifySkipped(this.getDescription());
-        return;
+        return false;
       }
     }
+    return true;
   }
 
   public static Runner createRunner(final Class<?> clazz) {
@@ -134,17 +176,21 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
   }
 
   private void executeInDifferentClassLoader(final ClassLoader loader,
-      final ResultCollector rc, final Runner runner)
-          throws IllegalAccessException, InvocationTargetException {
+      final ResultCollector rc, final Runner runner) {
 
     // must jump through hoops to run in different class loader
-    // when even our framework classes may be duplicated
-    // translate everything via strings
-    final ForeignClassLoaderCustomRunnerExecutor ce = new ForeignClassLoaderCustomRunnerExecutor(
-        runner);
+    // when even our framework classes may be duplicated.
+    // the runner is rebuilt within the loader, only its class name and the
+    // names of the tests that survived filtering are passed over, and results
+    // come back as strings
+    final String[] tests = this.filter.hasSome() ? testNames(runner
+        .getDescription()) : null;
     @SuppressWarnings("unchecked")
-    Callable<List<String>> foreignCe = (Callable<List<String>>) IsolationUtils
-    .cloneForLoader(ce, loader);
+    final Callable<List<String>> foreignCe = (Callable<List<String>>) IsolationUtils
+    .newInstanceInLoader(loader,
+        ForeignClassLoaderCustomRunnerExecutor.class.getName(),
+        new Class<?>[] { String.class, String[].class }, this.clazz.getName(),
+        tests);
 
     try {
       final List<String> q = foreignCe.call();
@@ -155,6 +201,22 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
 
   }
 
+  private static String[] testNames(final Description description) {
+    final List<String> names = new ArrayList<String>();
+    addTestNames(description, names);
+    return names.toArray(new String[names.size()]);
+  }
+
+  private static void addTestNames(final Description description,
+      final List<String> names) {
+    if (description.isTest()) {
+      names.add(description.getDisplayName());
+    }
+    for (final Description each : description.getChildren()) {
+      addTestNames(each, names);
+    }
+  }
+
   private void convertStringsToResults(final ResultCollector rc,
       final List<String> q) {
     Events.applyEvents(q, rc, this.getDescription());
@@ -20,13 +20,7 @@ import java.util.List;
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
-import org.pitest.functional.SideEffect2;
-import org.pitest.testapi.ResultCollector;
-import org.pitest.testapi.foreignclassloader.Fail;
-import org.pitest.testapi.foreignclassloader.Skipped;
-import org.pitest.testapi.foreignclassloader.Start;
-import org.pitest.testapi.foreignclassloader.Success;
-import org.pitest.util.IsolationUtils;
+import org.pitest.testapi.foreignclassloader.Events;
 
 class ForeignClassLoaderAdaptingRunListener extends RunListener {
 
@@ -39,7 +33,7 @@ class ForeignClassLoaderAdaptingRunListener extends RunListener {
 
   @Override
   public void testFailure(final Failure failure) throws Exception {
-    storeAsString(new Fail(failure.getException()));
+    this.events.add(Events.fail(failure.getException()));
     this.finished = true;
   }
 
@@ -50,25 +44,20 @@ class ForeignClassLoaderAdaptingRunListener extends RunListener {
 
   @Override
   public void testIgnored(final Description description) throws Exception {
-    storeAsString(new Skipped());
+    this.events.add(Events.skipped());
     this.finished = true;
   }
 
   @Override
   public void testStarted(final Description description) throws Exception {
-    storeAsString(new Start());
+    this.events.add(Events.start());
   }
 
   @Override
   public void testFinished(final Description description) throws Exception {
     if (!this.finished) {
-      storeAsString(new Success());
+      this.events.add(Events.success());
     }
   }
 
-  private void storeAsString(
-      final SideEffect2<ResultCollector, org.pitest.testapi.Description> result) {
-    this.events.add(IsolationUtils.toXml(result));
-  }
-
 }
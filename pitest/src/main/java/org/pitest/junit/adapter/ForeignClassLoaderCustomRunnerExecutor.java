@@ -15,32 +15,107 @@
 package org.pitest.junit.adapter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
+import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
+import org.pitest.util.Unchecked;
 
+/**
+ * Runs a test class within the loader it is created in. Created via
+ * {@link org.pitest.util.IsolationUtils#newInstanceInLoader} so takes only
+ * strings, and avoids touching classes that are expensive to initialise as it
+ * is likely to be loaded afresh for each mutant.
+ */
 public class ForeignClassLoaderCustomRunnerExecutor implements
     Callable<List<String>> {
 
-  private final Runner runner;
+  private final String   testClass;
+  private final String[] tests;
 
-  public ForeignClassLoaderCustomRunnerExecutor(final Runner runner) {
-    this.runner = runner;
+  /**
+   * @param testClass
+   *          name of the test class to run
+   * @param tests
+   *          display names of the tests to run, or null to run all
+   */
+  public ForeignClassLoaderCustomRunnerExecutor(final String testClass,
+      final String[] tests) {
+    this.testClass = testClass;
+    this.tests = tests;
   }
 
   @Override
   public List<String> call() { // NO_UCD
+    final Runner runner = createRunner();
+    filterIfRequired(runner);
+
     List<String> queue = new ArrayList<String>();
     final RunNotifier rn = new RunNotifier();
     final RunListener listener = new ForeignClassLoaderAdaptingRunListener(
         queue);
     rn.addFirstListener(listener);
-    this.runner.run(rn);
+    runner.run(rn);
     return queue;
 
   }
 
+  private Runner createRunner() {
+    try {
+      return new AllDefaultPossibilitiesBuilder(true).runnerForClass(Class
+          .forName(this.testClass, false, getClass().getClassLoader()));
+    } catch (final Throwable ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private void filterIfRequired(final Runner runner) {
+    if ((this.tests != null) && (runner instanceof Filterable)) {
+      try {
+        ((Filterable) runner).filter(new TestNameFilter(new HashSet<String>(
+            Arrays.asList(this.tests))));
+      } catch (final NoTestsRemainException e) {
+        // skip already reported by the launching loader
+      }
+    }
+  }
+
+  private static class TestNameFilter extends Filter {
+
+    private final Set<String> names;
+
+    TestNameFilter(final Set<String> names) {
+      this.names = names;
+    }
+
+    @Override
+    public boolean shouldRun(final Description description) {
+      if (description.isTest()) {
+        return this.names.contains(description.getDisplayName());
+      }
+      for (final Description each : description.getChildren()) {
+        if (shouldRun(each)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public String describe() {
+      return "tests " + this.names;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2010 Henry Coles
+ * Copyright 2018 Henry Coles
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -12,18 +12,22 @@
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
  * See the License for the specific language governing permissions and limitations under the License.
  */
+package org.pitest.mutationtest.engine;
 
-package org.pitest.testapi.foreignclassloader;
-
-import org.pitest.functional.SideEffect2;
-import org.pitest.testapi.Description;
-import org.pitest.testapi.ResultCollector;
-
-public class Success implements SideEffect2<ResultCollector, Description> {
+/**
+ * A mutater that can generate just the method containing a mutant, for
+ * analysis that need not see the rest of the class
+ */
+public interface MethodMutater extends Mutater {
 
-  @Override
-  public void apply(final ResultCollector rc, final Description description) {
-    rc.notifyEnd(description);
-  }
+  /**
+   * Creates a class containing only the mutated method. Stack map frames are
+   * not generated, so the class may be inspected but not loaded.
+   *
+   * @param id
+   *          the mutant to create
+   * @return a Mutant
+   */
+  Mutant getMutatedMethod(MutationIdentifier id);
 
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+
+/**
+ * A single class containing several mutants of a class, any one of which may
+ * be activated at runtime by passing its switch id to
+ * {@link sun.pitest.MutantSwitch}. When no mutant is active the class behaves
+ * as the unmutated class.
+ */
+public final class MutantSchema {
+
+  private final ClassName                       clazz;
+  private final byte[]                          bytes;
+  private final Map<MutationIdentifier, Integer> switches;
+
+  public MutantSchema(final ClassName clazz, final byte[] bytes,
+      final Map<MutationIdentifier, Integer> switches) {
+    this.clazz = clazz;
+    this.bytes = bytes;
+    this.switches = switches;
+  }
+
+  /**
+   * Creates a schema containing no mutants
+   */
+  public static MutantSchema none(final ClassName clazz) {
+    return new MutantSchema(clazz, null,
+        Collections.<MutationIdentifier, Integer> emptyMap());
+  }
+
+  public ClassName getClassName() {
+    return this.clazz;
+  }
+
+  /**
+   * Returns a byte array containing the schema class
+   *
+   * @return A byte array
+   */
+  public byte[] getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Mutants not contained in the schema must be created individually
+   */
+  public boolean contains(final MutationIdentifier id) {
+    return this.switches.containsKey(id);
+  }
+
+  public int getSwitchFor(final MutationIdentifier id) {
+    return this.switches.get(id);
+  }
+
+  public boolean isEmpty() {
+    return this.switches.isEmpty();
+  }
+
+}
@@ -200,6 +200,10 @@ public final class MutationDetails {
     return this.poison == PoisonStatus.IS_STATIC_INITIALIZER_CODE;
   }
 
+  public PoisonStatus getPoisonStatus() {
+    return this.poison;
+  }
+
   /**
    * Returns the basic block in which this mutation occurs. See
    * https://github.com/hcoles/pitest/issues/131 for discussion on block
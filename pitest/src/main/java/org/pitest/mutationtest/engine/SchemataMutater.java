@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.engine;
+
+import java.util.Collection;
+
+import org.pitest.classinfo.ClassName;
+
+/**
+ * A mutater that can combine the mutants of a class into a single class
+ */
+public interface SchemataMutater extends Mutater {
+
+  /**
+   * Creates a schema containing as many of the given mutants as can be
+   * expressed within a single class
+   *
+   * @param clazz
+   *          the class to mutate
+   * @param ids
+   *          the mutants of the class to include
+   * @return a MutantSchema
+   */
+  MutantSchema createSchema(ClassName clazz, Collection<MutationIdentifier> ids);
+
+}
@@ -25,7 +25,13 @@ import java.util.Map;
 import java.util.Set;
 
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.MethodNode;
 import org.pitest.bytecode.FrameOptions;
 import org.pitest.bytecode.NullVisitor;
 import org.pitest.classinfo.ClassByteArraySource;
@@ -36,18 +42,23 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.FunctionalList;
 import org.pitest.functional.Option;
 import org.pitest.functional.predicate.Predicate;
+import org.pitest.mutationtest.engine.MethodMutater;
 import org.pitest.mutationtest.engine.Mutant;
-import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+import org.pitest.util.PitError;
 
-public class GregorMutater implements Mutater {
+public class GregorMutater implements SchemataMutater, MethodMutater {
 
   private final Map<String, String>       computeCache   = new HashMap<String, String>();
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<MethodMutatorFactory>();
 
+  private ParsedClass                     lastParsed;
+
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
@@ -90,28 +101,117 @@ public class GregorMutater implements Mutater {
     return context.getCollectedMutations();
   }
 
+  /**
+   * Mutants are usually requested in class order, so the most recently
+   * mutated class is kept in parsed form along with the details of all its
+   * mutations. Only the mutated method is rebuilt for each mutant; all other
+   * methods are copied directly from the original bytes.
+   */
   @Override
   public Mutant getMutation(final MutationIdentifier id) {
 
+    final ParsedClass parsed = parse(id.getClassName());
+
     final ClassContext context = new ClassContext();
     context.setTargetMutation(Option.some(id));
 
-    final Option<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
-        .asJavaName());
-
-    final ClassReader reader = new ClassReader(bytes.value());
-    final ClassWriter w = new ComputeClassWriter(this.byteSource,
-        this.computeCache, FrameOptions.pickFlags(bytes.value()));
+    final ClassWriter w = new ComputeClassWriter(parsed.reader,
+        this.byteSource, this.computeCache, parsed.frameFlags);
     final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
         filterMethods(), FCollection.filter(this.mutators,
             isMutatorFor(id)));
-    reader.accept(mca, ClassReader.EXPAND_FRAMES);
+    parsed.reader.accept(mca, ClassReader.EXPAND_FRAMES);
+
+    final List<MutationDetails> details = FCollection.filter(
+        parsed.getMutations(), hasId(id));
+
+    return new Mutant(details.get(0), w.toByteArray());
+
+  }
+
+  /**
+   * The mutated method is written into an otherwise empty class, without
+   * computing frames, so no other class need be read and nothing else copied
+   */
+  @Override
+  public Mutant getMutatedMethod(final MutationIdentifier id) {
+
+    final ParsedClass parsed = parse(id.getClassName());
+
+    final Option<MethodNode> method = mutateMethod(parsed, id);
+    if (method.hasNone()) {
+      throw new PitError("No mutation found for " + id);
+    }
+    final MethodNode mutated = method.value();
+    for (final AbstractInsnNode each : mutated.instructions.toArray()) {
+      if (each instanceof FrameNode) {
+        mutated.instructions.remove(each);
+      }
+    }
+
+    final ClassWriter w = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    w.visit(parsed.reader.readUnsignedShort(6), parsed.reader.getAccess(),
+        parsed.reader.getClassName(), null, parsed.reader.getSuperName(),
+        null);
+    mutated.accept(w);
+    w.visitEnd();
 
-    final List<MutationDetails> details = context.getMutationDetails(context
-        .getTargetMutation().value());
+    final List<MutationDetails> details = FCollection.filter(
+        parsed.getMutations(), hasId(id));
 
     return new Mutant(details.get(0), w.toByteArray());
+  }
+
+  @Override
+  public MutantSchema createSchema(final ClassName clazz,
+      final Collection<MutationIdentifier> ids) {
+    final ParsedClass parsed = parse(clazz);
+    final SchemaBuilder builder = new SchemaBuilder(parsed.reader);
+    for (final MutationIdentifier each : ids) {
+      if (SchemaBuilder.canInclude(each)) {
+        final Option<MethodNode> method = mutateMethod(parsed, each);
+        if (method.hasSome()) {
+          builder.add(each, method.value());
+        }
+      }
+    }
+    return builder.build(clazz, new ComputeClassWriter(this.byteSource,
+        this.computeCache, parsed.frameFlags));
+  }
+
+  private Option<MethodNode> mutateMethod(final ParsedClass parsed,
+      final MutationIdentifier id) {
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Option.some(id));
+
+    final MethodCapture capture = new MethodCapture(id);
+    final MutatingClassVisitor mca = new MutatingClassVisitor(capture,
+        context, filterMethods(), FCollection.filter(this.mutators,
+            isMutatorFor(id)));
+    parsed.reader.accept(mca, ClassReader.EXPAND_FRAMES);
+
+    if (context.getMutationDetails(id).isEmpty()) {
+      return Option.none();
+    }
+    return Option.some(capture.method);
+  }
+
+  private ParsedClass parse(final ClassName clazz) {
+    if ((this.lastParsed == null) || !this.lastParsed.name.equals(clazz)) {
+      final byte[] bytes = this.byteSource.getBytes(clazz.asJavaName())
+          .value();
+      this.lastParsed = new ParsedClass(clazz, bytes);
+    }
+    return this.lastParsed;
+  }
 
+  private static F<MutationDetails, Boolean> hasId(final MutationIdentifier id) {
+    return new F<MutationDetails, Boolean>() {
+      @Override
+      public Boolean apply(final MutationDetails a) {
+        return a.matchesId(id);
+      }
+    };
   }
 
   private static Predicate<MethodMutatorFactory> isMutatorFor(
@@ -164,4 +264,57 @@ public class GregorMutater implements Mutater {
     };
   }
 
+  private class ParsedClass {
+    private final ClassName             name;
+    private final ClassReader           reader;
+    private final int                   frameFlags;
+    private Collection<MutationDetails> mutations;
+
+    ParsedClass(final ClassName name, final byte[] bytes) {
+      this.name = name;
+      this.reader = new ClassReader(bytes);
+      this.frameFlags = FrameOptions.pickFlags(bytes);
+    }
+
+    /**
+     * Block numbers are counted across the whole class, so the details of a
+     * mutant are taken from a single pass over every method
+     */
+    Collection<MutationDetails> getMutations() {
+      if (this.mutations == null) {
+        final ClassContext context = new ClassContext();
+        this.reader.accept(new MutatingClassVisitor(new NullVisitor(),
+            context, filterMethods(), GregorMutater.this.mutators),
+            ClassReader.EXPAND_FRAMES);
+        this.mutations = context.getCollectedMutations();
+      }
+      return this.mutations;
+    }
+  }
+
+  /**
+   * Records the method containing a mutation, discarding the rest of the class
+   */
+  private static class MethodCapture extends ClassVisitor {
+    private final MutationIdentifier id;
+    private MethodNode               method;
+
+    MethodCapture(final MutationIdentifier id) {
+      super(Opcodes.ASM6);
+      this.id = id;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int access, final String name,
+        final String desc, final String signature, final String[] exceptions) {
+      if (this.id.getLocation().getMethodName().name().equals(name)
+          && this.id.getLocation().getMethodDesc().equals(desc)) {
+        this.method = new MethodNode(Opcodes.ASM6, access, name, desc,
+            signature, exceptions);
+        return this.method;
+      }
+      return null;
+    }
+  }
+
 }
@@ -23,8 +23,10 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F;
+import org.pitest.functional.Option;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.analysis.InstructionTrackingMethodVisitor;
 import org.pitest.mutationtest.engine.gregor.blocks.BlockTrackingMethodDecorator;
 
@@ -62,10 +64,11 @@ class MutatingClassVisitor extends ClassVisitor {
       final String methodDescriptor, final String signature,
       final String[] exceptions) {
 
+    final Location location = Location.location(
+        ClassName.fromString(this.context.getClassInfo().getName()),
+        MethodName.fromString(methodName), methodDescriptor);
     MethodMutationContext methodContext = new MethodMutationContext(
-        this.context, Location.location(
-            ClassName.fromString(this.context.getClassInfo().getName()),
-            MethodName.fromString(methodName), methodDescriptor));
+        this.context, location);
 
     final MethodVisitor methodVisitor = this.cv.visitMethod(access, methodName,
         methodDescriptor, signature, exceptions);
@@ -74,7 +77,9 @@ class MutatingClassVisitor extends ClassVisitor {
     .withOwner(this.context.getClassInfo()).withAccess(access)
     .withMethodName(methodName).withMethodDescriptor(methodDescriptor);
 
-    if (this.filter.apply(info)) {
+    // methods that cannot contain the target mutation are passed straight to
+    // the delegate so a ClassWriter can copy them without decoding them
+    if (this.filter.apply(info) && mayContainTarget(location)) {
       return this.visitMethodForMutation(methodContext, info, methodVisitor);
     } else {
       return methodVisitor;
@@ -82,6 +87,11 @@ class MutatingClassVisitor extends ClassVisitor {
 
   }
 
+  private boolean mayContainTarget(final Location location) {
+    final Option<MutationIdentifier> target = this.context.getTargetMutation();
+    return target.hasNone() || target.value().getLocation().equals(location);
+  }
+
   private MethodVisitor visitMethodForMutation(
       MethodMutationContext methodContext, final MethodInfo methodInfo,
       final MethodVisitor methodVisitor) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+import sun.pitest.MutantSwitch;
+
+/**
+ * Combines mutants of a class into a single class.
+ *
+ * The class must be hot swapped in place of the original, so no members can
+ * be added. Instead each mutated method begins with a switch on the active
+ * mutant id that jumps to a copy of the method body containing that mutant,
+ * or to the original body if none of the method's mutants is active.
+ *
+ * Constructors and static initializers are not combined, nor are mutants that
+ * would push a method towards the size limit. These must be hot swapped
+ * individually.
+ */
+class SchemaBuilder {
+
+  // instruction nodes, including labels and line numbers, a combined method
+  // may contain. Keeps the generated code well below the 64k limit.
+  private static final int                       MAX_INSTRUCTIONS = 12000;
+
+  private final ClassNode                        original         = new ClassNode();
+  private final Map<String, List<Variant>>       variants         = new LinkedHashMap<String, List<Variant>>();
+  private final Map<String, Integer>             sizes            = new HashMap<String, Integer>();
+  private final Map<MutationIdentifier, Integer> switches         = new LinkedHashMap<MutationIdentifier, Integer>();
+
+  SchemaBuilder(final ClassReader reader) {
+    reader.accept(this.original, ClassReader.EXPAND_FRAMES);
+    for (final MethodNode method : this.original.methods) {
+      this.sizes.put(key(method.name, method.desc), method.instructions.size());
+    }
+  }
+
+  static boolean canInclude(final MutationIdentifier id) {
+    final String method = id.getLocation().getMethodName().name();
+    return !method.equals("<init>") && !method.equals("<clinit>");
+  }
+
+  /**
+   * @param mutant
+   *          the mutated form of the method the mutation is in
+   * @return true if the mutant was added
+   */
+  boolean add(final MutationIdentifier id, final MethodNode mutant) {
+    final String key = key(mutant.name, mutant.desc);
+    final Integer size = this.sizes.get(key);
+    if ((size == null)
+        || ((size + mutant.instructions.size()) > MAX_INSTRUCTIONS)) {
+      return false;
+    }
+
+    List<Variant> methodVariants = this.variants.get(key);
+    if (methodVariants == null) {
+      methodVariants = new ArrayList<Variant>();
+      this.variants.put(key, methodVariants);
+    }
+
+    final int switchId = this.switches.size() + 1;
+    methodVariants.add(new Variant(switchId, mutant));
+    this.switches.put(id, switchId);
+    this.sizes.put(key, size + mutant.instructions.size());
+    return true;
+  }
+
+  MutantSchema build(final ClassName clazz, final ClassWriter writer) {
+    if (this.switches.isEmpty()) {
+      return MutantSchema.none(clazz);
+    }
+
+    for (final MethodNode method : this.original.methods) {
+      final List<Variant> methodVariants = this.variants.get(key(method.name,
+          method.desc));
+      if (methodVariants != null) {
+        combine(method, methodVariants);
+      }
+    }
+
+    try {
+      this.original.accept(writer);
+      return new MutantSchema(clazz, writer.toByteArray(), this.switches);
+    } catch (final RuntimeException ex) {
+      // asm signals a method that is still too large with a plain
+      // RuntimeException
+      return MutantSchema.none(clazz);
+    }
+  }
+
+  private static void combine(final MethodNode method,
+      final List<Variant> methodVariants) {
+    final LabelNode unmutated = new LabelNode();
+    final int[] keys = new int[methodVariants.size()];
+    final LabelNode[] labels = new LabelNode[methodVariants.size()];
+    for (int i = 0; i != keys.length; i++) {
+      keys[i] = methodVariants.get(i).switchId;
+      labels[i] = new LabelNode();
+    }
+
+    final InsnList code = new InsnList();
+    code.add(new FieldInsnNode(Opcodes.GETSTATIC, MutantSwitch.CLASS_NAME,
+        MutantSwitch.FIELD_NAME, "I"));
+    code.add(new LookupSwitchInsnNode(unmutated, keys, labels));
+
+    // debug information for the copies is dropped, apart from line numbers
+    for (int i = 0; i != keys.length; i++) {
+      final MethodNode mutant = methodVariants.get(i).method;
+      code.add(labels[i]);
+      code.add(mutant.instructions);
+      method.tryCatchBlocks.addAll(mutant.tryCatchBlocks);
+    }
+
+    code.add(unmutated);
+    code.add(method.instructions);
+    method.instructions = code;
+  }
+
+  private static String key(final String name, final String desc) {
+    return name + desc;
+  }
+
+  private static class Variant {
+    private final int        switchId;
+    private final MethodNode method;
+
+    Variant(final int switchId, final MethodNode method) {
+      this.switchId = switchId;
+      this.method = method;
+    }
+  }
+
+}
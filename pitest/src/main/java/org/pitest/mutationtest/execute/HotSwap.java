@@ -32,6 +32,26 @@ class HotSwap implements F3<ClassName, ClassLoader, byte[], Boolean> {
 
   }
 
+  /**
+   * Restores the unmutated bytes of the last mutated class to both the
+   * supplied loader and the loader that was last used, so the class can be
+   * tested against a new set of mutants.
+   */
+  void restore(final ClassLoader loader) {
+    if (this.lastMutatedClass == null) {
+      return;
+    }
+    try {
+      restoreForLoader(this.lastUsedLoader);
+      if (loader != this.lastUsedLoader) {
+        restoreForLoader(loader);
+      }
+      this.lastMutatedClass = null;
+    } catch (final ClassNotFoundException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   private void restoreLastClass(final ClassByteArraySource byteSource,
       final ClassName clazzName, final ClassLoader loader)
           throws ClassNotFoundException {
@@ -30,21 +30,59 @@ public class MinionArguments {
   final TimeoutLengthStrategy       timeoutStrategy;
   final boolean                     verbose;
   final Configuration               pitConfig;
+  final boolean                     persistent;
+  final boolean                     useSchemata;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final MutationEngine engine,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
       final Configuration pitConfig) {
+    this(mutations, tests, engine, timeoutStrategy, verbose, pitConfig, false);
+  }
+
+  /**
+   * @param persistent
+   *          if true the minion waits for further arguments once it has
+   *          reported its results, rather than exiting
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final MutationEngine engine,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final Configuration pitConfig, final boolean persistent) {
+    this(mutations, tests, engine, timeoutStrategy, verbose, pitConfig,
+        persistent, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true the mutants of each class are combined into a single
+   *          class where possible, rather than hot swapped one at a time
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final MutationEngine engine,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final Configuration pitConfig, final boolean persistent,
+      final boolean useSchemata) {
     this.mutations = mutations;
     this.testClasses = tests;
     this.engine = engine;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
+    this.persistent = persistent;
+    this.useSchemata = useSchemata;
   }
 
   public boolean isVerbose() {
     return this.verbose;
   }
 
+  public boolean isPersistent() {
+    return this.persistent;
+  }
+
+  public boolean useSchemata() {
+    return this.useSchemata;
+  }
+
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.testapi.Configuration;
+import org.pitest.util.IsolationUtils;
+import org.pitest.util.PitError;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Binary encoding of the messages exchanged with a mutation test minion.
+ *
+ * Class, method and test names are written with
+ * {@link SafeDataOutputStream#writeName(String)} so each is sent only once per
+ * connection however many mutations or tests refer to it. Mutations are
+ * usually covered by the same few tests, so each test is also sent in full only
+ * the first time it appears in a set of arguments. The engine, timeout
+ * strategy and test configuration are pluggable so are still sent as XML, but
+ * are small and sent once per set of arguments.
+ */
+public final class MinionProtocol {
+
+  /**
+   * Incremented whenever the encoding changes
+   */
+  static final int VERSION = 2;
+
+  private MinionProtocol() {
+  }
+
+  public static void writeArguments(final SafeDataOutputStream dos,
+      final MinionArguments arguments) {
+    dos.writeInt(VERSION);
+    dos.writeBoolean(arguments.verbose);
+    dos.writeBoolean(arguments.persistent);
+    dos.writeBoolean(arguments.useSchemata);
+    dos.writeString(IsolationUtils.toXml(arguments.engine));
+    dos.writeString(IsolationUtils.toXml(arguments.timeoutStrategy));
+    dos.writeString(IsolationUtils.toXml(arguments.pitConfig));
+
+    dos.writeInt(arguments.testClasses.size());
+    for (final ClassName each : arguments.testClasses) {
+      dos.writeName(each.asJavaName());
+    }
+
+    final Map<TestInfo, Integer> sentTests = new HashMap<TestInfo, Integer>();
+    dos.writeInt(arguments.mutations.size());
+    for (final MutationDetails each : arguments.mutations) {
+      writeMutation(dos, each, sentTests);
+    }
+  }
+
+  public static MinionArguments readArguments(final SafeDataInputStream dis) {
+    final int version = dis.readInt();
+    if (version != VERSION) {
+      throw new PitError("Minion protocol version " + version
+          + " does not match expected version " + VERSION);
+    }
+    final boolean verbose = dis.readBoolean();
+    final boolean persistent = dis.readBoolean();
+    final boolean useSchemata = dis.readBoolean();
+    final MutationEngine engine = (MutationEngine) IsolationUtils.fromXml(dis
+        .readString());
+    final TimeoutLengthStrategy timeoutStrategy = (TimeoutLengthStrategy) IsolationUtils
+        .fromXml(dis.readString());
+    final Configuration pitConfig = (Configuration) IsolationUtils.fromXml(dis
+        .readString());
+
+    final int numberOfTests = dis.readInt();
+    final List<ClassName> tests = new ArrayList<ClassName>(numberOfTests);
+    for (int i = 0; i != numberOfTests; i++) {
+      tests.add(ClassName.fromString(dis.readName()));
+    }
+
+    final int numberOfMutations = dis.readInt();
+    final List<MutationDetails> mutations = new ArrayList<MutationDetails>(
+        numberOfMutations);
+    final List<TestInfo> receivedTests = new ArrayList<TestInfo>();
+    for (int i = 0; i != numberOfMutations; i++) {
+      mutations.add(readMutation(dis, receivedTests));
+    }
+
+    return new MinionArguments(mutations, tests, engine, timeoutStrategy,
+        verbose, pitConfig, persistent, useSchemata);
+  }
+
+  public static void writeMutationId(final SafeDataOutputStream dos,
+      final MutationIdentifier id) {
+    final Location location = id.getLocation();
+    dos.writeName(location.getClassName().asJavaName());
+    dos.writeName(location.getMethodName().name());
+    dos.writeName(location.getMethodDesc());
+    dos.writeName(id.getMutator());
+    dos.writeInt(id.getIndexes().size());
+    for (final int each : id.getIndexes()) {
+      dos.writeInt(each);
+    }
+  }
+
+  public static MutationIdentifier readMutationId(final SafeDataInputStream dis) {
+    final Location location = Location.location(
+        ClassName.fromString(dis.readName()),
+        MethodName.fromString(dis.readName()), dis.readName());
+    final String mutator = dis.readName();
+    final int numberOfIndexes = dis.readInt();
+    final List<Integer> indexes = new ArrayList<Integer>(numberOfIndexes);
+    for (int i = 0; i != numberOfIndexes; i++) {
+      indexes.add(dis.readInt());
+    }
+    return new MutationIdentifier(location, indexes, mutator);
+  }
+
+  public static void writeStatus(final SafeDataOutputStream dos,
+      final MutationStatusTestPair status) {
+    dos.writeInt(status.getNumberOfTestsRun());
+    dos.writeName(status.getStatus().name());
+    dos.writeName(status.getKillingTest().getOrElse(null));
+  }
+
+  public static MutationStatusTestPair readStatus(final SafeDataInputStream dis) {
+    final int numberOfTestsRun = dis.readInt();
+    final DetectionStatus status = DetectionStatus.valueOf(dis.readName());
+    return new MutationStatusTestPair(numberOfTestsRun, status, dis.readName());
+  }
+
+  private static void writeMutation(final SafeDataOutputStream dos,
+      final MutationDetails mutation, final Map<TestInfo, Integer> sentTests) {
+    writeMutationId(dos, mutation.getId());
+    dos.writeName(mutation.getFilename());
+    dos.writeName(mutation.getDescription());
+    dos.writeInt(mutation.getLineNumber());
+    dos.writeInt(mutation.getBlock());
+    dos.writeBoolean(mutation.isInFinallyBlock());
+    dos.writeName(mutation.getPoisonStatus().name());
+
+    final Collection<TestInfo> tests = mutation.getTestsInOrder();
+    dos.writeInt(tests.size());
+    for (final TestInfo each : tests) {
+      final Integer index = sentTests.get(each);
+      if (index != null) {
+        dos.writeInt(index);
+      } else {
+        dos.writeInt(sentTests.size());
+        sentTests.put(each, sentTests.size());
+        writeTest(dos, each);
+      }
+    }
+  }
+
+  private static MutationDetails readMutation(final SafeDataInputStream dis,
+      final List<TestInfo> receivedTests) {
+    final MutationIdentifier id = readMutationId(dis);
+    final String filename = dis.readName();
+    final String description = dis.readName();
+    final int lineNumber = dis.readInt();
+    final int block = dis.readInt();
+    final boolean isInFinallyBlock = dis.readBoolean();
+    final PoisonStatus poison = PoisonStatus.valueOf(dis.readName());
+    final MutationDetails mutation = new MutationDetails(id, filename,
+        description, lineNumber, block, isInFinallyBlock, poison);
+
+    final int numberOfTests = dis.readInt();
+    final List<TestInfo> tests = new ArrayList<TestInfo>(numberOfTests);
+    for (int i = 0; i != numberOfTests; i++) {
+      final int index = dis.readInt();
+      if (index == receivedTests.size()) {
+        receivedTests.add(readTest(dis));
+      }
+      tests.add(receivedTests.get(index));
+    }
+    mutation.addTestsInOrder(tests);
+    return mutation;
+  }
+
+  private static void writeTest(final SafeDataOutputStream dos,
+      final TestInfo test) {
+    dos.writeName(test.getDefiningClass());
+    dos.writeName(test.getName());
+    dos.writeInt(test.getTime());
+    dos.writeInt(test.getNumberOfBlocksCovered());
+    final Option<ClassName> testee = test.getTestee();
+    dos.writeName(testee.hasSome() ? testee.value().asJavaName() : null);
+  }
+
+  private static TestInfo readTest(final SafeDataInputStream dis) {
+    final String definingClass = dis.readName();
+    final String name = dis.readName();
+    final int time = dis.readInt();
+    final int blocks = dis.readInt();
+    final String testee = dis.readName();
+    return new TestInfo(definingClass, name, time, toOption(testee), blocks);
+  }
+
+  private static Option<ClassName> toOption(final String testee) {
+    if (testee == null) {
+      return Option.none();
+    }
+    return Option.some(ClassName.fromString(testee));
+  }
+
+}
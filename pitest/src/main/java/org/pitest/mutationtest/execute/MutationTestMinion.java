@@ -54,8 +54,10 @@ public class MutationTestMinion {
   // Size is arbitrary but assumed to be large enough to cover likely max number of inner classes
   private static final int CACHE_SIZE = 12;
 
-  private final SafeDataInputStream dis;
-  private final Reporter            reporter;
+  private final SafeDataInputStream   dis;
+  private final Reporter              reporter;
+  // a single thread runs every test against every mutant this minion sees
+  private final TimeLimitedTestRunner runner = new TimeLimitedTestRunner();
 
   public MutationTestMinion(final SafeDataInputStream dis,
       final Reporter reporter) {
@@ -65,31 +67,26 @@ public class MutationTestMinion {
 
   public void run() {
     try {
-      
-      final MinionArguments paramsFromParent = this.dis
-          .read(MinionArguments.class);
 
-      Log.setVerbose(paramsFromParent.isVerbose());
-      
+      MinionArguments paramsFromParent = readArguments();
+
       final ClassLoader loader = IsolationUtils.getContextClassLoader();
 
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
           loader), CACHE_SIZE);
 
-      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
-          byteSource);
-      
-      final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          paramsFromParent.engine.createMutator(byteSource), loader);
-
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, paramsFromParent.pitConfig);
-      
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
-      
-      this.reporter.done(ExitCode.OK);
+      final HotSwap hotswap = new HotSwap(byteSource);
+
+      runMutations(paramsFromParent, loader, byteSource, hotswap);
+
+      // a persistent minion is kept alive by the parent and sent further
+      // mutations until it is told there is no more work
+      while (paramsFromParent.isPersistent() && this.dis.readBoolean()) {
+        hotswap.restore(loader);
+        paramsFromParent = readArguments();
+        runMutations(paramsFromParent, loader, byteSource, hotswap);
+      }
+
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
@@ -98,6 +95,30 @@ public class MutationTestMinion {
 
   }
 
+  MinionArguments readArguments() {
+    return MinionProtocol.readArguments(this.dis);
+  }
+
+  private void runMutations(final MinionArguments paramsFromParent,
+      final ClassLoader loader, final ClassByteArraySource byteSource,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap)
+      throws IOException {
+    Log.setVerbose(paramsFromParent.isVerbose());
+
+    final MutationTestWorker worker = new MutationTestWorker(hotswap,
+        paramsFromParent.engine.createMutator(byteSource), loader,
+        paramsFromParent.useSchemata());
+
+    final List<TestUnit> tests = findTestsForTestClasses(loader,
+        paramsFromParent.testClasses, paramsFromParent.pitConfig);
+
+    worker.run(paramsFromParent.mutations, this.reporter,
+        new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
+            tests, this.reporter, this.runner));
+
+    this.reporter.done(ExitCode.OK);
+  }
+
   public static void main(final String[] args) {
 
     LOG.log(Level.FINE, "minion started");
@@ -30,9 +30,11 @@ import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
 import org.pitest.mutationtest.mocksupport.JavassistInterceptor;
 import org.pitest.testapi.TestResult;
 import org.pitest.testapi.TestUnit;
@@ -45,6 +47,8 @@ import org.pitest.testapi.execute.containers.UnContainer;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 
+import sun.pitest.MutantSwitch;
+
 public class MutationTestWorker {
 
   private static final Logger                               LOG   = Log
@@ -57,13 +61,32 @@ public class MutationTestWorker {
   private final Mutater                                     mutater;
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
+  private final boolean                                     useSchemata;
+
+  private MutantSchema                                      schema;
+  private boolean                                           schemaInstalled;
 
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader) {
+    this(hotswap, mutater, loader, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true and the mutater supports it, the mutants of each class
+   *          are combined into a single class that is hot swapped once, with
+   *          each mutant then activated through {@link MutantSwitch}. Mutants
+   *          that cannot be combined are hot swapped individually.
+   */
+  public MutationTestWorker(
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final boolean useSchemata) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
+    this.useSchemata = useSchemata && (mutater instanceof SchemataMutater);
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
@@ -74,6 +97,7 @@ public class MutationTestWorker {
         LOG.fine("Running mutation " + mutation);
       }
       final long t0 = System.currentTimeMillis();
+      selectSchema(range, mutation);
       processMutation(r, testSource, mutation);
       if (DEBUG) {
         LOG.fine("processed mutation in " + (System.currentTimeMillis() - t0)
@@ -88,7 +112,7 @@ public class MutationTestWorker {
       final MutationDetails mutationDetails) throws IOException {
 
     final MutationIdentifier mutationId = mutationDetails.getId();
-    final Mutant mutatedClass = this.mutater.getMutation(mutationId);
+    final Mutant mutatedClass = createMutant(mutationDetails);
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
@@ -141,13 +165,16 @@ public class MutationTestWorker {
     final ClassLoader activeloader = pickClassLoaderForMutant(mutationId);
     final Container c = createNewContainer(activeloader);
     final long t0 = System.currentTimeMillis();
-    if (this.hotswap.apply(mutationId.getClassName(), activeloader,
-        mutatedClass.getBytes())) {
+    if (activate(mutationId, activeloader, mutatedClass)) {
       if (DEBUG) {
         LOG.fine("replaced class with mutant in "
             + (System.currentTimeMillis() - t0) + " ms");
       }
-      mutationDetected = doTestsDetectMutation(c, relevantTests);
+      try {
+        mutationDetected = doTestsDetectMutation(c, relevantTests);
+      } finally {
+        MutantSwitch.deactivate();
+      }
     } else {
       LOG.warning("Mutation " + mutationId + " was not viable ");
       mutationDetected = new MutationStatusTestPair(0,
@@ -156,6 +183,70 @@ public class MutationTestWorker {
     return mutationDetected;
   }
 
+  private void selectSchema(final Collection<MutationDetails> range,
+      final MutationDetails mutation) {
+    if (!this.useSchemata) {
+      return;
+    }
+    final ClassName clazz = mutation.getClassName();
+    if ((this.schema == null) || !this.schema.getClassName().equals(clazz)) {
+      final List<MutationIdentifier> ids = new ArrayList<MutationIdentifier>();
+      for (final MutationDetails each : range) {
+        // mutants that may poison the jvm are run in a fresh classloader
+        if (each.getClassName().equals(clazz) && !each.mayPoisonJVM()) {
+          ids.add(each.getId());
+        }
+      }
+      this.schema = ((SchemataMutater) this.mutater).createSchema(clazz, ids);
+      this.schemaInstalled = false;
+    }
+  }
+
+  private boolean isInSchema(final MutationIdentifier id) {
+    return (this.schema != null) && this.schema.contains(id);
+  }
+
+  private Mutant createMutant(final MutationDetails mutation) {
+    if (isInSchema(mutation.getId())) {
+      return new Mutant(mutation, this.schema.getBytes());
+    }
+    return this.mutater.getMutation(mutation.getId());
+  }
+
+  private boolean activate(final MutationDetails mutation,
+      final ClassLoader loader, final Mutant mutant) {
+    if (isInSchema(mutation.getId())) {
+      if (installSchema(mutation.getClassName(), loader)) {
+        MutantSwitch.activate(this.schema.getSwitchFor(mutation.getId()));
+        return true;
+      }
+      return hotswapMutant(mutation, loader,
+          this.mutater.getMutation(mutation.getId()));
+    }
+    return hotswapMutant(mutation, loader, mutant);
+  }
+
+  private boolean installSchema(final ClassName clazz, final ClassLoader loader) {
+    if (!this.schemaInstalled) {
+      this.schemaInstalled = this.hotswap.apply(clazz, loader,
+          this.schema.getBytes());
+      if (!this.schemaInstalled) {
+        LOG.warning("Could not install mutant schema for " + clazz
+            + ". Mutants will be hot swapped individually.");
+        this.schema = MutantSchema.none(clazz);
+      }
+    }
+    return this.schemaInstalled;
+  }
+
+  private boolean hotswapMutant(final MutationDetails mutation,
+      final ClassLoader loader, final Mutant mutant) {
+    // replaces any installed schema
+    this.schemaInstalled = false;
+    return this.hotswap.apply(mutation.getClassName(), loader,
+        mutant.getBytes());
+  }
+
   private static Container createNewContainer(final ClassLoader activeloader) {
     final Container c = new UnContainer() {
       @Override
@@ -175,13 +266,22 @@ public class MutationTestWorker {
       if (DEBUG) {
         LOG.fine("Creating new classloader for static initializer");
       }
-      return new DefaultPITClassloader(new ClassPath(),
+      return new DefaultPITClassloader(IsolatedClassPath.INSTANCE,
           IsolationUtils.bootClassLoader());
     } else {
       return this.loader;
     }
   }
 
+  /**
+   * Classloaders for mutants that may poison the jvm are created fresh for
+   * each mutant, but share one classpath built on first use, so each class is
+   * read from disk only once per process
+   */
+  private static final class IsolatedClassPath {
+    static final ClassPath INSTANCE = new ClassPath().withCachedClassData();
+  }
+
   @Override
   public String toString() {
     return "MutationTestWorker [mutater=" + this.mutater + ", loader="
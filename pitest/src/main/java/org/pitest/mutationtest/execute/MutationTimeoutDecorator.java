@@ -14,28 +14,25 @@
  */
 package org.pitest.mutationtest.execute;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
-import org.pitest.util.Unchecked;
 
 public final class MutationTimeoutDecorator extends TestUnitDecorator {
 
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final TimeLimitedTestRunner runner;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
-      final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TimeLimitedTestRunner runner) {
     super(child);
+    this.runner = runner;
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
@@ -47,38 +44,12 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     final long maxTime = this.timeOutStrategy
         .getAllowedTime(this.executionTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(loader, rc);
-    executeFutureWithTimeOut(maxTime, future, rc);
-    if (!future.isDone()) {
+    if (!this.runner.run(createRunnable(loader, rc), maxTime)) {
       this.timeOutSideEffect.apply();
     }
 
   }
 
-  private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
-    try {
-      future.get(maxTime, TimeUnit.MILLISECONDS);
-    } catch (final TimeoutException ex) {
-      // swallow
-    } catch (final InterruptedException e) {
-      // swallow
-    } catch (final ExecutionException e) {
-      throw Unchecked.translateCheckedException(e);
-    }
-  }
-
-  private FutureTask<?> createFutureForChildTestUnit(final ClassLoader loader,
-      final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<Object>(createRunnable(loader,
-        rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
-  }
-
   private Runnable createRunnable(final ClassLoader loader,
       final ResultCollector rc) {
     return new Runnable() {
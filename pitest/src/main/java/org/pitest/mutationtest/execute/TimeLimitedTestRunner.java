@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.pitest.util.Unchecked;
+
+/**
+ * Runs tests one at a time on a single long lived daemon thread, while the
+ * calling thread waits a limited time for each to complete.
+ *
+ * A thread that does not finish a test within the allowed time cannot be
+ * trusted to return, so it is abandoned and a new one started for the next
+ * test.
+ */
+public final class TimeLimitedTestRunner {
+
+  private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+    @Override
+    public Thread newThread(final Runnable r) {
+      final Thread thread = new Thread(r);
+      thread.setDaemon(true);
+      thread.setName("mutationTestThread");
+      return thread;
+    }
+  };
+
+  private ExecutorService            executor;
+
+  /**
+   * @return true if the task completed within the allowed time
+   */
+  public boolean run(final Runnable task, final long maxTime) {
+    final Future<?> future = executor().submit(task);
+    try {
+      future.get(maxTime, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException ex) {
+      // swallow
+    } catch (final InterruptedException e) {
+      // swallow
+    } catch (final ExecutionException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    if (!future.isDone()) {
+      abandonThread();
+      return false;
+    }
+    return true;
+  }
+
+  public void shutdown() {
+    if (this.executor != null) {
+      this.executor.shutdown();
+      this.executor = null;
+    }
+  }
+
+  private ExecutorService executor() {
+    if (this.executor == null) {
+      this.executor = Executors.newSingleThreadExecutor(DAEMON_THREADS);
+    }
+    return this.executor;
+  }
+
+  private void abandonThread() {
+    this.executor.shutdownNow();
+    this.executor = null;
+  }
+
+}
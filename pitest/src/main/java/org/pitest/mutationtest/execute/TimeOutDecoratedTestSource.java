@@ -31,13 +31,22 @@ public class TimeOutDecoratedTestSource {
   private final Map<String, TestUnit> allTests = new HashMap<String, TestUnit>();
   private final TimeoutLengthStrategy timeoutStrategy;
   private final Reporter              r;
+  private final TimeLimitedTestRunner runner;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
       final List<TestUnit> allTests, final Reporter r) {
+    this(timeoutStrategy, allTests, r, new TimeLimitedTestRunner());
+  }
+
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final TimeLimitedTestRunner runner) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
     this.r = r;
+    this.runner = runner;
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -62,7 +71,8 @@ public class TimeOutDecoratedTestSource {
               .<TestUnit> some(new MutationTimeoutDecorator(tu,
                   new TimeOutSystemExitSideEffect(
                       TimeOutDecoratedTestSource.this.r),
-                      TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+                      TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime(),
+                      TimeOutDecoratedTestSource.this.runner));
         }
         return Option.none();
       }
@@ -1,8 +1,14 @@
 package org.pitest.sequence;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class SequenceQuery<T> {
   
@@ -138,18 +144,43 @@ public class SequenceQuery<T> {
 
 }
 
+/**
+ * Simulates the NFA built from a query. States that consume a value are
+ * numbered when the matcher is compiled, and the states reachable from each
+ * without consuming are computed up front, so a match needs only two bitsets
+ * of the live states rather than fresh sets at each step.
+ */
 class NFASequenceMatcher<T> implements SequenceMatcher<T> {
 
-  private final boolean debug;
-  private final Match<T> ignore;
-  private final State<T> start;
+  private final boolean    debug;
+  private final Match<T>   ignore;
+  private final Match<T>[] consumes;
+  private final int[][]    next;
+  private final int[]      start;
+  private final int        matchId;
+  private final int        words;
 
+  @SuppressWarnings("unchecked")
   NFASequenceMatcher(Match<T> ignore, State<T> state, boolean debug) {
     this.ignore = ignore;
-    this.start = state;
     this.debug = debug;
+
+    final List<Consume<T>> states = numberConsumingStates(state);
+    final Map<State<T>, Integer> ids = new IdentityHashMap<State<T>, Integer>();
+    for (int i = 0; i != states.size(); i++) {
+      ids.put(states.get(i), i);
+    }
+    this.matchId = states.size();
+    this.words = (this.matchId / 64) + 1;
+
+    this.consumes = new Match[states.size()];
+    this.next = new int[states.size()][];
+    for (int i = 0; i != states.size(); i++) {
+      this.consumes[i] = states.get(i).c;
+      this.next[i] = closure(states.get(i).out, ids);
+    }
+    this.start = closure(state, ids);
   }
-  
 
   @Override
   public boolean matches(List<T> sequence) {
@@ -158,53 +189,126 @@ class NFASequenceMatcher<T> implements SequenceMatcher<T> {
 
   @Override
   public boolean matches(List<T> sequence, Context<T> context) {
-    Set<State<T>> currentState = new HashSet<State<T>>();
-    addstate(currentState, this.start);
+    long[] current = new long[this.words];
+    long[] nextStates = new long[this.words];
+    add(current, this.start);
 
-    for (T t : sequence) {      
+    for (T t : sequence) {
       context.moveForward();
-      
+
       if (ignore.test(context, t)) {
         continue;
       }
-      
-      final Set<State<T>> nextStates = step(context, currentState, t);
-      currentState = nextStates;
+
+      if (!step(context, current, nextStates, t)) {
+        // no state can be reached again, so nothing later can match
+        return false;
+      }
+      final long[] previous = current;
+      current = nextStates;
+      nextStates = previous;
     }
-    return isMatch(currentState);
+    return isSet(current, this.matchId);
   }
 
-  
-  private static <T> void addstate(Set<State<T>> set, State<T> state) {
-    if (state == null) {
-      return;
+  /**
+   * @return true if any state was reached
+   */
+  private boolean step(Context<T> context, long[] currentStates,
+      long[] nextStates, T t) {
+    boolean reached = false;
+    for (int word = 0; word != this.words; word++) {
+      nextStates[word] = 0;
     }
-    if (state instanceof Split) {
-      final Split<T> split = (Split<T>) state;
-      addstate(set, split.out1);
-      addstate(set, split.out2);
-    } else {
-      set.add(state);
+    for (int word = 0; word != this.words; word++) {
+      long bits = currentStates[word];
+      while (bits != 0) {
+        final int id = (word * 64) + Long.numberOfTrailingZeros(bits);
+        bits = bits & (bits - 1);
+        if ((id != this.matchId) && this.consumes[id].test(context, t)) {
+          add(nextStates, this.next[id]);
+          reached = true;
+        }
+      }
     }
+    return reached;
+  }
 
+  private static void add(long[] states, int[] ids) {
+    for (final int id : ids) {
+      states[id / 64] |= 1L << (id % 64);
+    }
   }
 
-  private static <T> Set<State<T>> step(Context<T> context, Set<State<T>> currentState, T c) {
+  private static boolean isSet(long[] states, int id) {
+    return (states[id / 64] & (1L << (id % 64))) != 0;
+  }
 
-    final Set<State<T>> nextStates = new HashSet<State<T>>();
-    for (final State<T> each : currentState) {
-      if (each instanceof Consume) {
+  private static <T> List<Consume<T>> numberConsumingStates(State<T> start) {
+    final List<Consume<T>> consuming = new ArrayList<Consume<T>>();
+    final Set<State<T>> seen = Collections
+        .newSetFromMap(new IdentityHashMap<State<T>, Boolean>());
+    final Deque<State<T>> toVisit = new ArrayDeque<State<T>>();
+    toVisit.add(start);
+    while (!toVisit.isEmpty()) {
+      final State<T> each = toVisit.pop();
+      if (!seen.add(each)) {
+        continue;
+      }
+      if (each instanceof Split) {
+        final Split<T> split = (Split<T>) each;
+        pushIfPresent(toVisit, split.out2);
+        pushIfPresent(toVisit, split.out1);
+      } else if (each instanceof Consume) {
         final Consume<T> consume = (Consume<T>) each;
-        if (consume.c.test(context, c)) {
-          addstate(nextStates, consume.out);
-        }
+        consuming.add(consume);
+        pushIfPresent(toVisit, consume.out);
       }
     }
-    return nextStates;
+    return consuming;
+  }
+
+  private static <T> void pushIfPresent(Deque<State<T>> toVisit,
+      State<T> state) {
+    if (state != null) {
+      toVisit.push(state);
+    }
+  }
+
+  /**
+   * @return ids of the states reachable from the given state without
+   *         consuming a value
+   */
+  private int[] closure(State<T> state, Map<State<T>, Integer> ids) {
+    final Set<Integer> reachable = new TreeSet<Integer>();
+    addstate(reachable, state, ids,
+        Collections.newSetFromMap(new IdentityHashMap<State<T>, Boolean>()));
+    final int[] closure = new int[reachable.size()];
+    int i = 0;
+    for (final Integer each : reachable) {
+      closure[i] = each;
+      i++;
+    }
+    return closure;
   }
 
-  private static <T> boolean isMatch(Set<State<T>> currentState) {
-    return currentState.contains(EndMatch.MATCH);
+  private void addstate(Set<Integer> reachable, State<T> state,
+      Map<State<T>, Integer> ids, Set<State<T>> visitedSplits) {
+    if (state == null) {
+      return;
+    }
+    if (state instanceof Split) {
+      if (!visitedSplits.add(state)) {
+        return;
+      }
+      final Split<T> split = (Split<T>) state;
+      addstate(reachable, split.out1, ids, visitedSplits);
+      addstate(reachable, split.out2, ids, visitedSplits);
+    } else if (state == EndMatch.MATCH) {
+      reachable.add(this.matchId);
+    } else {
+      reachable.add(ids.get(state));
+    }
   }
 
 }
@@ -1,22 +1,99 @@
 package org.pitest.testapi.foreignclassloader;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
 
-import org.pitest.functional.SideEffect2;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
-import org.pitest.util.IsolationUtils;
 
+/**
+ * Test events recorded within a foreign classloader. Events are encoded as
+ * strings so that they can be passed back to the launching loader without
+ * serialisation.
+ *
+ * Each event is a character identifying its type followed by the name of the
+ * test method it relates to (empty for events relating to the whole test
+ * unit), a separator and, for failures, the stack trace of the error.
+ */
 public class Events {
 
+  private static final char START     = 's';
+  private static final char SUCCESS   = 'e';
+  private static final char FAIL      = 'f';
+  private static final char SKIPPED   = 'k';
+  private static final char SEPARATOR = '\n';
+
+  public static String start() {
+    return start("");
+  }
+
+  public static String start(final String method) {
+    return encode(START, method, "");
+  }
+
+  public static String success() {
+    return success("");
+  }
+
+  public static String success(final String method) {
+    return encode(SUCCESS, method, "");
+  }
+
+  public static String fail(final Throwable error) {
+    return fail("", error);
+  }
+
+  public static String fail(final String method, final Throwable error) {
+    final StringWriter trace = new StringWriter();
+    error.printStackTrace(new PrintWriter(trace));
+    return encode(FAIL, method, trace.toString());
+  }
+
+  public static String skipped() {
+    return skipped("");
+  }
+
+  public static String skipped(final String method) {
+    return encode(SKIPPED, method, "");
+  }
+
   public static void applyEvents(final List<String> encodedEvents,
       final ResultCollector rc, final Description description) {
     for (final String each : encodedEvents) {
-      @SuppressWarnings("unchecked")
-      final SideEffect2<ResultCollector, org.pitest.testapi.Description> event = (SideEffect2<ResultCollector, org.pitest.testapi.Description>) IsolationUtils
-      .fromXml(each);
-      event.apply(rc, description);
+      applyEvent(each, rc, description);
     }
+  }
 
+  private static void applyEvent(final String event, final ResultCollector rc,
+      final Description unit) {
+    final int separator = event.indexOf(SEPARATOR);
+    final String method = event.substring(1, separator);
+    final Description description = method.length() == 0 ? unit
+        : new Description(method, unit.getFirstTestClass());
+
+    switch (event.charAt(0)) {
+    case START:
+      rc.notifyStart(description);
+      break;
+    case SUCCESS:
+      rc.notifyEnd(description);
+      break;
+    case FAIL:
+      rc.notifyEnd(description,
+          new ForeignTestError(event.substring(separator + 1)));
+      break;
+    case SKIPPED:
+      rc.notifySkipped(description);
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown test event " + event);
+    }
   }
+
+  private static String encode(final char type, final String method,
+      final String detail) {
+    return type + method + SEPARATOR + detail;
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2010 Henry Coles
+ * Copyright 2018 Henry Coles
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,21 +15,23 @@
 
 package org.pitest.testapi.foreignclassloader;
 
-import org.pitest.functional.SideEffect2;
-import org.pitest.testapi.Description;
-import org.pitest.testapi.ResultCollector;
-
-public class Fail implements SideEffect2<ResultCollector, Description> {
+/**
+ * Reports an error thrown by a test run in a foreign classloader. The class of
+ * the original error may not be visible from, or may differ from the class of
+ * the same name in, the launching loader, so only its stack trace is kept.
+ */
+public class ForeignTestError extends RuntimeException {
 
-  private final Throwable throwable;
+  private static final long serialVersionUID = 1L;
 
-  public Fail(final Throwable throwable) {
-    this.throwable = throwable;
+  public ForeignTestError(final String foreignStackTrace) {
+    super(foreignStackTrace);
   }
 
   @Override
-  public void apply(final ResultCollector rc, final Description description) {
-    rc.notifyEnd(description, this.throwable);
+  public synchronized Throwable fillInStackTrace() {
+    // the trace of interest is that of the original error
+    return this;
   }
 
 }
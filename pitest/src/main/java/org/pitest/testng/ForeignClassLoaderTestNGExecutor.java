@@ -1,6 +1,7 @@
 package org.pitest.testng;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -8,12 +9,19 @@ import java.util.concurrent.Callable;
 import org.testng.TestNG;
 import org.testng.xml.XmlSuite;
 
+/**
+ * Runs a test class within the loader it is created in. Created via
+ * {@link org.pitest.util.IsolationUtils#newInstanceInLoader} so takes only
+ * strings.
+ */
 public class ForeignClassLoaderTestNGExecutor implements Callable<List<String>> {
 
   private final XmlSuite suite;
 
-  public ForeignClassLoaderTestNGExecutor(XmlSuite suite) {
-    this.suite = suite;
+  public ForeignClassLoaderTestNGExecutor(String testClass,
+      String[] excludedGroups, String[] includedGroups) {
+    this.suite = SuiteFactory.createSuite(testClass,
+        Arrays.asList(excludedGroups), Arrays.asList(includedGroups));
   }
 
   @Override
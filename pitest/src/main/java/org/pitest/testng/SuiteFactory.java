@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.testng;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Builds the suite for a test class. Used both in the launching loader and in
+ * foreign loaders, so is kept free of the static state held by
+ * {@link TestNGTestUnit}.
+ */
+final class SuiteFactory {
+
+  private SuiteFactory() {
+  }
+
+  static XmlSuite createSuite(final String testClass,
+      final List<String> excludedGroups, final List<String> includedGroups) {
+    final XmlSuite suite = new XmlSuite();
+    suite.setName(testClass);
+    suite.setSkipFailedInvocationCounts(true);
+    final XmlTest test = new XmlTest(suite);
+    test.setName(testClass);
+    final XmlClass xclass = new XmlClass(testClass);
+    test.setXmlClasses(Collections.singletonList(xclass));
+    if (!excludedGroups.isEmpty()) {
+      suite.setExcludedGroups(excludedGroups);
+    }
+
+    if (!includedGroups.isEmpty()) {
+      suite.setIncludedGroups(includedGroups);
+    }
+
+    return suite;
+  }
+
+}
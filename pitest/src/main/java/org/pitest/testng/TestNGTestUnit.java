@@ -32,9 +32,7 @@ import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.SkipException;
 import org.testng.TestNG;
-import org.testng.xml.XmlClass;
 import org.testng.xml.XmlSuite;
-import org.testng.xml.XmlTest;
 
 /**
  * Runs tests within a class via TestNG. It would be possible to create a test
@@ -85,8 +83,11 @@ public class TestNGTestUnit extends AbstractTestUnit {
   private void executeInForeignLoader(ResultCollector rc, ClassLoader loader) {
     @SuppressWarnings("unchecked")
     Callable<List<String>> e = (Callable<List<String>>) IsolationUtils
-    .cloneForLoader(new ForeignClassLoaderTestNGExecutor(createSuite()),
-        loader);
+    .newInstanceInLoader(loader,
+        ForeignClassLoaderTestNGExecutor.class.getName(), new Class<?>[] {
+            String.class, String[].class, String[].class },
+        this.clazz.getName(), toArray(this.config.getExcludedGroups()),
+        toArray(this.config.getIncludedGroups()));
     try {
       List<String> q = e.call();
       Events.applyEvents(q, rc, this.getDescription());
@@ -96,6 +97,10 @@ public class TestNGTestUnit extends AbstractTestUnit {
 
   }
 
+  private static String[] toArray(List<String> groups) {
+    return groups.toArray(new String[groups.size()]);
+  }
+
   private void executeInCurrentLoader(final ResultCollector rc) {
     final TestNGAdapter listener = new TestNGAdapter(this.clazz,
         this.getDescription(), rc);
@@ -115,22 +120,8 @@ public class TestNGTestUnit extends AbstractTestUnit {
   }
 
   private XmlSuite createSuite() {
-    final XmlSuite suite = new XmlSuite();
-    suite.setName(this.clazz.getName());
-    suite.setSkipFailedInvocationCounts(true);
-    final XmlTest test = new XmlTest(suite);
-    test.setName(this.clazz.getName());
-    final XmlClass xclass = new XmlClass(this.clazz.getName());
-    test.setXmlClasses(Collections.singletonList(xclass));
-    if (!this.config.getExcludedGroups().isEmpty()) {
-      suite.setExcludedGroups(this.config.getExcludedGroups());
-    }
-
-    if (!this.config.getIncludedGroups().isEmpty()) {
-      suite.setIncludedGroups(this.config.getIncludedGroups());
-    }
-
-    return suite;
+    return SuiteFactory.createSuite(this.clazz.getName(),
+        this.config.getExcludedGroups(), this.config.getIncludedGroups());
   }
 
 }
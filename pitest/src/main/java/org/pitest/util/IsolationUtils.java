@@ -51,6 +51,36 @@ public abstract class IsolationUtils {
     return Thread.currentThread().getContextClassLoader();
   }
 
+  /**
+   * Creates an instance of the named class within the given loader without
+   * serialising anything. The constructor may only take types that all loaders
+   * share, such as primitives, strings and arrays of them.
+   */
+  public static Object newInstanceInLoader(final ClassLoader loader,
+      final String className, final Class<?>[] parameterTypes,
+      final Object... args) {
+    for (final Class<?> each : parameterTypes) {
+      if (!isSharedByAllLoaders(each)) {
+        throw new PitError("Cannot pass " + each.getName()
+            + " to a class in a different loader");
+      }
+    }
+    try {
+      return Class.forName(className, true, loader)
+          .getConstructor(parameterTypes).newInstance(args);
+    } catch (final Exception ex) {
+      throw translateCheckedException(ex);
+    }
+  }
+
+  private static boolean isSharedByAllLoaders(final Class<?> type) {
+    Class<?> component = type;
+    while (component.isArray()) {
+      component = component.getComponentType();
+    }
+    return component.getClassLoader() == bootClassLoader();
+  }
+
   public static Object cloneForLoader(final Object o, final ClassLoader loader) {
     try {
       final String xml = toXml(o);
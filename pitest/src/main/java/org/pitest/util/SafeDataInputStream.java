@@ -17,10 +17,17 @@ package org.pitest.util;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pitest.testapi.Description;
 
 public class SafeDataInputStream {
 
+  private static final int      NULL_NAME = -1;
+
   private final DataInputStream dis;
+  private final List<String>    names     = new ArrayList<String>();
 
   public SafeDataInputStream(final InputStream is) {
     this.dis = new DataInputStream(is);
@@ -45,6 +52,33 @@ public class SafeDataInputStream {
     }
   }
 
+  public void readFully(final byte[] data, final int length) {
+    try {
+      this.dis.readFully(data, 0, length);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Reads a name written by {@link SafeDataOutputStream#writeName(String)}
+   */
+  public String readName() {
+    final int index = readInt();
+    if (index == NULL_NAME) {
+      return null;
+    }
+    if (index == this.names.size()) {
+      this.names.add(readString());
+    }
+    return this.names.get(index);
+  }
+
+  public Description readDescription() {
+    final String name = readName();
+    return new Description(name, readName());
+  }
+
   @SuppressWarnings("unchecked")
   public <T> T read(final Class<T> type) {
     return (T) IsolationUtils.fromXml(readString());
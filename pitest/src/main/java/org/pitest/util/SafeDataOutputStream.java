@@ -17,10 +17,17 @@ package org.pitest.util;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.testapi.Description;
 
 public class SafeDataOutputStream {
 
-  private final DataOutputStream dos;
+  private static final int           NULL_NAME = -1;
+
+  private final DataOutputStream     dos;
+  private final Map<String, Integer> names     = new HashMap<String, Integer>();
 
   public SafeDataOutputStream(final OutputStream os) {
     this.dos = new DataOutputStream(os);
@@ -45,6 +52,43 @@ public class SafeDataOutputStream {
     }
   }
 
+  public void writeBytes(final byte[] data, final int offset,
+      final int length) {
+    try {
+      this.dos.write(data, offset, length);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Writes a string that is likely to be sent many times, such as a class or
+   * test name. The first time a name is written it is sent in full and added
+   * to a table of names, after which only its index in the table is sent. The
+   * name may be null.
+   */
+  public void writeName(final String name) {
+    if (name == null) {
+      writeInt(NULL_NAME);
+      return;
+    }
+
+    final Integer index = this.names.get(name);
+    if (index != null) {
+      writeInt(index);
+    } else {
+      final int next = this.names.size();
+      this.names.put(name, next);
+      writeInt(next);
+      writeString(name);
+    }
+  }
+
+  public void writeDescription(final Description description) {
+    writeName(description.getName());
+    writeName(description.getFirstTestClass());
+  }
+
   public <T> void write(final T value) {
     writeString(IsolationUtils.toXml(value));
   }
@@ -0,0 +1,19 @@
+package sun.pitest;
+
+/**
+ * Receives the probe hits for each class visited since the last reset of the
+ * CodeCoverageStore.
+ */
+public interface ClassHitReceiver {
+
+  /**
+   * @param classId
+   *          id of class that was hit
+   * @param probes
+   *          probe hits for the class. probes[0] is set if the class was hit
+   *          at all, probes[n + 1] if probe n was hit. The array is owned by
+   *          the store and must be neither modified nor retained.
+   */
+  void classHit(int classId, boolean[] probes);
+
+}
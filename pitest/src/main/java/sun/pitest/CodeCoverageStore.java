@@ -20,11 +20,7 @@
 // to still delegate it's loading
 package sun.pitest;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 
 /**
  * Store for line visit information.
@@ -40,16 +36,25 @@ public final class CodeCoverageStore {
                                                                          '/');
   public static final String                   PROBE_METHOD_NAME = "visitProbes";
 
+  private static final int                     INITIAL_CLASSES   = 1024;
+
   private static InvokeReceiver                invokeQueue;
   private static int                           classId           = 0;
 
-  // array of probe hits, first slot indicates any hits to the class.
+  // array of probe hits indexed by class id, first slot of each entry
+  // indicates any hits to the class. Class ids are allocated densely from
+  // zero so are used directly as indexes.
   // testing suggests boolean array with synchronization to ensure happens
   // before relationship significantly outperforms
   // both AtomicInteger array with bit per flag and integer per flag.
   // optimisation with other methods of ensuring a happens before not yet
   // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<Integer, boolean[]>();
+  private static volatile boolean[][]          classHits         = new boolean[INITIAL_CLASSES][];
+
+  // ids of classes hit since the last reset, so only these need clearing or
+  // reporting. Guarded by the class lock.
+  private static int[]                         hitClasses        = new int[INITIAL_CLASSES];
+  private static int                           hitClassCount     = 0;
 
   public static void init(final InvokeReceiver invokeQueue) {
     CodeCoverageStore.invokeQueue = invokeQueue;
@@ -59,15 +64,19 @@ public final class CodeCoverageStore {
   }
 
   public static void visitSingleProbe(final int classId, final int probe) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     bs[probe + 1] = true;
   }
 
   public static void visitProbes(final int classId, final int offset,
       final boolean[] probes) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     for (int i = 0; i != probes.length; i++) {
       if (probes[i]) {
         bs[i + offset + 1] = true;
@@ -84,8 +93,10 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -93,8 +104,10 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -105,8 +118,10 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -120,8 +135,10 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -139,8 +156,10 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -161,8 +180,10 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -186,8 +207,10 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -214,8 +237,10 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -246,8 +271,10 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -281,8 +308,10 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -319,8 +348,10 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -360,8 +391,10 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -405,8 +438,10 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -453,8 +488,10 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -504,8 +541,10 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13, final boolean p14) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      registerHit(classId, bs);
+    }
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -554,28 +593,44 @@ public final class CodeCoverageStore {
   }
 
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      CLASS_HITS.put(each.getKey(), new boolean[each.getValue().length]);
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != hitClassCount; i++) {
+      Arrays.fill(hits[hitClasses[i]], false);
+    }
+    hitClassCount = 0;
+    // volatile write publishes the cleared flags to probes that read
+    // classHits after the reset, so none skips registering on a stale flag
+    classHits = hits;
+  }
+
+  /**
+   * Passes the probe hits of each class visited since the last reset to the
+   * supplied receiver, one class at a time.
+   */
+  public static synchronized void getClassHits(final ClassHitReceiver receiver) {
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != hitClassCount; i++) {
+      final int classId = hitClasses[i];
+      receiver.classHit(classId, hits[classId]);
     }
   }
 
-  public static synchronized Collection<Long> getHits() {
-    final Collection<Long> blockHits = new ArrayList<Long>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
-      // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
-        continue;
-      }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
-      for (int probeId = 1; probeId != bs.length; probeId++) {
-        if (bs[probeId]) {
-          blockHits.add(encode(classId, probeId - 1));
-        }
-      }
+  // called on the first hit to a class after a reset. The unsynchronized
+  // check made by the probes is only a fast path, a thread seeing a stale
+  // false ends up here, where the flag is checked again under the lock so
+  // each class is recorded once. A stale true cannot be seen after a reset
+  // as probes read classHits, which reset writes after clearing the flags.
+  private static synchronized void registerHit(final int classId,
+      final boolean[] bs) {
+    if (bs[CLASS_HIT_INDEX]) {
+      return;
     }
-    return blockHits;
+    bs[CLASS_HIT_INDEX] = true;
+    if (hitClassCount == hitClasses.length) {
+      hitClasses = Arrays.copyOf(hitClasses, hitClasses.length * 2);
+    }
+    hitClasses[hitClassCount] = classId;
+    hitClassCount++;
   }
 
   public static int registerClass(final String className) {
@@ -606,12 +661,20 @@ public final class CodeCoverageStore {
     return ((long) classId << 32) | line;
   }
 
-  public static void registerClassProbes(final int classId, int probeCount) {
-    CLASS_HITS.put(classId, new boolean[probeCount + 1]);
+  public static synchronized void registerClassProbes(final int classId,
+      final int probeCount) {
+    boolean[][] hits = classHits;
+    if (classId >= hits.length) {
+      hits = Arrays.copyOf(hits, Math.max(hits.length * 2, classId + 1));
+    }
+    hits[classId] = new boolean[probeCount + 1];
+    classHits = hits;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    classHits = new boolean[INITIAL_CLASSES][];
+    hitClasses = new int[INITIAL_CLASSES];
+    hitClassCount = 0;
   }
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+// placed in a sun package so non delegating classloaders are likely
+// to still delegate it's loading
+package sun.pitest;
+
+/**
+ * Selects the mutant that is active within a class built as a mutant schema.
+ * Each mutated method of the class reads the active id on entry.
+ */
+public final class MutantSwitch {
+
+  public static final String CLASS_NAME = MutantSwitch.class.getName()
+                                            .replace('.', '/');
+  public static final String FIELD_NAME = "active";
+
+  public static final int    NONE       = 0;
+
+  public static volatile int active     = NONE;
+
+  private MutantSwitch() {
+  }
+
+  public static void activate(final int id) {
+    active = id;
+  }
+
+  public static void deactivate() {
+    active = NONE;
+  }
+
+}
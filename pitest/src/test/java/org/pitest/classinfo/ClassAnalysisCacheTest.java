@@ -0,0 +1,130 @@
+package org.pitest.classinfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.functional.F;
+import org.pitest.functional.Option;
+
+public class ClassAnalysisCacheTest {
+
+  private static final ClassName FOO = ClassName.fromString("com.example.Foo");
+
+  private ClassAnalysisCache     testee;
+
+  @Mock
+  private ClassByteArraySource   source;
+
+  private final byte[]           bytes = new byte[] { 1, 2, 3 };
+
+  private final AtomicInteger    runs  = new AtomicInteger();
+
+  private final F<byte[], Integer> length = new F<byte[], Integer>() {
+    @Override
+    public Integer apply(final byte[] a) {
+      ClassAnalysisCacheTest.this.runs.incrementAndGet();
+      return a.length;
+    }
+  };
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.source.getBytes(anyString())).thenReturn(
+        Option.some(this.bytes));
+    this.testee = new ClassAnalysisCache(this.source, 2);
+  }
+
+  @Test
+  public void shouldReturnBytesFromChild() {
+    assertSame(this.bytes, this.testee.getBytes("com.example.Foo").value());
+  }
+
+  @Test
+  public void shouldReadEachClassOnceWhateverTheFormOfItsName() {
+    this.testee.getBytes("com.example.Foo");
+    this.testee.getBytes("com/example/Foo");
+    this.testee.analyse(FOO, this.length);
+    verify(this.source, times(1)).getBytes(anyString());
+  }
+
+  @Test
+  public void shouldRunEachAnalysisOnceForEachClass() {
+    assertEquals(Integer.valueOf(3), this.testee.analyse(FOO, this.length)
+        .value());
+    assertEquals(Integer.valueOf(3), this.testee.analyse(FOO, this.length)
+        .value());
+    assertEquals(1, this.runs.get());
+  }
+
+  @Test
+  public void shouldNotRunAnalysisForClassesNotFound() {
+    when(this.source.getBytes(anyString())).thenReturn(Option.<byte[]> none());
+    assertFalse(this.testee.analyse(FOO, this.length).hasSome());
+    assertEquals(0, this.runs.get());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedClasses() {
+    this.testee.getBytes("a");
+    this.testee.getBytes("b");
+    this.testee.getBytes("a");
+    this.testee.getBytes("c");
+    this.testee.getBytes("a");
+    this.testee.getBytes("b");
+    verify(this.source, times(1)).getBytes("a");
+    verify(this.source, times(2)).getBytes("b");
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    this.testee.getBytes("a");
+    this.testee.getBytes("a");
+    this.testee.analyse(ClassName.fromString("a"), this.length);
+    this.testee.analyse(ClassName.fromString("a"), this.length);
+    assertEquals(2, this.testee.hits());
+    assertEquals(2, this.testee.misses());
+  }
+
+  @Test
+  public void shouldRunAnalysisOnceWhenRequestedByManyThreads()
+      throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Option<Integer>>> results = new ArrayList<Future<Option<Integer>>>();
+      for (int i = 0; i != 50; i++) {
+        results.add(executor.submit(new Callable<Option<Integer>>() {
+          @Override
+          public Option<Integer> call() {
+            return ClassAnalysisCacheTest.this.testee.analyse(FOO,
+                ClassAnalysisCacheTest.this.length);
+          }
+        }));
+      }
+      for (final Future<Option<Integer>> each : results) {
+        assertEquals(Integer.valueOf(3), each.get().value());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, this.runs.get());
+  }
+
+}
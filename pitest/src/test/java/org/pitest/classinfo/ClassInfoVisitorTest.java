@@ -23,9 +23,12 @@ import static org.junit.Assert.assertTrue;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Map;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
 import org.pitest.coverage.codeassist.ClassUtils;
 import org.pitest.coverage.codeassist.samples.Bridge.HasBridgeMethod;
 import org.pitest.coverage.codeassist.samples.HasDefaultConstructor;
@@ -125,6 +128,38 @@ public class ClassInfoVisitorTest {
     assertArrayEquals(expectedCategoryNames, actualCategoryNames);
   }
 
+  @Test
+  public void shouldRecordHashForEachMethod() throws ClassNotFoundException {
+    final Map<String, Long> actual = methodHashesOf(HasTwoMethods.class);
+    assertTrue(actual.containsKey("one()I"));
+    assertTrue(actual.containsKey("two(I)I"));
+  }
+
+  @Test
+  public void shouldGiveMethodsWithDifferentInstructionsDifferentHashes()
+      throws ClassNotFoundException {
+    final Map<String, Long> actual = methodHashesOf(HasTwoMethods.class);
+    assertFalse(actual.get("one()I").equals(actual.get("two(I)I")));
+  }
+
+  @Test
+  public void shouldIgnoreDebugInformationWhenHashingMethods()
+      throws ClassNotFoundException {
+    final String sampleName = HasTwoMethods.class.getName();
+    final byte[] bytes = ClassUtils.classAsBytes(sampleName);
+    final ClassWriter withoutDebug = new ClassWriter(0);
+    new ClassReader(bytes).accept(withoutDebug, ClassReader.SKIP_DEBUG);
+
+    assertEquals(methodHashesOf(HasTwoMethods.class),
+        getClassInfo(sampleName, withoutDebug.toByteArray()).methodHashes);
+  }
+
+  private Map<String, Long> methodHashesOf(final Class<?> clazz)
+      throws ClassNotFoundException {
+    final String sampleName = clazz.getName();
+    return getClassInfo(sampleName, ClassUtils.classAsBytes(sampleName)).methodHashes;
+  }
+
   private ClassInfoBuilder getClassInfo(final String name, final byte[] bytes) {
     return ClassInfoVisitor.getClassInfo(ClassName.fromString(name), bytes, 0);
   }
@@ -158,4 +193,17 @@ public class ClassInfoVisitorTest {
   @Category({ First.class, Second.class })
   private class HasCategory {
   }
+
+  static class HasTwoMethods {
+    int one() {
+      return 1;
+    }
+
+    int two(final int i) {
+      if (i > 2) {
+        return i;
+      }
+      return 2;
+    }
+  }
 }
@@ -14,22 +14,44 @@
  */
 package org.pitest.classpath;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.PitError;
+import org.pitest.util.StreamUtil;
 
 public class ArchiveClassPathRootTest {
 
+  @Rule
+  public TemporaryFolder       folder = new TemporaryFolder();
+
   private ArchiveClassPathRoot testee;
 
   @Before
@@ -70,6 +92,96 @@ public class ArchiveClassPathRootTest {
     }
   }
 
+  @Test
+  public void shouldReadSameBytesAsZipFile() throws Exception {
+    final ZipFile zip = new ZipFile("mytests.jar");
+    try {
+      for (final String each : this.testee.classNames()) {
+        final byte[] expected = StreamUtil.streamToByteArray(zip
+            .getInputStream(zip.getEntry(each.replace('.', '/') + ".class")));
+        assertArrayEquals(expected,
+            StreamUtil.streamToByteArray(this.testee.getData(each)));
+      }
+    } finally {
+      zip.close();
+    }
+  }
+
+  @Test
+  public void shouldReadUncompressedEntries() throws Exception {
+    final byte[] bytes = "not really a class".getBytes("UTF-8");
+    final File jar = this.folder.newFile("stored.jar");
+    final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+    final ZipEntry entry = new ZipEntry("foo/Bar.class");
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(bytes.length);
+    final CRC32 crc = new CRC32();
+    crc.update(bytes);
+    entry.setCrc(crc.getValue());
+    out.putNextEntry(entry);
+    out.write(bytes);
+    out.close();
+
+    this.testee = new ArchiveClassPathRoot(jar);
+    assertEquals(Arrays.asList("foo.Bar"), this.testee.classNames());
+    assertArrayEquals(bytes,
+        StreamUtil.streamToByteArray(this.testee.getData("foo.Bar")));
+  }
+
+  @Test
+  public void shouldReadFromManyThreadsAtOnce() throws Exception {
+    final byte[] expected = StreamUtil.streamToByteArray(this.testee
+        .getData("injar.p1.P1Test"));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<byte[]>> reads = new ArrayList<Future<byte[]>>();
+      for (int i = 0; i != 100; i++) {
+        reads.add(executor.submit(new Callable<byte[]>() {
+          @Override
+          public byte[] call() throws Exception {
+            return StreamUtil.streamToByteArray(ArchiveClassPathRootTest.this.testee
+                .getData("injar.p1.P1Test"));
+          }
+        }));
+      }
+      for (final Future<byte[]> each : reads) {
+        assertArrayEquals(expected, each.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldReportErrorWhenArchiveCannotBeRead() throws Exception {
+    final File notAJar = this.folder.newFile("notajar.jar");
+    final FileOutputStream out = new FileOutputStream(notAJar);
+    out.write("not a zip file".getBytes("UTF-8"));
+    out.close();
+
+    new ArchiveClassPathRoot(notAJar).getData("foo");
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldFallBackToZipFileWhenCentralDirectoryIsTruncated()
+      throws Exception {
+    // keeps the end record, so the archive appears to be indexable
+    final FileInputStream in = new FileInputStream("mytests.jar");
+    final byte[] bytes = StreamUtil.streamToByteArray(in);
+    in.close();
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(
+        ByteOrder.LITTLE_ENDIAN);
+    final int end = bytes.length - 22;
+    final int centralDirectory = buffer.getInt(end + 16);
+    final File truncated = this.folder.newFile("truncated.jar");
+    final FileOutputStream out = new FileOutputStream(truncated);
+    out.write(bytes, 0, centralDirectory + 50);
+    out.write(bytes, end, 22);
+    out.close();
+
+    new ArchiveClassPathRoot(truncated).classNames();
+  }
+
   @Test
   public void getResourceShouldReturnNullForAnUnknownResource()
       throws Exception {
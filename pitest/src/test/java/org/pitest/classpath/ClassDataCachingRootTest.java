@@ -0,0 +1,67 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.mutationtest.execute.DefaultPITClassloader;
+import org.pitest.util.StreamUtil;
+
+public class ClassDataCachingRootTest {
+
+  @Mock
+  private ClassPathRoot        child;
+
+  private ClassDataCachingRoot testee;
+
+  private final byte[]         bytes = new byte[] { 1, 2, 3 };
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.child.getData("foo.Bar")).thenReturn(
+        new ByteArrayInputStream(this.bytes));
+    this.testee = new ClassDataCachingRoot(this.child);
+  }
+
+  @Test
+  public void shouldReturnDataFromChild() throws IOException {
+    assertArrayEquals(this.bytes,
+        StreamUtil.streamToByteArray(this.testee.getData("foo.Bar")));
+  }
+
+  @Test
+  public void shouldReadEachClassFromChildOnlyOnce() throws IOException {
+    this.testee.getData("foo.Bar");
+    assertArrayEquals(this.bytes,
+        StreamUtil.streamToByteArray(this.testee.getData("foo/Bar")));
+    verify(this.child, times(1)).getData("foo.Bar");
+  }
+
+  @Test
+  public void shouldRememberClassesChildDoesNotContain() throws IOException {
+    assertNull(this.testee.getData("foo.Unknown"));
+    assertNull(this.testee.getData("foo.Unknown"));
+    verify(this.child, times(1)).getData("foo.Unknown");
+  }
+
+  @Test
+  public void shouldLoadClassesThroughSharedClassPath() throws Exception {
+    final ClassPath classPath = new ClassPath().withCachedClassData();
+    final ClassLoader loader = new DefaultPITClassloader(classPath, null);
+    final Class<?> clazz = loader.loadClass(ClassDataCachingRootTest.class
+        .getName());
+    assertArrayEquals(new ClassPath().getClassData(clazz.getName()),
+        classPath.getClassData(clazz.getName()));
+  }
+
+}
@@ -0,0 +1,63 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class NameCachingRootTest {
+
+  @Mock
+  private ClassPathRoot   child;
+
+  private NameCachingRoot testee;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.child.classNames()).thenReturn(Arrays.asList("foo.Bar", "foo.Baz"));
+    this.testee = new NameCachingRoot(this.child);
+  }
+
+  @Test
+  public void shouldReturnNamesFromChild() {
+    assertEquals(new ArrayList<String>(Arrays.asList("foo.Bar", "foo.Baz")),
+        new ArrayList<String>(this.testee.classNames()));
+  }
+
+  @Test
+  public void shouldListNamesFromChildOnlyOnce() {
+    this.testee.classNames();
+    this.testee.classNames();
+    verify(this.child, times(1)).classNames();
+  }
+
+  @Test
+  public void shouldNotAskChildForDataOfClassesItDoesNotContain()
+      throws IOException {
+    assertNull(this.testee.getData("foo.Unknown"));
+    verify(this.child, never()).getData("foo.Unknown");
+  }
+
+  @Test
+  public void shouldAskChildForDataOfClassesItContains() throws IOException {
+    final InputStream data = new ByteArrayInputStream(new byte[1]);
+    when(this.child.getData("foo.Bar")).thenReturn(data);
+    assertSame(data, this.testee.getData("foo.Bar"));
+  }
+
+}
@@ -2,7 +2,9 @@ package org.pitest.coverage.codeassist;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -13,6 +15,7 @@ import org.pitest.coverage.CoverageClassVisitor;
 
 import sun.pitest.CodeCoverageStore;
 import sun.pitest.InvokeReceiver;
+import sun.pitest.ClassHitReceiver;
 
 public class CoverageClassVisitorTest {
 
@@ -42,8 +45,20 @@ public class CoverageClassVisitorTest {
     CodeCoverageStore.visitProbes(this.classId, 0, new boolean[] { false,
         false, true, false, false, false, false });
 
+    final List<Long> hits = new ArrayList<Long>();
+    CodeCoverageStore.getClassHits(new ClassHitReceiver() {
+      @Override
+      public void classHit(final int classId, final boolean[] probes) {
+        for (int probe = 1; probe != probes.length; probe++) {
+          if (probes[probe]) {
+            hits.add(CodeCoverageStore.encode(classId, probe - 1));
+          }
+        }
+      }
+    });
+
     assertEquals(Arrays.asList(CodeCoverageStore.encode(this.classId, 2)),
-        CodeCoverageStore.getHits());
+        hits);
 
   }
 
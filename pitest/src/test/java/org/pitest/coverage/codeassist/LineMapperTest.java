@@ -10,12 +10,17 @@ import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.pitest.classinfo.ClassAnalysisCache;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.LineMap;
 import org.pitest.coverage.analysis.LineMapper;
+import org.pitest.functional.F;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MethodName;
@@ -95,9 +100,9 @@ public class LineMapperTest {
     Map<BlockLocation, Set<Integer>> actual = analyse(ThreeBlocks2.class);
     Location l = Location.location(ClassName.fromClass(ThreeBlocks2.class),
         MethodName.fromString("foo"), "(I)I");
-    assertThat(actual.get(BlockLocation.blockLocation(l, 0))).containsOnly(105);
-    assertThat(actual.get(BlockLocation.blockLocation(l, 1))).containsOnly(106);
-    assertThat(actual.get(BlockLocation.blockLocation(l, 2))).containsOnly(108);
+    assertThat(actual.get(BlockLocation.blockLocation(l, 0))).containsOnly(110);
+    assertThat(actual.get(BlockLocation.blockLocation(l, 1))).containsOnly(111);
+    assertThat(actual.get(BlockLocation.blockLocation(l, 2))).containsOnly(113);
   }
 
   static class ThreeBlocks2 {
@@ -109,10 +114,19 @@ public class LineMapperTest {
     }
   }
 
+  @SuppressWarnings("unchecked")
   private Map<BlockLocation, Set<Integer>> analyse(Class<?> clazz)
       throws ClassNotFoundException {
-    when(this.source.fetchClassBytes(any(ClassName.class))).thenReturn(
-        Option.some(ClassUtils.classAsBytes(clazz)));
+    final ClassAnalysisCache classes = new ClassAnalysisCache(
+        ClassloaderByteArraySource.fromContext(), 10);
+    when(this.source.analyseClass(any(ClassName.class), any(F.class)))
+        .thenAnswer(new Answer<Option<?>>() {
+          @Override
+          public Option<?> answer(final InvocationOnMock invocation) {
+            return classes.analyse((ClassName) invocation.getArguments()[0],
+                (F<byte[], ?>) invocation.getArguments()[1]);
+          }
+        });
     LineMap testee = new LineMapper(this.source);
     return testee.mapLines(ClassName.fromClass(clazz));
   }
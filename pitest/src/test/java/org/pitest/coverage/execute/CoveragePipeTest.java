@@ -0,0 +1,99 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.Description;
+import org.pitest.util.Id;
+import org.pitest.util.SafeDataInputStream;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+public class CoveragePipeTest {
+
+  private final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+  private CoveragePipe                testee;
+
+  @Mock
+  private InvokeReceiver              receiver;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    CodeCoverageStore.init(this.receiver);
+    this.testee = new CoveragePipe(this.bos);
+  }
+
+  @After
+  public void cleanUp() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Test
+  public void shouldSendNoClassesWhenNothingHit() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 10);
+
+    this.testee.newTest();
+    this.testee.recordTestOutcome(new Description("foo"), true, 0);
+
+    final SafeDataInputStream is = readOutcome();
+    assertEquals(0, is.readInt());
+  }
+
+  @Test
+  public void shouldSendHitProbesAsBitmapTrimmedToLastHit() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 100);
+
+    this.testee.newTest();
+    CodeCoverageStore.visitSingleProbe(classId, 0);
+    CodeCoverageStore.visitSingleProbe(classId, 7);
+    CodeCoverageStore.visitSingleProbe(classId, 11);
+    this.testee.recordTestOutcome(new Description("foo"), true, 0);
+
+    final SafeDataInputStream is = readOutcome();
+    assertEquals(1, is.readInt());
+    assertEquals(classId, is.readInt());
+    assertEquals(2, is.readInt());
+    final byte[] bitmap = new byte[2];
+    is.readFully(bitmap, 2);
+    assertArrayEquals(new byte[] { (byte) 0x81, 0x08 }, bitmap);
+  }
+
+  @Test
+  public void shouldSendTestOutcomeAfterHits() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 1);
+
+    this.testee.newTest();
+    CodeCoverageStore.visitSingleProbe(classId, 0);
+    this.testee.recordTestOutcome(new Description("foo"), false, 42);
+
+    final SafeDataInputStream is = readOutcome();
+    assertEquals(1, is.readInt());
+    is.readInt();
+    is.readFully(new byte[is.readInt()], 1);
+    assertEquals(false, is.readBoolean());
+    assertEquals(42, is.readInt());
+  }
+
+  private SafeDataInputStream readOutcome() {
+    final SafeDataInputStream is = new SafeDataInputStream(
+        new ByteArrayInputStream(this.bos.toByteArray()));
+    assertEquals(Id.OUTCOME, is.readByte());
+    is.readDescription();
+    return is;
+  }
+
+}
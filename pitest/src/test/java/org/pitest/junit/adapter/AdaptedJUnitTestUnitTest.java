@@ -15,17 +15,26 @@
 
 package org.pitest.junit.adapter;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.classpath.ClassPath;
 import org.pitest.functional.Option;
+import org.pitest.mutationtest.execute.DefaultPITClassloader;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.util.ClassLoaderDetectionStrategy;
 import org.pitest.util.IsolationUtils;
@@ -115,6 +124,60 @@ public class AdaptedJUnitTestUnitTest {
         any(Throwable.class));
   }
 
+  @Test
+  public void shouldRunOnlyFilteredTestsWithinIsolatedClassLoader() {
+    createTestee(IsolationUtils.loaderDetectionStrategy(),
+        HideFromJUnit.JUnit4Test.class, "pass");
+    this.testee.execute(new DefaultPITClassloader(new ClassPath(),
+        IsolationUtils.bootClassLoader()), this.rc);
+    verify(this.rc).notifyStart(this.testee.getDescription());
+    verify(this.rc).notifyEnd(this.testee.getDescription());
+    verify(this.rc, never()).notifyEnd(eq(this.testee.getDescription()),
+        any(Throwable.class));
+  }
+
+  @Test
+  public void shouldRunTestsEachTimeExecutedInSameLoader() {
+    createTestee(IsolationUtils.loaderDetectionStrategy(),
+        HideFromJUnit.JUnit4Test.class, "pass");
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    verify(this.rc, times(2)).notifyEnd(this.testee.getDescription());
+  }
+
+  @Test
+  public void shouldNotRebuildRunnerWhenExecutedAgainInSameLoader() {
+    final AtomicInteger filtered = new AtomicInteger();
+    this.testee = new AdaptedJUnitTestUnit(
+        IsolationUtils.loaderDetectionStrategy(), HideFromJUnit.JUnit4Test.class,
+        createCountingFilter(HideFromJUnit.JUnit4Test.class, "pass", filtered));
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    final int afterFirstExecution = filtered.get();
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    assertEquals(afterFirstExecution, filtered.get());
+  }
+
+  @Test
+  public void shouldRebuildRunnerWhenLoaderChanges() {
+    final AtomicInteger filtered = new AtomicInteger();
+    this.testee = new AdaptedJUnitTestUnit(alwaysMatchLoaderDetectionStrategy(),
+        HideFromJUnit.JUnit4Test.class, createCountingFilter(
+            HideFromJUnit.JUnit4Test.class, "pass", filtered));
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    final int afterFirstExecution = filtered.get();
+    this.testee.execute(new URLClassLoader(new URL[0]), this.rc);
+    assertEquals(afterFirstExecution * 2, filtered.get());
+  }
+
+  @Test
+  public void shouldReportSkipEachTimeExecutedWhenNoTestsMatchFilter() {
+    createTestee(IsolationUtils.loaderDetectionStrategy(),
+        HideFromJUnit.JUnit4Test.class, "doesNotExist");
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    this.testee.execute(IsolationUtils.getContextClassLoader(), this.rc);
+    verify(this.rc, times(2)).notifySkipped(this.testee.getDescription());
+  }
+
   private void createTestee(
       final ClassLoaderDetectionStrategy classLoaderDetectionStrategy,
       final Class<?> clazz, final String method) {
@@ -140,6 +203,37 @@ public class AdaptedJUnitTestUnitTest {
     return Option.some(f);
   }
 
+  private Option<Filter> createCountingFilter(final Class<?> clazz,
+      final String method, final AtomicInteger count) {
+    final Filter f = createFilter(clazz, method).value();
+    return Option.<Filter> some(new Filter() {
+
+      @Override
+      public boolean shouldRun(final Description description) {
+        count.incrementAndGet();
+        return f.shouldRun(description);
+      }
+
+      @Override
+      public String describe() {
+        return null;
+      }
+
+    });
+  }
+
+  private ClassLoaderDetectionStrategy alwaysMatchLoaderDetectionStrategy() {
+    return new ClassLoaderDetectionStrategy() {
+
+      @Override
+      public boolean fromDifferentLoader(final Class<?> clazz,
+          final ClassLoader loader) {
+        return false;
+      }
+
+    };
+  }
+
   private ClassLoaderDetectionStrategy neverMatchLoaderDetectionStrategy() {
     return new ClassLoaderDetectionStrategy() {
 
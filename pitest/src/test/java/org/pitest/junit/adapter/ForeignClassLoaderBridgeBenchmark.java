@@ -0,0 +1,232 @@
+package org.pitest.junit.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.pitest.classpath.ClassPath;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.execute.DefaultPITClassloader;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.util.IsolationUtils;
+
+/**
+ * Rough measure of the time taken to run a JUnit test class in a fresh
+ * isolated classloader (as is done for each static initializer mutant) via
+ * the string based bridge, and via the XStream cloning of the runner and
+ * events previously used.
+ *
+ * Not run as part of the build. Run the main method directly, optionally
+ * passing the number of executions.
+ */
+public class ForeignClassLoaderBridgeBenchmark {
+
+  private static final int ROUNDS = 5;
+
+  public static void main(final String[] args) throws Exception {
+    final int executions = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    final ClassPath classPath = new ClassPath().withCachedClassData();
+
+    // warm up
+    xstream(classPath, executions);
+    bridge(classPath, executions);
+
+    long xstreamTime = 0;
+    long bridgeTime = 0;
+    for (int i = 0; i != ROUNDS; i++) {
+      long t0 = System.nanoTime();
+      xstream(classPath, executions);
+      xstreamTime += System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      bridge(classPath, executions);
+      bridgeTime += System.nanoTime() - t0;
+    }
+
+    System.out.println(executions + " executions of "
+        + TenTests.class.getSimpleName() + " in isolated loaders");
+    System.out.println("XStream " + (xstreamTime / ROUNDS / 1000000) + " ms");
+    System.out.println("Bridge  " + (bridgeTime / ROUNDS / 1000000) + " ms");
+  }
+
+  private static void bridge(final ClassPath classPath, final int executions) {
+    final AdaptedJUnitTestUnit unit = new AdaptedJUnitTestUnit(
+        TenTests.class, Option.<org.junit.runner.manipulation.Filter> none());
+    final CountingCollector rc = new CountingCollector();
+    for (int i = 0; i != executions; i++) {
+      unit.execute(isolatedLoader(classPath), rc);
+    }
+    rc.check(executions);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void xstream(final ClassPath classPath, final int executions)
+      throws Exception {
+    final CountingCollector rc = new CountingCollector();
+    for (int i = 0; i != executions; i++) {
+      final Runner runner = AdaptedJUnitTestUnit.createRunner(TenTests.class);
+      final Callable<List<String>> foreign = (Callable<List<String>>) IsolationUtils
+          .cloneForLoader(new XStreamExecutor(runner),
+              isolatedLoader(classPath));
+      for (final String each : foreign.call()) {
+        ((XStreamEvent) IsolationUtils.fromXml(each)).apply(rc);
+      }
+    }
+    rc.check(executions);
+  }
+
+  private static ClassLoader isolatedLoader(final ClassPath classPath) {
+    return new DefaultPITClassloader(classPath,
+        IsolationUtils.bootClassLoader());
+  }
+
+  public static class TenTests {
+    @Test
+    public void test1() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test2() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test3() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test4() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test5() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test6() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test7() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test8() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test9() {
+      Assert.assertTrue(true);
+    }
+
+    @Test
+    public void test10() {
+      Assert.assertTrue(true);
+    }
+  }
+
+  /**
+   * Equivalent of the executor previously cloned into the foreign loader
+   */
+  public static class XStreamExecutor implements Callable<List<String>> {
+    private final Runner runner;
+
+    public XStreamExecutor(final Runner runner) {
+      this.runner = runner;
+    }
+
+    @Override
+    public List<String> call() {
+      final List<String> events = new ArrayList<String>();
+      final RunNotifier rn = new RunNotifier();
+      rn.addFirstListener(new RunListener() {
+        @Override
+        public void testStarted(final org.junit.runner.Description d) {
+          events.add(IsolationUtils.toXml(new XStreamEvent('s', null)));
+        }
+
+        @Override
+        public void testFailure(final Failure failure) {
+          events.add(IsolationUtils.toXml(new XStreamEvent('f', failure
+              .getException())));
+        }
+
+        @Override
+        public void testFinished(final org.junit.runner.Description d) {
+          events.add(IsolationUtils.toXml(new XStreamEvent('e', null)));
+        }
+      });
+      this.runner.run(rn);
+      return events;
+    }
+  }
+
+  public static class XStreamEvent {
+    private final char      type;
+    private final Throwable error;
+
+    public XStreamEvent(final char type, final Throwable error) {
+      this.type = type;
+      this.error = error;
+    }
+
+    void apply(final ResultCollector rc) {
+      final Description d = new Description("test", TenTests.class);
+      if (this.type == 's') {
+        rc.notifyStart(d);
+      } else if (this.error != null) {
+        rc.notifyEnd(d, this.error);
+      } else {
+        rc.notifyEnd(d);
+      }
+    }
+  }
+
+  private static class CountingCollector implements ResultCollector {
+    private int passed;
+
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      this.passed++;
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return false;
+    }
+
+    void check(final int executions) {
+      if (this.passed != executions * 10) {
+        throw new IllegalStateException("Expected " + (executions * 10)
+            + " passing tests but saw " + this.passed);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.engine.gregor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.CheckClassAdapter;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator;
+import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+
+import sun.pitest.MutantSwitch;
+
+public class SchemaBuilderTest extends MutatorTestBase {
+
+  public static class HasMutationsInTwoMethods implements Callable<String> {
+    private final int i = 1;
+
+    @Override
+    public String call() {
+      return "" + a(2) + "," + b(3);
+    }
+
+    private int a(final int x) {
+      return x + this.i;
+    }
+
+    private int b(int x) {
+      x++;
+      return x * 2;
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsUnmutatedClassWhenNoMutantIsActive()
+      throws Exception {
+    createTesteeWith(MathMutator.MATH_MUTATOR,
+        IncrementsMutator.INCREMENTS_MUTATOR);
+    final List<MutationDetails> details = findMutationsFor(HasMutationsInTwoMethods.class);
+    final MutantSchema schema = createSchema(HasMutationsInTwoMethods.class,
+        details);
+
+    assertEquals(new HasMutationsInTwoMethods().call(), mutateAndCall(
+        new HasMutationsInTwoMethods(), asMutant(details.get(0), schema)));
+  }
+
+  @Test
+  public void shouldBehaveAsEachMutantWhenItsSwitchIsActive() {
+    createTesteeWith(MathMutator.MATH_MUTATOR,
+        IncrementsMutator.INCREMENTS_MUTATOR);
+    assertBehavesAsMutants(HasMutationsInTwoMethods.class,
+        new HasMutationsInTwoMethods());
+  }
+
+  public static class HasTryCatch implements Callable<String> {
+    @Override
+    public String call() {
+      int x = 2;
+      try {
+        x = x + 1;
+        throw new IllegalStateException();
+      } catch (final IllegalStateException ex) {
+        x = x * 3;
+      }
+      return "" + x;
+    }
+  }
+
+  @Test
+  public void shouldCopyExceptionHandlersForEachMutant() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    assertBehavesAsMutants(HasTryCatch.class, new HasTryCatch());
+  }
+
+  @Test
+  public void shouldCreateVerifiableClass() {
+    createTesteeWith(MathMutator.MATH_MUTATOR,
+        IncrementsMutator.INCREMENTS_MUTATOR);
+    final MutantSchema schema = createSchema(HasTryCatch.class,
+        findMutationsFor(HasTryCatch.class));
+
+    final StringWriter sw = new StringWriter();
+    CheckClassAdapter.verify(new ClassReader(schema.getBytes()), false,
+        new PrintWriter(sw));
+    assertEquals("", sw.toString());
+  }
+
+  public static class HasMutationInConstructor {
+    private final int i;
+
+    public HasMutationInConstructor(final int a) {
+      this.i = a + 1;
+    }
+
+    public int get() {
+      return this.i;
+    }
+  }
+
+  @Test
+  public void shouldNotIncludeMutantsInConstructors() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    final List<MutationDetails> details = findMutationsFor(HasMutationInConstructor.class);
+    final MutantSchema schema = createSchema(HasMutationInConstructor.class,
+        details);
+
+    assertFalse(details.isEmpty());
+    assertFalse(schema.contains(details.get(0).getId()));
+    assertTrue(schema.isEmpty());
+  }
+
+  private void assertBehavesAsMutants(final Class<?> clazz,
+      final Callable<String> mutee) {
+    final List<MutationDetails> details = findMutationsFor(clazz);
+    final MutantSchema schema = createSchema(clazz, details);
+    assertFalse(details.isEmpty());
+
+    for (final MutationDetails each : details) {
+      assertTrue(schema.contains(each.getId()));
+      final String expected = mutateAndCall(mutee,
+          this.engine.getMutation(each.getId()));
+      final String actual = mutateAndCall(
+          new Switched(schema.getSwitchFor(each.getId()), mutee),
+          asMutant(each, schema));
+      assertEquals(each.getDescription(), expected, actual);
+    }
+  }
+
+  private MutantSchema createSchema(final Class<?> clazz,
+      final List<MutationDetails> details) {
+    final List<MutationIdentifier> ids = new ArrayList<MutationIdentifier>();
+    for (final MutationDetails each : details) {
+      ids.add(each.getId());
+    }
+    return this.engine.createSchema(ClassName.fromClass(clazz), ids);
+  }
+
+  private static Mutant asMutant(final MutationDetails details,
+      final MutantSchema schema) {
+    return new Mutant(details, schema.getBytes());
+  }
+
+  /**
+   * Activates a mutant from within the classloader the schema is loaded into
+   */
+  private static class Switched implements Callable<String> {
+    private final int              id;
+    private final Callable<String> child;
+
+    Switched(final int id, final Callable<String> child) {
+      this.id = id;
+      this.child = child;
+    }
+
+    @Override
+    public String call() throws Exception {
+      MutantSwitch.activate(this.id);
+      try {
+        return this.child.call();
+      } finally {
+        MutantSwitch.deactivate();
+      }
+    }
+  }
+
+}
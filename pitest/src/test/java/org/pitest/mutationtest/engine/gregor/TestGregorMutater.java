@@ -19,13 +19,21 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.FunctionalList;
+import org.pitest.functional.Option;
 import org.pitest.functional.predicate.True;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.gregor.config.Mutator;
@@ -217,6 +225,81 @@ public class TestGregorMutater extends MutatorTestBase {
     assertTwoMutationsInDifferentBlocks(actualDetails);
   }
 
+  @Test
+  public void shouldCreateMutantsWithSameDetailsAsFoundMutations() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(TwoMethods.class);
+    for (final MutationDetails each : actualDetails) {
+      assertEquals(each, this.engine.getMutation(each.getId()).getDetails());
+      assertEquals(each.getBlock(), this.engine.getMutation(each.getId())
+          .getDetails().getBlock());
+    }
+  }
+
+  @Test
+  public void shouldReadClassOnceWhenCreatingSuccessiveMutantsOfIt() {
+    final CountingByteArraySource source = new CountingByteArraySource();
+    createTesteeWith(source, True.<MethodInfo> all(),
+        Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(TwoMethods.class);
+    source.reads = 0;
+    for (final MutationDetails each : actualDetails) {
+      this.engine.getMutation(each.getId());
+    }
+    assertEquals(1, source.reads);
+  }
+
+  @Test
+  public void shouldCreateMutatedMethodsWithSameDetailsAsFoundMutations() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(TwoMethods.class);
+    for (final MutationDetails each : actualDetails) {
+      assertEquals(each, this.engine.getMutatedMethod(each.getId())
+          .getDetails());
+    }
+  }
+
+  @Test
+  public void shouldCreateOnlyTheMutatedMethodWithTheInstructionsOfTheFullMutant() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(HasMultipleMutations.class);
+    for (final MutationDetails each : actualDetails) {
+      final ClassNode method = parse(this.engine.getMutatedMethod(
+          each.getId()).getBytes());
+      final ClassNode full = parse(this.engine.getMutation(each.getId())
+          .getBytes());
+      assertEquals(1, method.methods.size());
+      assertEquals(opcodes(methodNamed(full, "mutable")),
+          opcodes(methodNamed(method, "mutable")));
+    }
+  }
+
+  private static ClassNode parse(final byte[] bytes) {
+    final ClassNode node = new ClassNode();
+    new ClassReader(bytes).accept(node, 0);
+    return node;
+  }
+
+  private static MethodNode methodNamed(final ClassNode clazz,
+      final String name) {
+    for (final MethodNode each : clazz.methods) {
+      if (each.name.equals(name)) {
+        return each;
+      }
+    }
+    throw new AssertionError("No method named " + name);
+  }
+
+  private static List<Integer> opcodes(final MethodNode method) {
+    final List<Integer> opcodes = new ArrayList<Integer>();
+    for (final AbstractInsnNode each : method.instructions.toArray()) {
+      if (each.getOpcode() != -1) {
+        opcodes.add(each.getOpcode());
+      }
+    }
+    return opcodes;
+  }
+
   public static class SwitchStatement {
     public void a(int i, final int b) {
       switch (b) {
@@ -359,6 +442,18 @@ public class TestGregorMutater extends MutatorTestBase {
   }
   
   
+  private static class CountingByteArraySource implements
+      ClassByteArraySource {
+    private final ClassByteArraySource child = new ClassPathByteArraySource();
+    private int                        reads;
+
+    @Override
+    public Option<byte[]> getBytes(final String classname) {
+      this.reads++;
+      return this.child.getBytes(classname);
+    }
+  }
+
   private static F<MutationDetails, Boolean> isInFinallyBlock() {
     return new F<MutationDetails, Boolean>() {
       @Override
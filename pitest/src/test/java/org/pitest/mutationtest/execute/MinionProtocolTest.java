@@ -0,0 +1,155 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.functional.predicate.False;
+import org.pitest.junit.JUnitCompatibleConfiguration;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.util.PitError;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class MinionProtocolTest {
+
+  private final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+  private final SafeDataOutputStream  dos = new SafeDataOutputStream(this.bos);
+
+  @Test
+  public void shouldReadBackMutationIdentifiers() {
+    final MutationIdentifier id = new MutationIdentifier(aLocation("com.example.Foo")
+        .build(), Arrays.asList(3, 7), "mutator");
+    MinionProtocol.writeMutationId(this.dos, id);
+    MinionProtocol.writeMutationId(this.dos, id);
+
+    final SafeDataInputStream dis = input();
+    assertEquals(id, MinionProtocol.readMutationId(dis));
+    assertEquals(Arrays.asList(3, 7), MinionProtocol.readMutationId(dis)
+        .getIndexes());
+  }
+
+  @Test
+  public void shouldReadBackStatusWithKillingTest() {
+    final MutationStatusTestPair status = new MutationStatusTestPair(3,
+        DetectionStatus.KILLED, "aTest");
+    MinionProtocol.writeStatus(this.dos, status);
+    assertEquals(status, MinionProtocol.readStatus(input()));
+  }
+
+  @Test
+  public void shouldReadBackStatusWithoutKillingTest() {
+    final MutationStatusTestPair status = new MutationStatusTestPair(1,
+        DetectionStatus.SURVIVED);
+    MinionProtocol.writeStatus(this.dos, status);
+    assertEquals(status, MinionProtocol.readStatus(input()));
+  }
+
+  @Test
+  public void shouldReadBackArguments() {
+    final MutationDetails mutation = new MutationDetails(aMutationId()
+        .withIndex(2).build(), "Foo.java", "a mutation", 42, 3, true,
+        PoisonStatus.MAY_POISON_JVM);
+    final TestInfo test = new TestInfo("com.example.FooTest",
+        "com.example.FooTest.aTest", 12,
+        Option.some(ClassName.fromString("com.example.Foo")), 5);
+    mutation.addTestsInOrder(Collections.singletonList(test));
+
+    MinionProtocol.writeArguments(this.dos, new MinionArguments(
+        Collections.singletonList(mutation), Collections.singletonList(ClassName
+            .fromString("com.example.FooTest")), anEngine(),
+        new PercentAndConstantTimeoutStrategy(2, 100), true,
+        new JUnitCompatibleConfiguration(new TestGroupConfig(),
+            Collections.<String> emptyList()), true));
+
+    final MinionArguments actual = MinionProtocol.readArguments(input());
+    final MutationDetails actualMutation = actual.mutations.iterator().next();
+    assertEquals(mutation, actualMutation);
+    assertEquals("Foo.java", actualMutation.getFilename());
+    assertEquals("a mutation", actualMutation.getDescription());
+    assertEquals(42, actualMutation.getLineNumber());
+    assertEquals(3, actualMutation.getBlock());
+    assertEquals(true, actualMutation.isInFinallyBlock());
+    assertEquals(PoisonStatus.MAY_POISON_JVM,
+        actualMutation.getPoisonStatus());
+
+    final TestInfo actualTest = actualMutation.getTestsInOrder().get(0);
+    assertEquals(test, actualTest);
+    assertEquals(12, actualTest.getTime());
+    assertEquals(5, actualTest.getNumberOfBlocksCovered());
+    assertEquals(true,
+        actualTest.directlyHits(ClassName.fromString("com.example.Foo")));
+
+    assertEquals(Collections.singletonList(ClassName
+        .fromString("com.example.FooTest")), actual.testClasses);
+    assertEquals(anEngine().getMutatorNames(), actual.engine.getMutatorNames());
+    assertEquals(300, actual.timeoutStrategy.getAllowedTime(100));
+    assertEquals(true, actual.isVerbose());
+    assertEquals(true, actual.isPersistent());
+  }
+
+  @Test
+  public void shouldReadBackTestsSharedBetweenMutations() {
+    final TestInfo first = new TestInfo("FooTest", "FooTest.first", 1,
+        Option.<ClassName> none(), 1);
+    final TestInfo second = new TestInfo("FooTest", "FooTest.second", 2,
+        Option.<ClassName> none(), 2);
+    final MutationDetails a = new MutationDetails(aMutationId().withIndex(1)
+        .build(), "Foo.java", "a", 1, 1);
+    a.addTestsInOrder(Arrays.asList(first, second));
+    final MutationDetails b = new MutationDetails(aMutationId().withIndex(2)
+        .build(), "Foo.java", "b", 1, 1);
+    b.addTestsInOrder(Arrays.asList(second, first));
+
+    MinionProtocol.writeArguments(this.dos, new MinionArguments(Arrays.asList(
+        a, b), Collections.<ClassName> emptyList(), anEngine(),
+        new PercentAndConstantTimeoutStrategy(2, 100), false,
+        new JUnitCompatibleConfiguration(new TestGroupConfig(),
+            Collections.<String> emptyList())));
+
+    final MinionArguments actual = MinionProtocol.readArguments(input());
+    final List<MutationDetails> actualMutations = new ArrayList<MutationDetails>(
+        actual.mutations);
+    assertEquals(Arrays.asList(first, second), actualMutations.get(0)
+        .getTestsInOrder());
+    assertEquals(Arrays.asList(second, first), actualMutations.get(1)
+        .getTestsInOrder());
+    assertEquals(2, actualMutations.get(1).getTestsInOrder().get(0).getTime());
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectArgumentsFromDifferentProtocolVersion() {
+    this.dos.writeInt(MinionProtocol.VERSION + 1);
+    MinionProtocol.readArguments(input());
+  }
+
+  private MutationEngine anEngine() {
+    return new GregorEngineFactory().createEngine(False.<String> instance(),
+        Collections.<String> emptyList());
+  }
+
+  private SafeDataInputStream input() {
+    return new SafeDataInputStream(new ByteArrayInputStream(
+        this.bos.toByteArray()));
+  }
+
+}
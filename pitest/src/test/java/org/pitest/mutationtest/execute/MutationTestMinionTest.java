@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
@@ -61,11 +63,10 @@ public class MutationTestMinionTest {
     this.args = new MinionArguments(this.mutations, this.tests, this.engine,
         this.timeoutStrategy, false, this.testConfig);
 
-    when(this.is.read(MinionArguments.class)).thenReturn(this.args);
     when(this.engine.createMutator(any(ClassByteArraySource.class)))
     .thenReturn(this.mutater);
 
-    this.testee = new MutationTestMinion(this.is, this.reporter);
+    this.testee = minionReceiving(this.args);
   }
 
   @Test
@@ -84,4 +85,30 @@ public class MutationTestMinionTest {
     verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
   }
 
+  @Test
+  public void shouldNotWaitForMoreWorkWhenNotPersistent() {
+    this.testee.run();
+    verify(this.is, never()).readBoolean();
+  }
+
+  @Test
+  public void shouldRunEachSetOfArgumentsSentToPersistentMinion() {
+    final MinionArguments persistent = new MinionArguments(this.mutations,
+        this.tests, this.engine, this.timeoutStrategy, false, this.testConfig,
+        true);
+    when(this.is.readBoolean()).thenReturn(true, true, false);
+    this.testee = minionReceiving(persistent);
+    this.testee.run();
+    verify(this.reporter, times(3)).done(ExitCode.OK);
+  }
+
+  private MutationTestMinion minionReceiving(final MinionArguments arguments) {
+    return new MutationTestMinion(this.is, this.reporter) {
+      @Override
+      MinionArguments readArguments() {
+        return arguments;
+      }
+    };
+  }
+
 }
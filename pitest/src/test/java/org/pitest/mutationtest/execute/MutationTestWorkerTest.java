@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -10,7 +12,9 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import junit.framework.AssertionFailedError;
 
@@ -18,21 +22,26 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
 public class MutationTestWorkerTest {
 
+  private final byte[]                                mutantBytes = new byte[0];
+
   private MutationTestWorker                          testee;
 
   @Mock
@@ -130,6 +139,96 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldHotSwapSchemaOnceForMutantsOfSameClass()
+      throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final byte[] schemaBytes = new byte[1];
+    final SchemataMutater schemata = givenSchema(schemaBytes, mutantOne,
+        mutantTwo);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, schemata,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    verify(this.hotswapper, times(1)).apply(ClassName.fromString("foo"),
+        this.loader, schemaBytes);
+    verify(this.reporter).report(mutantTwo.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldHotSwapMutantsNotInSchemaIndividually() throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final byte[] schemaBytes = new byte[1];
+    final SchemataMutater schemata = givenSchema(schemaBytes, mutantOne);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, schemata,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    verify(this.hotswapper).apply(ClassName.fromString("foo"), this.loader,
+        schemaBytes);
+    verify(this.hotswapper).apply(ClassName.fromString("foo"), this.loader,
+        this.mutantBytes);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldHotSwapMutantsIndividuallyWhenSchemaCannotBeInstalled()
+      throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final byte[] schemaBytes = new byte[1];
+    final SchemataMutater schemata = givenSchema(schemaBytes, mutantOne);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(ClassName.fromString("foo"), this.loader,
+            schemaBytes)).thenReturn(false);
+    when(
+        this.hotswapper.apply(ClassName.fromString("foo"), this.loader,
+            this.mutantBytes)).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, schemata,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  private SchemataMutater givenSchema(final byte[] bytes,
+      final MutationDetails... contained) {
+    final Map<MutationIdentifier, Integer> switches = new HashMap<MutationIdentifier, Integer>();
+    for (final MutationDetails each : contained) {
+      switches.put(each.getId(), switches.size() + 1);
+    }
+    final SchemataMutater schemata = Mockito.mock(SchemataMutater.class);
+    when(
+        schemata.createSchema(any(ClassName.class),
+            anyCollectionOf(MutationIdentifier.class))).thenReturn(
+        new MutantSchema(ClassName.fromString("foo"), bytes, switches));
+    when(schemata.getMutation(any(MutationIdentifier.class))).thenReturn(
+        new Mutant(contained[0], this.mutantBytes));
+    return schemata;
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -172,7 +271,7 @@ public class MutationTestWorkerTest {
         42, 0);
 
     when(this.mutater.getMutation(md.getId())).thenReturn(
-        new Mutant(md, new byte[0]));
+        new Mutant(md, this.mutantBytes));
 
     return md;
   }
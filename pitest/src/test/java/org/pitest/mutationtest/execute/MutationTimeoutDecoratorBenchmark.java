@@ -0,0 +1,105 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.pitest.functional.SideEffect;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
+import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestResult;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.execute.containers.ConcreteResultCollector;
+
+/**
+ * Rough measure of the per test overhead of enforcing mutation timeouts. Runs
+ * a trivial test many times, first starting a new thread for each run as the
+ * timeout decorator once did, then using a single long lived
+ * {@link TimeLimitedTestRunner}.
+ *
+ * Not run as part of the build. Run the main method directly, optionally
+ * passing the number of test runs.
+ */
+public class MutationTimeoutDecoratorBenchmark {
+
+  private static final TimeoutLengthStrategy TIMEOUT = new PercentAndConstantTimeoutStrategy(
+      PercentAndConstantTimeoutStrategy.DEFAULT_FACTOR,
+      PercentAndConstantTimeoutStrategy.DEFAULT_CONSTANT);
+
+  public static void main(final String[] args) throws Exception {
+    final int runs = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    final TestUnit test = new TrivialTest();
+    final ResultCollector rc = new ConcreteResultCollector(
+        new ArrayList<TestResult>());
+
+    // warm up
+    threadPerTest(test, rc, runs);
+    reusedThread(test, rc, runs);
+
+    long t0 = System.nanoTime();
+    threadPerTest(test, rc, runs);
+    final long perTest = (System.nanoTime() - t0) / runs;
+
+    t0 = System.nanoTime();
+    reusedThread(test, rc, runs);
+    final long reused = (System.nanoTime() - t0) / runs;
+
+    System.out.println(runs + " test runs");
+    System.out.println("New thread per test   " + perTest + " ns per test");
+    System.out.println("Long lived thread     " + reused + " ns per test");
+  }
+
+  private static void threadPerTest(final TestUnit test,
+      final ResultCollector rc, final int runs) throws Exception {
+    for (int i = 0; i != runs; i++) {
+      final FutureTask<?> future = new FutureTask<Object>(run(test, rc), null);
+      final Thread thread = new Thread(future);
+      thread.setDaemon(true);
+      thread.setName("mutationTestThread");
+      thread.start();
+      future.get(TIMEOUT.getAllowedTime(1), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static void reusedThread(final TestUnit test,
+      final ResultCollector rc, final int runs) {
+    final TimeLimitedTestRunner runner = new TimeLimitedTestRunner();
+    final SideEffect timeOut = new SideEffect() {
+      @Override
+      public void apply() {
+        throw new IllegalStateException("Trivial test timed out");
+      }
+    };
+    for (int i = 0; i != runs; i++) {
+      new MutationTimeoutDecorator(test, timeOut, TIMEOUT, 1, runner).execute(
+          null, rc);
+    }
+    runner.shutdown();
+  }
+
+  private static Runnable run(final TestUnit test, final ResultCollector rc) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        test.execute(null, rc);
+      }
+    };
+  }
+
+  private static class TrivialTest extends AbstractTestUnit {
+    private long count;
+
+    TrivialTest() {
+      super(new Description("trivial"));
+    }
+
+    @Override
+    public void execute(final ClassLoader loader, final ResultCollector rc) {
+      this.count++;
+    }
+  }
+
+}
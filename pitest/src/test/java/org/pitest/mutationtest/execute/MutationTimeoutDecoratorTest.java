@@ -53,7 +53,7 @@ public class MutationTimeoutDecoratorTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
-        this.timeoutStrategy, NORMAL_EXECUTION);
+        this.timeoutStrategy, NORMAL_EXECUTION, new TimeLimitedTestRunner());
   }
 
   @Test
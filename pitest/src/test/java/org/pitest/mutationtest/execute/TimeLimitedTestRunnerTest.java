@@ -0,0 +1,92 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TimeLimitedTestRunnerTest {
+
+  private final TimeLimitedTestRunner testee = new TimeLimitedTestRunner();
+
+  @After
+  public void cleanUp() {
+    this.testee.shutdown();
+  }
+
+  @Test
+  public void shouldReportCompletionWhenTaskFinishesWithinAllowedTime() {
+    assertTrue(this.testee.run(new RecordThread(), 1000));
+  }
+
+  @Test
+  public void shouldReportTimeOutWhenTaskRunsForLongerThanAllowedTime() {
+    final CountDownLatch never = new CountDownLatch(1);
+    assertFalse(this.testee.run(waitFor(never), 50));
+    never.countDown();
+  }
+
+  @Test
+  public void shouldRunSuccessiveTasksOnSameThread() {
+    final RecordThread first = new RecordThread();
+    final RecordThread second = new RecordThread();
+    this.testee.run(first, 1000);
+    this.testee.run(second, 1000);
+    assertSame(first.thread.get(), second.thread.get());
+  }
+
+  @Test
+  public void shouldRunOnDaemonThread() {
+    final RecordThread task = new RecordThread();
+    this.testee.run(task, 1000);
+    assertTrue(task.thread.get().isDaemon());
+    assertEquals("mutationTestThread", task.thread.get().getName());
+  }
+
+  @Test
+  public void shouldUseNewThreadAfterTimeOut() {
+    final CountDownLatch never = new CountDownLatch(1);
+    final RecordThread first = new RecordThread(never);
+    this.testee.run(first, 50);
+
+    final RecordThread second = new RecordThread();
+    assertTrue(this.testee.run(second, 1000));
+    assertNotSame(first.thread.get(), second.thread.get());
+    never.countDown();
+  }
+
+  private static Runnable waitFor(final CountDownLatch latch) {
+    return new RecordThread(latch);
+  }
+
+  private static class RecordThread implements Runnable {
+    private final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+    private final CountDownLatch          latch;
+
+    RecordThread() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordThread(final CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      this.thread.set(Thread.currentThread());
+      try {
+        this.latch.await();
+      } catch (final InterruptedException e) {
+        // swallow
+      }
+    }
+  }
+
+}
@@ -106,6 +106,47 @@ public class SequenceQueryTest {
     assertTrue(testee.matches(asList(1, 99, 2)));
   }
 
+  @Test
+  public void shouldMatchNestedZeroOrMores() {
+    SequenceMatcher<Integer> testee = QueryStart
+        .match(eq(1))
+        .zeroOrMore(QueryStart.match(eq(2)).zeroOrMore(QueryStart.match(eq(3))))
+        .then(eq(4))
+        .compile();
+
+    assertTrue(testee.matches(asList(1, 4)));
+    assertTrue(testee.matches(asList(1, 2, 3, 3, 2, 4)));
+    assertFalse(testee.matches(asList(1, 3, 4)));
+  }
+
+  @Test
+  public void shouldMatchQueriesWithManyStates() {
+    SequenceQuery<Integer> query = QueryStart.match(eq(0));
+    final Integer[] sequence = new Integer[150];
+    sequence[0] = 0;
+    for (int i = 1; i != sequence.length; i++) {
+      query = query.then(eq(i));
+      sequence[i] = i;
+    }
+    SequenceMatcher<Integer> testee = query.compile();
+
+    assertTrue(testee.matches(asList(sequence)));
+    sequence[140] = -1;
+    assertFalse(testee.matches(asList(sequence)));
+  }
+
+  @Test
+  public void shouldNotMatchWhenSequenceContinuesAfterFailedMatch() {
+    SequenceMatcher<Integer> testee = QueryStart
+        .match(eq(1))
+        .zeroOrMore(QueryStart.match(Match.<Integer> always()))
+        .then(eq(2))
+        .compile();
+
+    assertTrue(testee.matches(asList(1, 5, 5, 2)));
+    assertFalse(testee.matches(asList(3, 5, 5, 2)));
+  }
+
   private Match<Integer> eq(final int i) {
     return Match.isEqual(i);
   }
@@ -0,0 +1,62 @@
+package org.pitest.testapi.foreignclassloader;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+public class EventsTest {
+
+  private final Description unit = new Description("unit", EventsTest.class);
+
+  @Mock
+  private ResultCollector   rc;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void shouldApplyEventsToSuppliedDescription() {
+    apply(Events.start(), Events.success(), Events.skipped());
+    verify(this.rc).notifyStart(this.unit);
+    verify(this.rc).notifyEnd(this.unit);
+    verify(this.rc).notifySkipped(this.unit);
+  }
+
+  @Test
+  public void shouldApplyEventsForMethodsToDescriptionOfMethod() {
+    final Description method = new Description("foo", EventsTest.class);
+    apply(Events.start("foo"), Events.success("foo"), Events.skipped("foo"));
+    verify(this.rc).notifyStart(method);
+    verify(this.rc).notifyEnd(method);
+    verify(this.rc).notifySkipped(method);
+  }
+
+  @Test
+  public void shouldReportStackTraceOfFailures() {
+    apply(Events.fail("foo", new IllegalStateException("oops")));
+    final ArgumentCaptor<Throwable> error = ArgumentCaptor
+        .forClass(Throwable.class);
+    verify(this.rc).notifyEnd(eq(new Description("foo", EventsTest.class)),
+        error.capture());
+    assertTrue(error.getValue().getMessage()
+        .startsWith("java.lang.IllegalStateException: oops"));
+    assertTrue(error.getValue().getMessage().contains("EventsTest"));
+  }
+
+  private void apply(final String... events) {
+    Events.applyEvents(Arrays.asList(events), this.rc, this.unit);
+  }
+
+}
@@ -1,6 +1,8 @@
 package org.pitest.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -52,4 +54,38 @@ public class IsolationUtilsTest {
     assertTrue(testee.fromDifferentLoader(foreign, new DefaultPITClassloader(
         new ClassPath(), IsolationUtils.bootClassLoader())));
   }
+
+  @Test
+  public void shouldCreateInstancesWithinSuppliedLoader() {
+    final DefaultPITClassloader loader = new DefaultPITClassloader(
+        new ClassPath(), IsolationUtils.bootClassLoader());
+    final Object instance = IsolationUtils.newInstanceInLoader(loader,
+        StringHolder.class.getName(), new Class<?>[] { String.class }, "foo");
+    assertSame(loader, instance.getClass().getClassLoader());
+    assertEquals("foo", instance.toString());
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldNotPassTypesNotSharedBetweenLoaders() {
+    IsolationUtils.newInstanceInLoader(
+        IsolationUtils.getContextClassLoader(), StringHolder.class.getName(),
+        new Class<?>[] { StringHolder.class }, new StringHolder("foo"));
+  }
+
+  public static class StringHolder {
+    private final String value;
+
+    public StringHolder(final String value) {
+      this.value = value;
+    }
+
+    public StringHolder(final StringHolder other) {
+      this.value = other.value;
+    }
+
+    @Override
+    public String toString() {
+      return this.value;
+    }
+  }
 }
@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 
 import org.junit.Test;
+import org.pitest.testapi.Description;
 
 public class SafeDataInputStreamTest {
 
@@ -43,4 +44,45 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldReadBackRepeatedAndNullNames() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeName("foo");
+    dos.writeName("bar");
+    dos.writeName(null);
+    dos.writeName("foo");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertEquals("foo", dis.readName());
+    assertEquals("bar", dis.readName());
+    assertEquals(null, dis.readName());
+    assertEquals("foo", dis.readName());
+  }
+
+  @Test
+  public void shouldSendRepeatedNamesAsIndexes() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeName("a long name that should only be sent once");
+    final int firstSize = o.size();
+    dos.writeName("a long name that should only be sent once");
+    assertEquals(4, o.size() - firstSize);
+  }
+
+  @Test
+  public void shouldReadBackDescriptions() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeDescription(new Description("foo", "com.example.Foo"));
+    dos.writeDescription(new Description("bar"));
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertEquals(new Description("foo", "com.example.Foo"),
+        dis.readDescription());
+    assertEquals(new Description("bar"), dis.readDescription());
+  }
+
 }
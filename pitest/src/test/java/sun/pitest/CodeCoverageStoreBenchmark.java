@@ -0,0 +1,104 @@
+package sun.pitest;
+
+import java.util.Random;
+
+/**
+ * Rough measure of the per test overhead the coverage store adds to a suite
+ * with a large number of instrumented classes. Each simulated test resets the
+ * store, hits probes in a small random selection of classes and then reads
+ * back the hits, as the coverage minion does between tests.
+ *
+ * Not run as part of the build. Run the main method directly, optionally
+ * passing the number of classes, classes touched per test and number of tests.
+ */
+public class CodeCoverageStoreBenchmark {
+
+  private static final int PROBES_PER_CLASS = 20;
+
+  public static void main(final String[] args) {
+    final int classes = arg(args, 0, 10000);
+    final int classesPerTest = arg(args, 1, 50);
+    final int tests = arg(args, 2, 20000);
+
+    CodeCoverageStore.init(new NullReceiver());
+    final int[] ids = new int[classes];
+    for (int i = 0; i != classes; i++) {
+      ids[i] = CodeCoverageStore.registerClass("Class" + i);
+      CodeCoverageStore.registerClassProbes(ids[i], PROBES_PER_CLASS);
+    }
+
+    final int[][] touched = chooseClasses(ids, classesPerTest, tests);
+    final CountingReceiver counter = new CountingReceiver();
+
+    // warm up
+    runTests(touched, counter);
+
+    final long t0 = System.nanoTime();
+    runTests(touched, counter);
+    final long elapsed = System.nanoTime() - t0;
+
+    System.out.println(classes + " instrumented classes, " + classesPerTest
+        + " hit per test, " + tests + " tests");
+    System.out.println("Mean per test overhead " + (elapsed / tests) + " ns ("
+        + counter.hits + " hits recorded)");
+  }
+
+  private static void runTests(final int[][] touched,
+      final CountingReceiver counter) {
+    for (final int[] test : touched) {
+      CodeCoverageStore.reset();
+      for (final int classId : test) {
+        CodeCoverageStore.visitProbes(classId, 0, true, false, true);
+        CodeCoverageStore.visitSingleProbe(classId, 10);
+      }
+      CodeCoverageStore.getClassHits(counter);
+    }
+  }
+
+  private static int[][] chooseClasses(final int[] ids,
+      final int classesPerTest, final int tests) {
+    final Random random = new Random(42);
+    final int[][] touched = new int[tests][classesPerTest];
+    for (int t = 0; t != tests; t++) {
+      for (int c = 0; c != classesPerTest; c++) {
+        touched[t][c] = ids[random.nextInt(ids.length)];
+      }
+    }
+    return touched;
+  }
+
+  private static int arg(final String[] args, final int index,
+      final int defaultValue) {
+    if (args.length > index) {
+      return Integer.parseInt(args[index]);
+    }
+    return defaultValue;
+  }
+
+  private static class CountingReceiver implements ClassHitReceiver {
+    long hits;
+
+    @Override
+    public void classHit(final int classId, final boolean[] probes) {
+      for (int probe = 1; probe != probes.length; probe++) {
+        if (probes[probe]) {
+          this.hits++;
+        }
+      }
+    }
+  }
+
+  private static class NullReceiver implements InvokeReceiver {
+
+    @Override
+    public void registerClass(final int id, final String className) {
+    }
+
+    @Override
+    public void registerProbes(final int classId, final String methodName,
+        final String methodDesc, final int firstProbe, final int lastProbe) {
+    }
+
+  }
+
+}
@@ -20,9 +20,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -95,10 +97,77 @@ public class CodeCoverageStoreTest {
     CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true });
     CodeCoverageStore.reset();
 
-    final Collection<Long> actual = CodeCoverageStore.getHits();
+    final Collection<Long> actual = hits();
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReportHitsInClassesRegisteredAfterStoreGrows() {
+    int classId = 0;
+    for (int i = 0; i != 5000; i++) {
+      classId = CodeCoverageStore.registerClass("foo" + i);
+      CodeCoverageStore.registerClassProbes(classId, 2);
+    }
+
+    CodeCoverageStore.visitSingleProbe(classId, 1);
+
+    assertThat(hits()).containsOnly(CodeCoverageStore.encode(classId, 1));
+  }
+
+  @Test
+  public void shouldReportHitsFromClassesHitAgainAfterReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 2);
+
+    CodeCoverageStore.visitSingleProbe(classId, 0);
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitSingleProbe(classId, 1);
+
+    assertThat(hits()).containsOnly(CodeCoverageStore.encode(classId, 1));
+  }
+
+  @Test
+  public void shouldRecordClassOnceWhenFirstHitByManyThreads()
+      throws Exception {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 1);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int round = 0; round != 50; round++) {
+        CodeCoverageStore.reset();
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i != 8; i++) {
+          futures.add(executor.submit(new Runnable() {
+            @Override
+            public void run() {
+              CodeCoverageStore.visitSingleProbe(classId, 0);
+            }
+          }));
+        }
+        for (final Future<?> each : futures) {
+          each.get();
+        }
+        assertEquals(1, classesHit().size());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldOnlyReportHitsFromClassesVisited() {
+    final int foo = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(foo, 2);
+    final int bar = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(bar, 2);
+
+    CodeCoverageStore.visitProbes(bar, 0, true, true);
+
+    assertThat(hits()).containsOnly(CodeCoverageStore.encode(bar, 0),
+        CodeCoverageStore.encode(bar, 1));
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {
@@ -383,14 +452,14 @@ public class CodeCoverageStoreTest {
   }
 
   private void assertHitsLine(final int classId, final int... i) {
-    final Collection<Long> actual = CodeCoverageStore.getHits();
+    final Collection<Long> actual = hits();
     for (final int probe : i) {
       assertThat(actual).contains(CodeCoverageStore.encode(classId, probe));
     }
   }
 
   private void assertDoesNotHitLine(final int classId, final int... i) {
-    final Collection<Long> actual = CodeCoverageStore.getHits();
+    final Collection<Long> actual = hits();
     for (final int probe : i) {
       assertThat(actual).doesNotContain(
           CodeCoverageStore.encode(classId, probe));
@@ -414,7 +483,7 @@ public class CodeCoverageStoreTest {
 
       private long pointlesslyIterateCollection() {
         long total = 0;
-        for (final Long i : CodeCoverageStore.getHits()) {
+        for (final Long i : hits()) {
           total += i;
           try {
             Thread.sleep(5);
@@ -446,4 +515,30 @@ public class CodeCoverageStoreTest {
     return write;
   }
 
+  private static List<Integer> classesHit() {
+    final List<Integer> classes = new ArrayList<Integer>();
+    CodeCoverageStore.getClassHits(new ClassHitReceiver() {
+      @Override
+      public void classHit(final int classId, final boolean[] probes) {
+        classes.add(classId);
+      }
+    });
+    return classes;
+  }
+
+  private static Collection<Long> hits() {
+    final List<Long> hits = new ArrayList<Long>();
+    CodeCoverageStore.getClassHits(new ClassHitReceiver() {
+      @Override
+      public void classHit(final int classId, final boolean[] probes) {
+        for (int probe = 1; probe != probes.length; probe++) {
+          if (probes[probe]) {
+            hits.add(CodeCoverageStore.encode(classId, probe - 1));
+          }
+        }
+      }
+    });
+    return hits;
+  }
+
 }